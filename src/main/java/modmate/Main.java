@@ -1,5 +1,6 @@
 package modmate;
 
+import modmate.download.nusmods.NUSModsAPI;
 import modmate.log.LogUtil;
 import modmate.ui.UI;
 import modmate.user.User;
@@ -17,21 +18,24 @@ public class Main {
      * The main command loop of the application that processes user input
      * and executes corresponding actions based on the command received.
      *
-     * @param args Command-line arguments (for logging configuration).
+     * @param args Command-line arguments (e.g., --startYear 2024).
      */
     public static void main(String[] args) {
 
-        // for (int i = 0; i < args.length; i++) {
-        //     if (args[i].equals("--startYear") && i + 1 < args.length) {
-        //         int startYear = Integer.parseInt(args[i + 1]);
-        //         CommandCenter.allModCodesAndNames = NUSModsAPI.fetchAllModCodes(startYear);
-        //         log.info("Start year set to: " + startYear);
-        //     }
-        // }
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--startYear") && i + 1 < args.length) {
+                try {
+                    int startYear = Integer.parseInt(args[i + 1]);
+                    NUSModsAPI.setCurrentYear(startYear);
+                    logUtil.info("Start year set to: " + startYear);
+                } catch (NumberFormatException e) {
+                    logUtil.warning("Invalid start year: " + args[i + 1]);
+                }
+            }
+        }
 
-        // NUSModsAPI.loadAllCondensedMods();
+        NUSModsAPI.loadCatalogueInBackground();
 
-        User currentUser = new User();
-        UI.run(currentUser);
+        UI.run(new User());
     }
 }
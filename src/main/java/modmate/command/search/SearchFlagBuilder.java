@@ -7,6 +7,7 @@ import java.util.Optional;
 import modmate.command.util.Argument;
 import modmate.command.util.Flag;
 import modmate.mod.attribute.Faculty;
+import modmate.mod.index.FuzzyIndex;
 import modmate.timetable.Semester;
 
 public class SearchFlagBuilder {
@@ -72,6 +73,29 @@ public class SearchFlagBuilder {
         );
     }
 
+    public static Flag<Integer> createFuzzyFlag(Optional<String> fuzzyInput) {
+        return new Flag<>(
+            "fuzzy",
+            fuzzyInput.map(str -> {
+                try {
+                    int distance = Integer.parseInt(str);
+
+                    if (distance < 0 || distance > FuzzyIndex.MAX_EDIT_DISTANCE) {
+                        throw new IllegalArgumentException("Edit distance out of range");
+                    }
+
+                    return distance;
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Invalid fuzzy input (0 to "
+                        + FuzzyIndex.MAX_EDIT_DISTANCE + "): " + str);
+                }
+            }),
+            "Also match mods with up to this many typos per word.",
+            false,
+            "distance"
+        );
+    }
+
     public static Flag<Boolean> createGradedFlag(Optional<String> gradedInput) {
         return new Flag<>(
             "graded",
@@ -1,5 +1,6 @@
 package modmate.command.search;
 
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Stream;
@@ -15,6 +16,7 @@ import modmate.log.LogUtil;
 import modmate.mod.CondensedMod;
 import modmate.mod.attribute.Faculty;
 import modmate.mod.attribute.ModAttributes;
+import modmate.mod.index.AttributeIndex;
 import modmate.timetable.Semester;
 import modmate.ui.Input;
 import modmate.ui.Pagination;
@@ -31,6 +33,7 @@ public class SearchModCommand extends Command {
     private final Flag<List<Semester>> semestersFlag;
     private final Flag<Double> unitsFlag;
     private final Flag<Boolean> gradedFlag;
+    private final Flag<Integer> fuzzyFlag;
 
     public SearchModCommand(Input input) {
         super(input);
@@ -40,6 +43,7 @@ public class SearchModCommand extends Command {
         this.semestersFlag = SearchFlagBuilder.createSemestersFlag(input.getFlag("semesters"));
         this.unitsFlag = SearchFlagBuilder.createUnitsFlag(input.getFlag("units"));
         this.gradedFlag = SearchFlagBuilder.createGradedFlag(input.getFlag("graded"));
+        this.fuzzyFlag = SearchFlagBuilder.createFuzzyFlag(input.getFlag("fuzzy"));
 
         if (areAllArgsEmpty()) {
             throw new CommandException(this, "Search query cannot be empty or have no filter conditions");
@@ -70,7 +74,8 @@ public class SearchModCommand extends Command {
                         facultyFlag,
                         semestersFlag,
                         unitsFlag,
-                        gradedFlag));
+                        gradedFlag,
+                        fuzzyFlag));
     }
 
     @Override
@@ -80,19 +85,27 @@ public class SearchModCommand extends Command {
 
     @Override
     public String getUsage() {
-        return super.getUsage(List.of(identifierArg, facultyFlag, semestersFlag, unitsFlag, gradedFlag));
+        return super.getUsage(List.of(identifierArg, facultyFlag, semestersFlag, unitsFlag, gradedFlag, fuzzyFlag));
     }
 
     @Override
     public void execute(User currentUser) throws ApiException {
         logUtil.info("User is searching for a mod.");
 
-        int totalModules = NUSModsAPI.CONDENSED_MODS.size();
+        int totalModules = NUSModsAPI.getCondensedMods().size();
         if (totalModules == 0) {
             throw new ApiException("No modules available to search.");
         }
 
-        List<CondensedMod> searchResults = getSearchResultsWithProgress(input.getArgument(), totalModules);
+        AttributeIndex attributeIndex = AttributeIndex.empty();
+        if (!hasNoFlag()) {
+            attributeIndex = NUSModsAPI.fetchAttributeIndex();
+            if (attributeIndex.isEmpty()) {
+                throw new ApiException("No mod attributes available to filter by.");
+            }
+        }
+
+        List<CondensedMod> searchResults = getSearchResultsWithProgress(input.getArgument(), attributeIndex);
 
         if (searchResults.isEmpty()) {
             System.out.println("\nNo mods found matching the search query.");
@@ -103,22 +116,22 @@ public class SearchModCommand extends Command {
         }
     }
 
-    private List<CondensedMod> getSearchResultsWithProgress(String searchTerm, int totalModules) {
+    private List<CondensedMod> getSearchResultsWithProgress(String searchTerm, AttributeIndex attributeIndex) {
         logUtil.info("Internally invoking search for " + searchTerm + ".");
 
-        Stream<CondensedMod> condensedModStream = NUSModsAPI.CONDENSED_MODS
-                .values()
-                .stream()
-                .parallel();
-
-        condensedModStream = SearchUtil.filterByIdentifier(condensedModStream, identifierArg);
+        Collection<CondensedMod> candidateMods = fuzzyFlag.getValue()
+                .map(maxDistance -> SearchUtil.fuzzyFilterByIdentifier(NUSModsAPI.getCondensedMods().values(),
+                        NUSModsAPI.getIdentifierIndex(), NUSModsAPI.getFuzzyIndex(), identifierArg, maxDistance))
+                .orElseGet(() -> SearchUtil.filterByIdentifier(NUSModsAPI.getCondensedMods().values(),
+                        NUSModsAPI.getIdentifierIndex(), identifierArg));
+        Stream<CondensedMod> condensedModStream = candidateMods.stream();
 
         if (!hasNoFlag()) {
             ModAttributes attributes = SearchUtil.createAttributes(facultyFlag, semestersFlag, unitsFlag, gradedFlag);
-            condensedModStream = SearchUtil.filterByAttributes(condensedModStream, attributes);
+            condensedModStream = SearchUtil.filterByAttributes(condensedModStream, attributeIndex, attributes);
         }
 
-        List<CondensedMod> filteredMods = SearchUtil.collectWithProgress(condensedModStream, totalModules);
+        List<CondensedMod> filteredMods = SearchUtil.collectWithProgress(condensedModStream, candidateMods.size());
 
         filteredMods.sort(Comparator.comparing(CondensedMod::getCode));
         return filteredMods;
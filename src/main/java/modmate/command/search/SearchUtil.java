@@ -2,16 +2,21 @@ package modmate.command.search;
 
 import modmate.command.util.Argument;
 import modmate.command.util.Flag;
-import modmate.download.nusmods.NUSModsAPI;
 import modmate.mod.CondensedMod;
 import modmate.mod.attribute.Faculty;
 import modmate.mod.attribute.ModAttributes;
+import modmate.mod.index.AttributeIndex;
+import modmate.mod.index.FuzzyIndex;
+import modmate.mod.index.TrigramIndex;
 import modmate.timetable.Semester;
 import modmate.ui.ProgressBar;
 
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -35,31 +40,36 @@ public class SearchUtil {
 
     public static Stream<CondensedMod> filterByAttributes(
         Stream<CondensedMod> modStream,
+        AttributeIndex attributeIndex,
         ModAttributes searchAttrs
     ) {
-        return modStream.filter(mod -> {
-            Optional<ModAttributes> modAttrs =
-                NUSModsAPI.fetchModuleByCode(mod.getCode())
-                    .map(fetchedMod -> fetchedMod.getAttributes());
-
-            return modAttrs.map(attrs -> attrs.equals(searchAttrs))
-                .orElse(false);
-        });
+        Set<String> matchingCodes = attributeIndex.search(searchAttrs);
+        return modStream.filter(mod -> matchingCodes.contains(mod.getCode()));
     }
 
-    public static Stream<CondensedMod> filterByIdentifier(
-        Stream<CondensedMod> modStream,
+    public static Collection<CondensedMod> filterByIdentifier(
+        Collection<CondensedMod> mods,
+        TrigramIndex identifierIndex,
         Argument<String> identifierArg
     ) {
-        return identifierArg.getValue().map(id -> {
-            String lowerCaseId = id.toLowerCase();
-            return modStream.filter(mod -> {
-                String lowerCaseModCode = mod.getCode().toLowerCase();
-                String lowerCaseModName = mod.getName().toLowerCase();
-                return lowerCaseModCode.contains(lowerCaseId)
-                    || lowerCaseModName.contains(lowerCaseId);
-            });
-        }).orElseGet(() -> modStream);
+        return identifierArg.getValue()
+            .<Collection<CondensedMod>>map(identifierIndex::search)
+            .orElse(mods);
+    }
+
+    public static Collection<CondensedMod> fuzzyFilterByIdentifier(
+        Collection<CondensedMod> mods,
+        TrigramIndex identifierIndex,
+        FuzzyIndex fuzzyIndex,
+        Argument<String> identifierArg,
+        int maxDistance
+    ) {
+        return identifierArg.getValue().<Collection<CondensedMod>>map(id -> {
+            // Exact substring matches are kept, so a fuzzy search never finds less than a plain one
+            Set<CondensedMod> matchingMods = new LinkedHashSet<>(identifierIndex.search(id));
+            matchingMods.addAll(fuzzyIndex.search(id, maxDistance));
+            return matchingMods;
+        }).orElse(mods);
     }
 
     public static List<CondensedMod> collectWithProgress(
@@ -0,0 +1,112 @@
+package modmate.download;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import modmate.log.LogUtil;
+
+/**
+ * The executor for blocking work in the download layer, such as parsing
+ * responses, reading and writing cached files, and waiting on other
+ * downloads, so that this work ties up neither the threads of the HTTP client
+ * nor the common ForkJoinPool.
+ * Tasks run on virtual threads when the Java runtime supports them, and on a
+ * fixed pool of daemon threads otherwise. Either way, no more than
+ * {@link DownloadConfig#getMaxBlockingTasks()} tasks run at once.
+ */
+public class BlockingExecutor implements Executor {
+
+    private static final LogUtil LOG_UTIL = new LogUtil(BlockingExecutor.class);
+
+    private static final BlockingExecutor INSTANCE = new BlockingExecutor(
+            DownloadConfig.getMaxBlockingTasks(), DownloadConfig.isVirtualThreadsEnabled());
+
+    private final ExecutorService delegate;
+    private final Semaphore permits;
+    private final boolean isVirtual;
+
+    /**
+     * Constructs a BlockingExecutor that runs at most the given number of
+     * tasks at once.
+     *
+     * @param maxConcurrency         the maximum number of tasks to run at once
+     * @param isVirtualThreadAllowed whether to use virtual threads if the Java
+     *                               runtime supports them
+     */
+    public BlockingExecutor(int maxConcurrency, boolean isVirtualThreadAllowed) {
+        ExecutorService virtualExecutor = isVirtualThreadAllowed ? createVirtualThreadExecutor() : null;
+
+        this.isVirtual = virtualExecutor != null;
+        this.delegate = isVirtual ? virtualExecutor : createDaemonThreadPool(maxConcurrency);
+        this.permits = new Semaphore(maxConcurrency, true);
+    }
+
+    /**
+     * Returns the shared executor for blocking work in the download layer.
+     *
+     * @return the shared BlockingExecutor
+     */
+    public static BlockingExecutor get() {
+        return INSTANCE;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (!isVirtual) {
+            // The size of the thread pool already caps the number of tasks running at once
+            delegate.execute(task);
+            return;
+        }
+
+        delegate.execute(() -> {
+            permits.acquireUninterruptibly();
+            try {
+                task.run();
+            } finally {
+                permits.release();
+            }
+        });
+    }
+
+    /**
+     * Returns whether the tasks of this executor run on virtual threads.
+     *
+     * @return true if tasks run on virtual threads, false if they run on a
+     *         pool of platform threads
+     */
+    public boolean isVirtual() {
+        return isVirtual;
+    }
+
+    /**
+     * Creates an executor that starts a virtual thread per task. Virtual
+     * threads are only available from Java 21, so the executor is looked up
+     * reflectively to keep running on older runtimes.
+     */
+    private static ExecutorService createVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+        } catch (NoSuchMethodException e) {
+            return null;
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            LOG_UTIL.warning("Virtual threads are unavailable: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static ExecutorService createDaemonThreadPool(int threadCount) {
+        AtomicInteger threadIndex = new AtomicInteger();
+        return Executors.newFixedThreadPool(threadCount, runnable -> {
+            Thread thread = new Thread(runnable, "modmate-blocking-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+}
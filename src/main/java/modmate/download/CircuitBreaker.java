@@ -0,0 +1,101 @@
+package modmate.download;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * A circuit breaker that stops requests to an unhealthy server.
+ * After a number of consecutive failures the breaker opens, and requests fail
+ * fast without touching the network. Once the open duration has passed, a
+ * single trial request is let through: if it succeeds the breaker closes
+ * again, and if it fails the breaker stays open for another open duration.
+ */
+public class CircuitBreaker {
+
+    /**
+     * The states of a circuit breaker.
+     */
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openMillis;
+    private final LongSupplier clockMillis;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures = 0;
+    private long openedAtMillis = 0;
+
+    /**
+     * Constructs a closed CircuitBreaker.
+     *
+     * @param failureThreshold the number of consecutive failures that open the
+     *                         breaker
+     * @param openDuration     how long the breaker stays open before letting a
+     *                         trial request through
+     * @param clockMillis      the source of the current time in milliseconds
+     */
+    public CircuitBreaker(int failureThreshold, Duration openDuration, LongSupplier clockMillis) {
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openDuration.toMillis();
+        this.clockMillis = clockMillis;
+    }
+
+    /**
+     * Constructs a closed CircuitBreaker with the settings in
+     * {@link DownloadConfig}.
+     */
+    public CircuitBreaker() {
+        this(DownloadConfig.getBreakerFailureThreshold(), DownloadConfig.getBreakerOpenDuration(),
+                System::currentTimeMillis);
+    }
+
+    /**
+     * Returns whether a request may be sent now. While the breaker is half
+     * open, only the first caller is allowed through as the trial request.
+     *
+     * @return true if the request may be sent, false if it should fail fast
+     */
+    public synchronized boolean allowRequest() {
+        return switch (state) {
+        case CLOSED -> true;
+        case OPEN -> {
+            if (clockMillis.getAsLong() - openedAtMillis >= openMillis) {
+                state = State.HALF_OPEN;
+                yield true;
+            }
+            yield false;
+        }
+        case HALF_OPEN -> false;
+        };
+    }
+
+    /**
+     * Records a successful request, closing the breaker.
+     */
+    public synchronized void recordSuccess() {
+        consecutiveFailures = 0;
+        state = State.CLOSED;
+    }
+
+    /**
+     * Records a failed request, opening the breaker if the trial request failed
+     * or too many requests have failed in a row.
+     */
+    public synchronized void recordFailure() {
+        consecutiveFailures++;
+
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAtMillis = clockMillis.getAsLong();
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+}
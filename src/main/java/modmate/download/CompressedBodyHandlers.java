@@ -0,0 +1,139 @@
+package modmate.download;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Body handlers that transparently decompress gzip and deflate response
+ * bodies, according to the Content-Encoding header of the response.
+ * Requests using these handlers should send {@link #ACCEPT_ENCODING} as their
+ * Accept-Encoding header.
+ */
+public class CompressedBodyHandlers {
+
+    /**
+     * The value of the Accept-Encoding header listing the encodings that these
+     * body handlers can decompress.
+     */
+    public static final String ACCEPT_ENCODING = "gzip, deflate";
+
+    private static final String GZIP = "gzip";
+    private static final String X_GZIP = "x-gzip";
+    private static final String DEFLATE = "deflate";
+    private static final String IDENTITY = "identity";
+
+    /**
+     * Returns a body handler that decompresses the response body as it is read
+     * from the returned stream, so that large responses can be parsed without
+     * being held in memory, compressed or otherwise.
+     *
+     * @return a body handler for a decompressed stream of the response body
+     */
+    public static HttpResponse.BodyHandler<InputStream> ofInputStream() {
+        return responseInfo -> {
+            String encoding = getContentEncoding(responseInfo);
+            return HttpResponse.BodySubscribers.mapping(
+                    HttpResponse.BodySubscribers.ofInputStream(),
+                    inputStream -> new DecodingInputStream(inputStream, encoding));
+        };
+    }
+
+    /**
+     * Returns a body handler that decompresses the response body once it has
+     * been received in full, and decodes it as UTF-8.
+     *
+     * @return a body handler for the decompressed response body as a String
+     */
+    public static HttpResponse.BodyHandler<String> ofString() {
+        return responseInfo -> {
+            String encoding = getContentEncoding(responseInfo);
+            return HttpResponse.BodySubscribers.mapping(
+                    HttpResponse.BodySubscribers.ofByteArray(),
+                    bytes -> decodeToString(bytes, encoding));
+        };
+    }
+
+    private static String getContentEncoding(HttpResponse.ResponseInfo responseInfo) {
+        return responseInfo.headers()
+                .firstValue("Content-Encoding")
+                .map(encoding -> encoding.trim().toLowerCase(Locale.ROOT))
+                .orElse(IDENTITY);
+    }
+
+    private static String decodeToString(byte[] bytes, String encoding) {
+        if (bytes.length == 0) {
+            return "";
+        }
+
+        try (InputStream inputStream = decode(new ByteArrayInputStream(bytes), encoding)) {
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static InputStream decode(InputStream inputStream, String encoding) throws IOException {
+        return switch (encoding) {
+        case GZIP, X_GZIP -> new GZIPInputStream(inputStream);
+        case DEFLATE -> new InflaterInputStream(inputStream);
+        case IDENTITY, "" -> inputStream;
+        default -> throw new IOException("Unsupported content encoding: " + encoding);
+        };
+    }
+
+    /**
+     * A stream that decompresses the stream it wraps, but only sets up the
+     * decompression on the first read. Setting up a gzip stream reads its
+     * header, which would otherwise block the thread handing over the
+     * response before any of the body has arrived.
+     */
+    private static class DecodingInputStream extends InputStream {
+
+        private final InputStream encodedStream;
+        private final String encoding;
+        private InputStream decodedStream;
+
+        DecodingInputStream(InputStream encodedStream, String encoding) {
+            this.encodedStream = encodedStream;
+            this.encoding = encoding;
+        }
+
+        private InputStream getDecodedStream() throws IOException {
+            if (decodedStream == null) {
+                decodedStream = decode(encodedStream, encoding);
+            }
+            return decodedStream;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return getDecodedStream().read();
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            return getDecodedStream().read(buffer, offset, length);
+        }
+
+        @Override
+        public int available() throws IOException {
+            return decodedStream == null ? 0 : decodedStream.available();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (decodedStream != null) {
+                decodedStream.close();
+            }
+            encodedStream.close();
+        }
+    }
+
+}
@@ -0,0 +1,232 @@
+package modmate.download;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+/**
+ * Holds the tunable settings of the download layer.
+ * Every setting can be overridden with a system property, for example
+ * {@code -Dmodmate.http.maxConcurrentRequests=8}, and falls back to a
+ * sensible default otherwise.
+ */
+public class DownloadConfig {
+
+    private static final String DATA_DIRECTORY_PROPERTY = "modmate.dataDir";
+    private static final String NUSMODS_BASE_URI_PROPERTY = "modmate.nusmods.baseUri";
+    private static final String HTTP_THREADS_PROPERTY = "modmate.http.threads";
+    private static final String MAX_CONCURRENT_REQUESTS_PROPERTY = "modmate.http.maxConcurrentRequests";
+    private static final String CONNECT_TIMEOUT_PROPERTY = "modmate.http.connectTimeoutMillis";
+    private static final String MAX_RETRIES_PROPERTY = "modmate.http.maxRetries";
+    private static final String BASE_BACKOFF_PROPERTY = "modmate.http.baseBackoffMillis";
+    private static final String MAX_BACKOFF_PROPERTY = "modmate.http.maxBackoffMillis";
+    private static final String BREAKER_THRESHOLD_PROPERTY = "modmate.http.breakerFailureThreshold";
+    private static final String BREAKER_OPEN_PROPERTY = "modmate.http.breakerOpenMillis";
+    private static final String RATE_LIMIT_PROPERTY = "modmate.http.rateLimitPerSecond";
+    private static final String RATE_LIMIT_BURST_PROPERTY = "modmate.http.rateLimitBurst";
+    private static final String MOD_CACHE_TTL_PROPERTY = "modmate.cache.modTtlMillis";
+    private static final String MOD_CACHE_GRACE_PROPERTY = "modmate.cache.modGraceMillis";
+    private static final String NOT_FOUND_TTL_PROPERTY = "modmate.cache.notFoundTtlMillis";
+    private static final String MAX_BLOCKING_TASKS_PROPERTY = "modmate.blocking.maxConcurrency";
+    private static final String VIRTUAL_THREADS_PROPERTY = "modmate.blocking.virtualThreads";
+
+    private static final String DEFAULT_DATA_DIRECTORY = "data";
+    private static final String DEFAULT_NUSMODS_BASE_URI = "https://api.nusmods.com/v2";
+    private static final int DEFAULT_HTTP_THREADS = 4;
+    private static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 16;
+    private static final long DEFAULT_CONNECT_TIMEOUT_MILLIS = 10_000;
+    private static final int DEFAULT_MAX_RETRIES = 3;
+    private static final long DEFAULT_BASE_BACKOFF_MILLIS = 250;
+    private static final long DEFAULT_MAX_BACKOFF_MILLIS = 5_000;
+    private static final int DEFAULT_BREAKER_FAILURE_THRESHOLD = 5;
+    private static final long DEFAULT_BREAKER_OPEN_MILLIS = 30_000;
+    private static final double DEFAULT_RATE_LIMIT_PER_SECOND = 20;
+    private static final int DEFAULT_RATE_LIMIT_BURST = 40;
+    private static final long DEFAULT_MOD_CACHE_TTL_MILLIS = Duration.ofDays(1).toMillis();
+    private static final long DEFAULT_MOD_CACHE_GRACE_MILLIS = Duration.ofDays(7).toMillis();
+    private static final long DEFAULT_NOT_FOUND_TTL_MILLIS = Duration.ofMinutes(10).toMillis();
+    private static final int DEFAULT_MAX_BLOCKING_TASKS = 64;
+
+    /**
+     * Returns the directory that downloaded and cached data files are kept
+     * in, relative to the working directory unless it is absolute.
+     *
+     * @return the data directory
+     */
+    public static Path getDataDirectory() {
+        return Paths.get(System.getProperty(DATA_DIRECTORY_PROPERTY, DEFAULT_DATA_DIRECTORY));
+    }
+
+    /**
+     * Returns the base URI of the NUSMods API, without a trailing slash.
+     * This can be pointed at a local stand-in server for testing and
+     * benchmarking without network access.
+     *
+     * @return the base URI of the NUSMods API
+     */
+    public static String getNUSModsBaseUri() {
+        String baseUri = System.getProperty(NUSMODS_BASE_URI_PROPERTY, DEFAULT_NUSMODS_BASE_URI);
+        return baseUri.endsWith("/") ? baseUri.substring(0, baseUri.length() - 1) : baseUri;
+    }
+
+    /**
+     * Returns the number of threads used by the shared HTTP client to send
+     * requests and process responses.
+     *
+     * @return the number of HTTP client threads
+     */
+    public static int getHttpThreads() {
+        return Math.max(1, Integer.getInteger(HTTP_THREADS_PROPERTY, DEFAULT_HTTP_THREADS));
+    }
+
+    /**
+     * Returns the maximum number of requests to the NUSMods API that may be in
+     * flight at once. Further requests wait until an earlier one completes.
+     *
+     * @return the maximum number of concurrent requests
+     */
+    public static int getMaxConcurrentRequests() {
+        return Math.max(1, Integer.getInteger(MAX_CONCURRENT_REQUESTS_PROPERTY, DEFAULT_MAX_CONCURRENT_REQUESTS));
+    }
+
+    /**
+     * Returns how long the shared HTTP client waits to establish a connection.
+     *
+     * @return the connect timeout
+     */
+    public static Duration getConnectTimeout() {
+        return Duration.ofMillis(Long.getLong(CONNECT_TIMEOUT_PROPERTY, DEFAULT_CONNECT_TIMEOUT_MILLIS));
+    }
+
+    /**
+     * Returns how many times a failed GET request is retried before giving up.
+     *
+     * @return the maximum number of retries
+     */
+    public static int getMaxRetries() {
+        return Math.max(0, Integer.getInteger(MAX_RETRIES_PROPERTY, DEFAULT_MAX_RETRIES));
+    }
+
+    /**
+     * Returns the backoff before the first retry, which doubles with every
+     * further retry.
+     *
+     * @return the base backoff
+     */
+    public static Duration getBaseBackoff() {
+        return Duration.ofMillis(Long.getLong(BASE_BACKOFF_PROPERTY, DEFAULT_BASE_BACKOFF_MILLIS));
+    }
+
+    /**
+     * Returns the longest time to wait before a retry. A server asking to be
+     * retried later than this is not retried at all.
+     *
+     * @return the maximum backoff
+     */
+    public static Duration getMaxBackoff() {
+        return Duration.ofMillis(Long.getLong(MAX_BACKOFF_PROPERTY, DEFAULT_MAX_BACKOFF_MILLIS));
+    }
+
+    /**
+     * Returns how many consecutive failed requests open the circuit breaker.
+     *
+     * @return the failure threshold of the circuit breaker
+     */
+    public static int getBreakerFailureThreshold() {
+        return Math.max(1, Integer.getInteger(BREAKER_THRESHOLD_PROPERTY, DEFAULT_BREAKER_FAILURE_THRESHOLD));
+    }
+
+    /**
+     * Returns how long the circuit breaker stays open before letting a trial
+     * request through.
+     *
+     * @return the open duration of the circuit breaker
+     */
+    public static Duration getBreakerOpenDuration() {
+        return Duration.ofMillis(Long.getLong(BREAKER_OPEN_PROPERTY, DEFAULT_BREAKER_OPEN_MILLIS));
+    }
+
+    /**
+     * Returns the steady number of requests per second that may be sent to
+     * the NUSMods API, shared by all callers.
+     *
+     * @return the rate limit in requests per second
+     */
+    public static double getRateLimitPerSecond() {
+        String rateLimit = System.getProperty(RATE_LIMIT_PROPERTY);
+        if (rateLimit == null) {
+            return DEFAULT_RATE_LIMIT_PER_SECOND;
+        }
+
+        try {
+            double parsedRateLimit = Double.parseDouble(rateLimit);
+            return parsedRateLimit > 0 ? parsedRateLimit : DEFAULT_RATE_LIMIT_PER_SECOND;
+        } catch (NumberFormatException e) {
+            return DEFAULT_RATE_LIMIT_PER_SECOND;
+        }
+    }
+
+    /**
+     * Returns the number of requests that may be sent to the NUSMods API at
+     * once after a quiet period, before the rate limit applies.
+     *
+     * @return the burst size of the rate limit
+     */
+    public static int getRateLimitBurst() {
+        return Math.max(1, Integer.getInteger(RATE_LIMIT_BURST_PROPERTY, DEFAULT_RATE_LIMIT_BURST));
+    }
+
+    /**
+     * Returns how long cached mod details are fresh for after they were last
+     * fetched or revalidated. Fresh details are used without contacting the
+     * NUSMods API.
+     *
+     * @return the freshness window of cached mod details
+     */
+    public static Duration getModCacheTtl() {
+        return Duration.ofMillis(Math.max(0, Long.getLong(MOD_CACHE_TTL_PROPERTY, DEFAULT_MOD_CACHE_TTL_MILLIS)));
+    }
+
+    /**
+     * Returns how long after their freshness window cached mod details may
+     * still be used while they are revalidated in the background.
+     *
+     * @return the grace period of stale mod details
+     */
+    public static Duration getModCacheGracePeriod() {
+        return Duration.ofMillis(Math.max(0, Long.getLong(MOD_CACHE_GRACE_PROPERTY,
+                DEFAULT_MOD_CACHE_GRACE_MILLIS)));
+    }
+
+    /**
+     * Returns how long a mod that the NUSMods API could not find is remembered
+     * as missing, during which lookups of it fail without a request.
+     *
+     * @return the time to live of a missing mod
+     */
+    public static Duration getNotFoundTtl() {
+        return Duration.ofMillis(Math.max(0, Long.getLong(NOT_FOUND_TTL_PROPERTY, DEFAULT_NOT_FOUND_TTL_MILLIS)));
+    }
+
+    /**
+     * Returns the maximum number of blocking tasks, such as parsing responses
+     * and reading or writing cached files, that may run at once on the
+     * {@link BlockingExecutor}.
+     *
+     * @return the maximum number of concurrent blocking tasks
+     */
+    public static int getMaxBlockingTasks() {
+        return Math.max(1, Integer.getInteger(MAX_BLOCKING_TASKS_PROPERTY, DEFAULT_MAX_BLOCKING_TASKS));
+    }
+
+    /**
+     * Returns whether the {@link BlockingExecutor} should run its tasks on
+     * virtual threads, when the Java runtime supports them.
+     *
+     * @return true if virtual threads should be used, false otherwise
+     */
+    public static boolean isVirtualThreadsEnabled() {
+        return Boolean.parseBoolean(System.getProperty(VIRTUAL_THREADS_PROPERTY, "true"));
+    }
+
+}
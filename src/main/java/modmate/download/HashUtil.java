@@ -0,0 +1,35 @@
+package modmate.download;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Utility class for computing content hashes of downloaded files, so that a
+ * new download can be compared to the stored copy without parsing either.
+ */
+public class HashUtil {
+
+    private static final String ALGORITHM = "SHA-256";
+
+    /**
+     * Computes the SHA-256 hash of the UTF-8 encoding of a string.
+     *
+     * @param value the string to hash
+     * @return the hash as a lowercase hexadecimal string
+     */
+    public static String hashString(String value) {
+        return HexFormat.of().formatHex(newDigest().digest(value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
@@ -0,0 +1,45 @@
+package modmate.download;
+
+/**
+ * Thrown when the NUSMods API answers a request with a status code that the
+ * caller cannot use, such as 404 Not Found.
+ */
+public class HttpStatusException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int statusCode;
+
+    /**
+     * Constructs an HttpStatusException for the given status code.
+     *
+     * @param statusCode the status code of the response
+     */
+    public HttpStatusException(int statusCode) {
+        super("Request failed. Response Code: " + statusCode);
+        this.statusCode = statusCode;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * Returns whether the given exception, or any of its causes, is an
+     * HttpStatusException with the given status code.
+     *
+     * @param throwable  the exception to check
+     * @param statusCode the status code to look for
+     * @return true if the exception was caused by a response with the status
+     *         code, false otherwise
+     */
+    public static boolean isCausedBy(Throwable throwable, int statusCode) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof HttpStatusException && ((HttpStatusException) cause).statusCode == statusCode) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
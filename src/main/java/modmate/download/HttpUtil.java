@@ -1,20 +1,68 @@
 package modmate.download;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import modmate.download.cache.CachedResponse;
 import modmate.log.LogUtil;
 
 /**
  * Utility class for handling HTTP requests and responses.
+ * All requests share a single long-lived HttpClient, so that connections and
+ * TLS sessions to the NUSMods API are kept alive and reused across requests.
+ * The number of requests in flight at once is capped by
+ * {@link DownloadConfig#getMaxConcurrentRequests()}, counting a streamed
+ * response as in flight until its body has been read or closed.
+ * Requests are paced by a shared {@link RateLimiter}, which lets interactive
+ * requests through ahead of background ones.
+ * Failed GET requests are retried according to a {@link RetryPolicy}, and a
+ * {@link CircuitBreaker} makes requests fail fast while the API is unhealthy.
+ * Responses are requested with gzip or deflate compression, and decompressed
+ * by the {@link CompressedBodyHandlers} as they are read. Blocking work, such
+ * as writing downloads to files, runs on the {@link BlockingExecutor}.
  */
 public class HttpUtil {
 
     private static final LogUtil logUtil = new LogUtil(HttpUtil.class);
 
+    private static final int HTTP_OK = 200;
+    private static final int HTTP_NOT_MODIFIED = 304;
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(
+            DownloadConfig.getHttpThreads(), HttpUtil::createDaemonThread);
+
+    private static final HttpClient CLIENT = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .connectTimeout(DownloadConfig.getConnectTimeout())
+            .executor(EXECUTOR)
+            .build();
+
+    private static final RequestPermits REQUEST_PERMITS = new RequestPermits();
+
+    private static final RetryPolicy RETRY_POLICY = new RetryPolicy();
+    private static final CircuitBreaker CIRCUIT_BREAKER = new CircuitBreaker();
+    private static final RateLimiter RATE_LIMITER = new RateLimiter();
+
     /**
      * Retrieves data from the specified URL using HttpClient.
      *
@@ -22,28 +70,304 @@ public class HttpUtil {
      * @return a CompletableFuture containing the response data as a String
      */
     public static CompletableFuture<String> retrieveDataFromURL(URI uri) {
-        HttpClient client = HttpClient.newHttpClient();
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(uri)
-                .GET()
-                .build();
+        return retrieveDataFromURL(uri, Optional.empty())
+                .thenApply(response -> response.getBody());
+    }
+
+    /**
+     * Retrieves data from the specified URL using HttpClient, revalidating a
+     * previously cached response if one is given.
+     * The validators of the cached response are sent as If-None-Match and
+     * If-Modified-Since headers, and the cached response itself is returned if
+     * the server replies with 304 Not Modified.
+     *
+     * @param uri       the URL to retrieve data from
+     * @param cachedOpt the previously cached response for the URL, if any
+     * @return a CompletableFuture containing either the cached response, if it
+     *         is still valid, or the new response
+     */
+    public static CompletableFuture<CachedResponse> retrieveDataFromURL(URI uri, Optional<CachedResponse> cachedOpt) {
+        return retrieveDataFromURL(uri, cachedOpt, RequestPriority.INTERACTIVE);
+    }
 
-        return client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+    /**
+     * Retrieves data from the specified URL using HttpClient, revalidating a
+     * previously cached response if one is given, with the given priority.
+     *
+     * @param uri       the URL to retrieve data from
+     * @param cachedOpt the previously cached response for the URL, if any
+     * @param priority  the priority of the request
+     * @return a CompletableFuture containing either the cached response, if it
+     *         is still valid, or the new response
+     * @see #retrieveDataFromURL(URI, Optional)
+     */
+    public static CompletableFuture<CachedResponse> retrieveDataFromURL(URI uri, Optional<CachedResponse> cachedOpt,
+            RequestPriority priority) {
+        HttpRequest.Builder requestBuilder = newRequestBuilder(uri);
+
+        cachedOpt.ifPresent(cached -> {
+            cached.getETag().ifPresent(eTag -> requestBuilder.header("If-None-Match", eTag));
+            cached.getLastModified().ifPresent(lastModified ->
+                    requestBuilder.header("If-Modified-Since", lastModified));
+        });
+
+        return sendAsync(requestBuilder.build(), CompressedBodyHandlers.ofString(), priority)
                 .thenApply(response -> {
-                    if (response.statusCode() == 200) {
+                    if (response.statusCode() == HTTP_NOT_MODIFIED && cachedOpt.isPresent()) {
+                        logUtil.info("Not modified, using cached response for: " + uri);
+                        return cachedOpt.get();
+                    } else if (response.statusCode() == HTTP_OK) {
                         String responseData = response.body();
                         if (responseData.isEmpty()) {
                             throw new IllegalArgumentException("JSON response is empty or null");
                         }
-                        return responseData;
+                        return new CachedResponse(responseData,
+                                response.headers().firstValue("ETag"),
+                                response.headers().firstValue("Last-Modified"));
                     } else {
                         logUtil.severe("Request failed. Response Code: " + response.statusCode());
-                        throw new RuntimeException("Request failed. Response Code: " + response.statusCode());
+                        throw new HttpStatusException(response.statusCode());
+                    }
+                })
+                .exceptionally(ex -> {
+                    logUtil.severe("Exception occurred: " + ex.getMessage());
+                    throw new RuntimeException(ex);
+                });
+    }
+
+    /**
+     * Retrieves data from the specified URL as a stream, so that large responses
+     * can be processed without reading the whole body into memory first.
+     * The caller is responsible for closing the returned stream.
+     *
+     * @param uri the URL to retrieve data from
+     * @return a CompletableFuture containing a stream of the response body
+     */
+    public static CompletableFuture<InputStream> retrieveStreamFromURL(URI uri) {
+        HttpRequest request = newRequestBuilder(uri).build();
+
+        return sendAsync(request, CompressedBodyHandlers.ofInputStream(), RequestPriority.INTERACTIVE)
+                .thenApply(response -> {
+                    if (response.statusCode() == HTTP_OK) {
+                        return response.body();
+                    }
+
+                    try {
+                        response.body().close();
+                    } catch (IOException e) {
+                        logUtil.warning("Error closing response body: " + e.getMessage());
                     }
+                    logUtil.severe("Request failed. Response Code: " + response.statusCode());
+                    throw new HttpStatusException(response.statusCode());
                 })
                 .exceptionally(ex -> {
                     logUtil.severe("Exception occurred: " + ex.getMessage());
                     throw new RuntimeException(ex);
                 });
     }
+
+    /**
+     * Downloads data from the specified URL straight into a file, without
+     * holding the response body in memory.
+     * The body is decompressed as it is streamed into a checksummed file with
+     * {@link StorageUtil#writeChecksummed}, so the destination is never left
+     * partially written, and can be verified when it is read back.
+     *
+     * @param uri         the URL to retrieve data from
+     * @param destination the file to save the data to
+     * @return a CompletableFuture containing the path of the saved file
+     */
+    public static CompletableFuture<Path> downloadToFile(URI uri, Path destination) {
+        return downloadToFile(uri, destination, RequestPriority.INTERACTIVE);
+    }
+
+    /**
+     * Downloads data from the specified URL straight into a file, with the
+     * given priority.
+     *
+     * @param uri         the URL to retrieve data from
+     * @param destination the file to save the data to
+     * @param priority    the priority of the request
+     * @return a CompletableFuture containing the path of the saved file
+     * @see #downloadToFile(URI, Path)
+     */
+    public static CompletableFuture<Path> downloadToFile(URI uri, Path destination, RequestPriority priority) {
+        HttpRequest request = newRequestBuilder(uri).build();
+
+        return sendAsync(request, CompressedBodyHandlers.ofInputStream(), priority)
+                .thenApplyAsync(response -> {
+                    try (InputStream inputStream = response.body()) {
+                        if (response.statusCode() != HTTP_OK) {
+                            logUtil.severe("Request failed. Response Code: " + response.statusCode());
+                            throw new HttpStatusException(response.statusCode());
+                        }
+
+                        StorageUtil.writeChecksummed(destination, inputStream::transferTo);
+                        return destination;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }, BlockingExecutor.get())
+                .exceptionally(ex -> {
+                    logUtil.severe("Exception occurred: " + ex.getMessage());
+                    throw new RuntimeException(ex);
+                });
+    }
+
+    private static HttpRequest.Builder newRequestBuilder(URI uri) {
+        return HttpRequest.newBuilder()
+                .uri(uri)
+                .header("Accept-Encoding", CompressedBodyHandlers.ACCEPT_ENCODING)
+                .GET();
+    }
+
+    /**
+     * Sends a request with the shared client once the rate limiter lets it
+     * through, retrying it while it fails with a transient error and the retry
+     * policy allows it.
+     */
+    private static <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request,
+            HttpResponse.BodyHandler<T> bodyHandler, RequestPriority priority) {
+        return sendWithRetry(request, bodyHandler, priority, 0);
+    }
+
+    private static <T> CompletableFuture<HttpResponse<T>> sendWithRetry(HttpRequest request,
+            HttpResponse.BodyHandler<T> bodyHandler, RequestPriority priority, int retryCount) {
+        if (!CIRCUIT_BREAKER.allowRequest()) {
+            logUtil.warning("Circuit breaker is open, not sending request to: " + request.uri());
+            return CompletableFuture.failedFuture(
+                    new RuntimeException("NUSMods API is unavailable, please try again later"));
+        }
+
+        return RATE_LIMITER.acquire(priority)
+                .thenCompose(ignored -> sendWithPermit(request, bodyHandler))
+                .handle((response, ex) -> {
+                    if (ex == null && !RetryPolicy.isRetryableStatus(response.statusCode())) {
+                        CIRCUIT_BREAKER.recordSuccess();
+                        return CompletableFuture.completedFuture(response);
+                    }
+                    CIRCUIT_BREAKER.recordFailure();
+
+                    Optional<Duration> backoffOpt = Optional.empty();
+                    if (request.method().equals("GET")) {
+                        backoffOpt = ex == null
+                                ? RETRY_POLICY.getBackoff(retryCount, response.statusCode(),
+                                        response.headers().firstValue("Retry-After"))
+                                : RETRY_POLICY.getBackoff(retryCount, 0, Optional.empty());
+                    }
+
+                    if (backoffOpt.isEmpty()) {
+                        return ex == null
+                                ? CompletableFuture.completedFuture(response)
+                                : CompletableFuture.<HttpResponse<T>>failedFuture(ex);
+                    }
+
+                    if (response != null) {
+                        discardBody(response);
+                    }
+
+                    long backoffMillis = backoffOpt.get().toMillis();
+                    logUtil.warning("Request to " + request.uri() + " failed, retrying in " + backoffMillis + "ms");
+
+                    Executor delayedExecutor = CompletableFuture.delayedExecutor(
+                            backoffMillis, TimeUnit.MILLISECONDS, BlockingExecutor.get());
+                    return CompletableFuture.runAsync(() -> { }, delayedExecutor)
+                            .thenCompose(ignored -> sendWithRetry(request, bodyHandler, priority, retryCount + 1));
+                })
+                .thenCompose(future -> future);
+    }
+
+    /**
+     * Sends a request with the shared client once a request permit is
+     * available, and returns the permit once the body of the response has
+     * been received in full or closed, or the request has failed. A streamed
+     * body therefore keeps its permit for as long as it is being read.
+     */
+    private static <T> CompletableFuture<HttpResponse<T>> sendWithPermit(HttpRequest request,
+            HttpResponse.BodyHandler<T> bodyHandler) {
+        return REQUEST_PERMITS.acquire().thenCompose(permit -> {
+            try {
+                return CLIENT.sendAsync(request,
+                                responseInfo -> new PermitBodySubscriber<>(bodyHandler.apply(responseInfo), permit))
+                        .whenComplete((response, ex) -> {
+                            if (ex != null) {
+                                permit.release();
+                            }
+                        });
+            } catch (RuntimeException e) {
+                permit.release();
+                throw e;
+            }
+        });
+    }
+
+    private static void discardBody(HttpResponse<?> response) {
+        if (response.body() instanceof InputStream inputStream) {
+            try {
+                inputStream.close();
+            } catch (IOException e) {
+                logUtil.warning("Error closing response body: " + e.getMessage());
+            }
+        }
+    }
+
+    private static Thread createDaemonThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, "modmate-http-" + THREAD_COUNT.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * A body subscriber that returns the request permit of its response once
+     * the body has been received in full, has failed, or has been cancelled
+     * by closing the stream it is read from.
+     */
+    private static class PermitBodySubscriber<T> implements HttpResponse.BodySubscriber<T> {
+
+        private final HttpResponse.BodySubscriber<T> bodySubscriber;
+        private final RequestPermits.Permit permit;
+
+        PermitBodySubscriber(HttpResponse.BodySubscriber<T> bodySubscriber, RequestPermits.Permit permit) {
+            this.bodySubscriber = bodySubscriber;
+            this.permit = permit;
+        }
+
+        @Override
+        public CompletionStage<T> getBody() {
+            return bodySubscriber.getBody();
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            bodySubscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long count) {
+                    subscription.request(count);
+                }
+
+                @Override
+                public void cancel() {
+                    subscription.cancel();
+                    permit.release();
+                }
+            });
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> buffers) {
+            bodySubscriber.onNext(buffers);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            permit.release();
+            bodySubscriber.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            permit.release();
+            bodySubscriber.onComplete();
+        }
+    }
 }
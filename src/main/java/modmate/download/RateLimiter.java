@@ -0,0 +1,155 @@
+package modmate.download;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * A token bucket that limits how fast requests are sent to the NUSMods API.
+ * The bucket holds up to a burst of tokens and refills at a steady rate, and
+ * every request takes one token. Requests that find the bucket empty wait in a
+ * queue per {@link RequestPriority}, and waiting interactive requests are
+ * always let through before waiting background requests.
+ * Waiting requests are let through on the completion executor, so that the
+ * work they go on to do never holds up the limiter itself.
+ */
+public class RateLimiter {
+
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final double permitsPerSecond;
+    private final double burst;
+    private final LongSupplier clockNanos;
+    private final Executor completionExecutor;
+    private final ScheduledExecutorService scheduler;
+    private final Map<RequestPriority, Deque<CompletableFuture<Void>>> waitersByPriority =
+            new EnumMap<>(RequestPriority.class);
+
+    private double tokens;
+    private long lastRefillNanos;
+    private boolean isDrainScheduled = false;
+
+    /**
+     * Constructs a RateLimiter with a full bucket.
+     *
+     * @param permitsPerSecond   the steady rate at which requests are let through
+     * @param burst              the number of requests that may be let through at
+     *                           once after a quiet period
+     * @param clockNanos         the source of the current time in nanoseconds
+     * @param completionExecutor the executor that lets waiting requests through
+     */
+    public RateLimiter(double permitsPerSecond, int burst, LongSupplier clockNanos, Executor completionExecutor) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate and burst of a rate limiter must be positive");
+        }
+
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        this.clockNanos = clockNanos;
+        this.completionExecutor = completionExecutor;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "modmate-rate-limiter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.tokens = burst;
+        this.lastRefillNanos = clockNanos.getAsLong();
+
+        for (RequestPriority priority : RequestPriority.values()) {
+            waitersByPriority.put(priority, new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * Constructs a RateLimiter with the rate and burst set in
+     * {@link DownloadConfig}, which lets waiting requests through on the
+     * {@link BlockingExecutor}.
+     */
+    public RateLimiter() {
+        this(DownloadConfig.getRateLimitPerSecond(), DownloadConfig.getRateLimitBurst(),
+                System::nanoTime, BlockingExecutor.get());
+    }
+
+    /**
+     * Takes a token for a request, waiting for one if the bucket is empty or
+     * other requests are already waiting.
+     *
+     * @param priority the priority of the request
+     * @return a CompletableFuture that completes once the request may be sent
+     */
+    public synchronized CompletableFuture<Void> acquire(RequestPriority priority) {
+        refill();
+        if (getWaiterCount() == 0 && tokens >= 1) {
+            tokens -= 1;
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<Void> waiter = new CompletableFuture<>();
+        waitersByPriority.get(priority).add(waiter);
+        scheduleDrain();
+        return waiter;
+    }
+
+    /**
+     * Lets through as many waiting requests as there are tokens for, in
+     * order of priority.
+     */
+    synchronized void drain() {
+        isDrainScheduled = false;
+        refill();
+
+        for (RequestPriority priority : RequestPriority.values()) {
+            Deque<CompletableFuture<Void>> waiters = waitersByPriority.get(priority);
+            while (tokens >= 1 && !waiters.isEmpty()) {
+                CompletableFuture<Void> waiter = waiters.poll();
+                if (waiter.isDone()) {
+                    // The caller gave up waiting, so the token is kept for the next request
+                    continue;
+                }
+
+                tokens -= 1;
+                completionExecutor.execute(() -> waiter.complete(null));
+            }
+        }
+
+        if (getWaiterCount() > 0) {
+            scheduleDrain();
+        }
+    }
+
+    private void refill() {
+        long nowNanos = clockNanos.getAsLong();
+        double refilledTokens = (nowNanos - lastRefillNanos) / NANOS_PER_SECOND * permitsPerSecond;
+        tokens = Math.min(burst, tokens + refilledTokens);
+        lastRefillNanos = nowNanos;
+    }
+
+    private void scheduleDrain() {
+        if (isDrainScheduled) {
+            return;
+        }
+
+        isDrainScheduled = true;
+        long delayNanos = (long) Math.ceil(Math.max(0, 1 - tokens) / permitsPerSecond * NANOS_PER_SECOND);
+        scheduler.schedule(this::drain, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the number of requests waiting for a token.
+     *
+     * @return the number of waiting requests
+     */
+    public synchronized int getWaiterCount() {
+        return waitersByPriority.values().stream()
+                .mapToInt(Deque::size)
+                .sum();
+    }
+
+}
@@ -0,0 +1,123 @@
+package modmate.download;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A fixed number of permits for the requests to the NUSMods API that may be
+ * in flight at once. Requests that find no permit available wait in a queue,
+ * in the order they asked for one, without blocking a thread, and are let
+ * through as earlier requests return their permits.
+ * Waiting requests are let through on the completion executor, so that the
+ * work they go on to do never runs on the thread returning a permit.
+ */
+public class RequestPermits {
+
+    private final Executor completionExecutor;
+    private final Deque<CompletableFuture<Permit>> waiters = new ArrayDeque<>();
+
+    private int availablePermits;
+
+    /**
+     * Constructs a RequestPermits with all of its permits available.
+     *
+     * @param permits            the number of requests that may be in flight at once
+     * @param completionExecutor the executor that lets waiting requests through
+     */
+    public RequestPermits(int permits, Executor completionExecutor) {
+        if (permits < 1) {
+            throw new IllegalArgumentException("Number of request permits must be positive");
+        }
+
+        this.availablePermits = permits;
+        this.completionExecutor = completionExecutor;
+    }
+
+    /**
+     * Constructs a RequestPermits with the number of permits set in
+     * {@link DownloadConfig}, which lets waiting requests through on the
+     * {@link BlockingExecutor}.
+     */
+    public RequestPermits() {
+        this(DownloadConfig.getMaxConcurrentRequests(), BlockingExecutor.get());
+    }
+
+    /**
+     * Takes a permit for a request, waiting for one if none is available or
+     * other requests are already waiting.
+     *
+     * @return a CompletableFuture that completes with the permit once the
+     *         request may be sent
+     */
+    public synchronized CompletableFuture<Permit> acquire() {
+        if (waiters.isEmpty() && availablePermits > 0) {
+            availablePermits--;
+            return CompletableFuture.completedFuture(new Permit());
+        }
+
+        CompletableFuture<Permit> waiter = new CompletableFuture<>();
+        waiters.add(waiter);
+        return waiter;
+    }
+
+    private synchronized void release() {
+        while (!waiters.isEmpty()) {
+            CompletableFuture<Permit> waiter = waiters.poll();
+            if (waiter.isDone()) {
+                // The caller gave up waiting, so the permit is kept for the next request
+                continue;
+            }
+
+            Permit permit = new Permit();
+            completionExecutor.execute(() -> {
+                if (!waiter.complete(permit)) {
+                    permit.release();
+                }
+            });
+            return;
+        }
+
+        availablePermits++;
+    }
+
+    /**
+     * Returns the number of permits that are not held by any request.
+     *
+     * @return the number of available permits
+     */
+    public synchronized int getAvailablePermits() {
+        return availablePermits;
+    }
+
+    /**
+     * Returns the number of requests waiting for a permit.
+     *
+     * @return the number of waiting requests
+     */
+    public synchronized int getWaiterCount() {
+        return waiters.size();
+    }
+
+    /**
+     * A permit held by one request, which is returned when the request is
+     * done with it.
+     */
+    public class Permit {
+        private final AtomicBoolean isReleased = new AtomicBoolean(false);
+
+        /**
+         * Returns the permit, letting the next waiting request through.
+         * Only the first call returns the permit, so the request may call
+         * this from every path on which it finishes.
+         */
+        public void release() {
+            if (isReleased.compareAndSet(false, true)) {
+                RequestPermits.this.release();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,20 @@
+package modmate.download;
+
+/**
+ * The priority of a request to the NUSMods API, which decides the order in
+ * which requests waiting on the {@link RateLimiter} are let through.
+ */
+public enum RequestPriority {
+
+    /**
+     * A request that a user is waiting on, such as looking up a single mod.
+     */
+    INTERACTIVE,
+
+    /**
+     * A request for bulk work that no user is waiting on, such as refreshing
+     * the mod list or prefetching mods.
+     */
+    BACKGROUND
+
+}
@@ -0,0 +1,143 @@
+package modmate.download;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+import java.util.Random;
+
+/**
+ * Decides whether and when a failed idempotent request should be retried.
+ * Retries back off exponentially with jitter, so that many clients failing at
+ * once do not retry in lockstep, and a Retry-After header sent with a 429 or
+ * 503 response takes precedence over the computed backoff.
+ */
+public class RetryPolicy {
+
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+    private static final int HTTP_INTERNAL_ERROR = 500;
+    private static final int HTTP_BAD_GATEWAY = 502;
+    private static final int HTTP_UNAVAILABLE = 503;
+    private static final int HTTP_GATEWAY_TIMEOUT = 504;
+
+    private final int maxRetries;
+    private final Duration baseBackoff;
+    private final Duration maxBackoff;
+    private final Random random;
+
+    /**
+     * Constructs a RetryPolicy with the given limits.
+     *
+     * @param maxRetries  the maximum number of retries
+     * @param baseBackoff the backoff before the first retry
+     * @param maxBackoff  the longest time to wait before a retry
+     * @param random      the source of jitter
+     */
+    public RetryPolicy(int maxRetries, Duration baseBackoff, Duration maxBackoff, Random random) {
+        this.maxRetries = maxRetries;
+        this.baseBackoff = baseBackoff;
+        this.maxBackoff = maxBackoff;
+        this.random = random;
+    }
+
+    /**
+     * Constructs a RetryPolicy with the limits set in {@link DownloadConfig}.
+     */
+    public RetryPolicy() {
+        this(DownloadConfig.getMaxRetries(), DownloadConfig.getBaseBackoff(),
+                DownloadConfig.getMaxBackoff(), new Random());
+    }
+
+    /**
+     * Returns whether a response with the given status code is worth retrying,
+     * that is, whether it signals a transient problem on the server's side.
+     *
+     * @param statusCode the status code of the response
+     * @return true if the request should be retried, false otherwise
+     */
+    public static boolean isRetryableStatus(int statusCode) {
+        return statusCode == HTTP_TOO_MANY_REQUESTS
+                || statusCode == HTTP_INTERNAL_ERROR
+                || statusCode == HTTP_BAD_GATEWAY
+                || statusCode == HTTP_UNAVAILABLE
+                || statusCode == HTTP_GATEWAY_TIMEOUT;
+    }
+
+    /**
+     * Returns whether another retry is allowed after the given number of
+     * retries.
+     *
+     * @param retryCount the number of retries made so far
+     * @return true if another retry is allowed, false otherwise
+     */
+    public boolean canRetry(int retryCount) {
+        return retryCount < maxRetries;
+    }
+
+    /**
+     * Computes how long to wait before the next retry.
+     * A Retry-After header sent with a 429 or 503 response is honoured, unless
+     * it asks to wait longer than the maximum backoff, in which case the
+     * request is not retried at all.
+     *
+     * @param retryCount    the number of retries made so far
+     * @param statusCode    the status code of the failed response, or 0 if the
+     *                      request failed without a response
+     * @param retryAfterOpt the value of the Retry-After header, if any
+     * @return an {@link Optional} containing the time to wait, or empty if the
+     *         request should not be retried
+     */
+    public Optional<Duration> getBackoff(int retryCount, int statusCode, Optional<String> retryAfterOpt) {
+        if (!canRetry(retryCount)) {
+            return Optional.empty();
+        }
+
+        if (statusCode == HTTP_TOO_MANY_REQUESTS || statusCode == HTTP_UNAVAILABLE) {
+            Optional<Duration> retryAfter = retryAfterOpt.flatMap(value -> parseRetryAfter(value, Instant.now()));
+            if (retryAfter.isPresent()) {
+                return retryAfter.filter(delay -> delay.compareTo(maxBackoff) <= 0);
+            }
+        }
+
+        return Optional.of(getJitteredBackoff(retryCount));
+    }
+
+    private Duration getJitteredBackoff(int retryCount) {
+        long cappedMillis = Math.min(maxBackoff.toMillis(),
+                baseBackoff.toMillis() << Math.min(retryCount, 30));
+        long halfMillis = cappedMillis / 2;
+
+        return Duration.ofMillis(halfMillis + (long) (random.nextDouble() * (cappedMillis - halfMillis)));
+    }
+
+    /**
+     * Parses the value of a Retry-After header, which is either a number of
+     * seconds or an HTTP date.
+     *
+     * @param value the value of the header
+     * @param now   the current time, used to convert a date into a delay
+     * @return an {@link Optional} containing the delay, or empty if the value is
+     *         malformed
+     */
+    public static Optional<Duration> parseRetryAfter(String value, Instant now) {
+        String trimmedValue = value.trim();
+
+        try {
+            return Optional.of(Duration.ofSeconds(Math.max(0, Long.parseLong(trimmedValue))));
+        } catch (NumberFormatException e) {
+            // Not a number of seconds, so try parsing it as a date instead
+        }
+
+        try {
+            Instant retryInstant = ZonedDateTime.parse(trimmedValue, DateTimeFormatter.RFC_1123_DATE_TIME)
+                    .toInstant();
+            Duration delay = Duration.between(now, retryInstant);
+            return Optional.of(delay.isNegative() ? Duration.ZERO : delay);
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+
+}
@@ -0,0 +1,64 @@
+package modmate.download;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent asynchronous calls for the same key into one.
+ * While a call for a key is in flight, later callers for that key are given
+ * the same pending future instead of starting their own call. Once the call
+ * completes, the next caller starts a fresh one.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the results
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlightCalls = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the pending result of the in-flight call for the key, or starts a
+     * new call with the supplier if there is none.
+     *
+     * @param key  the key identifying the call
+     * @param call the supplier that starts the call
+     * @return a CompletableFuture containing the result of the call
+     */
+    public CompletableFuture<V> execute(K key, Supplier<CompletableFuture<V>> call) {
+        CompletableFuture<V> result = new CompletableFuture<>();
+        CompletableFuture<V> inFlightResult = inFlightCalls.putIfAbsent(key, result);
+        if (inFlightResult != null) {
+            return inFlightResult;
+        }
+
+        try {
+            call.get().whenComplete((value, ex) -> {
+                // Forget the call before completing it, so that callers arriving
+                // afterwards start a fresh call instead of getting a stale result
+                inFlightCalls.remove(key, result);
+                if (ex != null) {
+                    result.completeExceptionally(ex);
+                } else {
+                    result.complete(value);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlightCalls.remove(key, result);
+            result.completeExceptionally(e);
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the number of calls currently in flight.
+     *
+     * @return the number of in-flight calls
+     */
+    public int getInFlightCount() {
+        return inFlightCalls.size();
+    }
+
+}
@@ -0,0 +1,321 @@
+package modmate.download;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Optional;
+
+import modmate.log.LogUtil;
+
+/**
+ * Utility class for writing and reading the data files of the application,
+ * such as downloaded mod lists and cached responses, so that an interrupted
+ * write never leaves a damaged file behind and a damaged file is never
+ * mistaken for a good one.
+ * Files are written to a temporary file of their own, flushed to disk, and
+ * then renamed over the destination, after which the directory is flushed
+ * too. Checksummed files start with a header holding the
+ * SHA-256 hash and length of their payload, which is verified when they are
+ * read back.
+ *
+ * <p>The layout of the checksum header is:
+ * <pre>
+ * int     magic number
+ * byte[]  SHA-256 hash of the payload, 32 bytes
+ * long    length of the payload in bytes
+ * </pre>
+ */
+public class StorageUtil {
+
+    /**
+     * The size in bytes of the checksum header, which is also the offset of
+     * the payload in a checksummed file.
+     */
+    public static final int CHECKSUM_HEADER_SIZE = Integer.BYTES + 32 + Long.BYTES;
+
+    private static final LogUtil LOG_UTIL = new LogUtil(StorageUtil.class);
+
+    private static final int MAGIC = 0x4D4D434B;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Writes the content of a file to an output stream.
+     */
+    @FunctionalInterface
+    public interface ContentWriter {
+        /**
+         * Writes the content to the given stream, which must not be closed.
+         *
+         * @param outputStream the stream to write the content to
+         * @throws IOException if the content could not be written
+         */
+        void writeTo(OutputStream outputStream) throws IOException;
+    }
+
+    /**
+     * Writes a file atomically, replacing any previous copy, so that readers
+     * see either the previous copy or the complete new one.
+     *
+     * @param filePath      the file to write
+     * @param contentWriter the writer of the content of the file
+     * @throws IOException if the file could not be written
+     */
+    public static void writeAtomically(Path filePath, ContentWriter contentWriter) throws IOException {
+        write(filePath, contentWriter, false);
+    }
+
+    /**
+     * Writes a file atomically behind a checksum header, replacing any
+     * previous copy.
+     *
+     * @param filePath      the file to write
+     * @param contentWriter the writer of the payload of the file
+     * @throws IOException if the file could not be written
+     */
+    public static void writeChecksummed(Path filePath, ContentWriter contentWriter) throws IOException {
+        write(filePath, contentWriter, true);
+    }
+
+    private static void write(Path filePath, ContentWriter contentWriter, boolean isChecksummed)
+            throws IOException {
+        Path directory = filePath.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        // Each write gets a temporary file of its own, so that concurrent writes of a file cannot clobber each other
+        Path tempFilePath = Files.createTempFile(directory, filePath.getFileName() + ".", ".tmp");
+
+        try {
+            try (FileChannel channel = FileChannel.open(tempFilePath, StandardOpenOption.WRITE)) {
+                int payloadOffset = isChecksummed ? CHECKSUM_HEADER_SIZE : 0;
+                channel.position(payloadOffset);
+
+                MessageDigest digest = HashUtil.newDigest();
+                OutputStream outputStream = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE);
+                DigestOutputStream digestStream = new DigestOutputStream(outputStream, digest);
+                contentWriter.writeTo(digestStream);
+                digestStream.flush();
+
+                if (isChecksummed) {
+                    ByteBuffer header = ByteBuffer.allocate(CHECKSUM_HEADER_SIZE);
+                    header.putInt(MAGIC).put(digest.digest()).putLong(channel.size() - payloadOffset).flip();
+                    while (header.hasRemaining()) {
+                        channel.write(header, header.position());
+                    }
+                }
+
+                channel.force(true);
+            }
+
+            moveAtomically(tempFilePath, filePath);
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(tempFilePath);
+            throw e;
+        }
+
+        forceDirectory(directory);
+    }
+
+    /**
+     * Flushes a directory to disk, so that a file just renamed into it is
+     * still there after a crash. Platforms that cannot open a directory, such
+     * as Windows, make renames durable without this, so errors are ignored.
+     */
+    private static void forceDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // The file has been written all the same, only perhaps not durably
+        }
+    }
+
+    /**
+     * Returns the hash of the payload of a checksummed file as recorded in its
+     * header, without verifying it.
+     *
+     * @param filePath the checksummed file
+     * @return an {@link Optional} containing the hash as a lowercase
+     *         hexadecimal string, or empty if the file is missing, has no valid
+     *         header, or is not as long as its header says
+     */
+    public static Optional<String> readChecksum(Path filePath) {
+        return readHeader(filePath).map(header -> HexFormat.of().formatHex(header.hash));
+    }
+
+    /**
+     * Verifies the payload of a checksummed file against its header.
+     *
+     * @param filePath the checksummed file
+     * @return an {@link Optional} containing the hash of the payload as a
+     *         lowercase hexadecimal string, or empty if the file is missing or
+     *         damaged
+     */
+    public static Optional<String> verifyChecksum(Path filePath) {
+        Optional<ChecksumHeader> headerOpt = readHeader(filePath);
+        if (headerOpt.isEmpty()) {
+            return Optional.empty();
+        }
+
+        MessageDigest digest = HashUtil.newDigest();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream inputStream = openPayload(filePath)) {
+            int readCount;
+            while ((readCount = inputStream.read(buffer)) != -1) {
+                digest.update(buffer, 0, readCount);
+            }
+        } catch (IOException e) {
+            LOG_UTIL.warning("Error reading file: " + filePath);
+            LOG_UTIL.warning("Error Message: " + e.getMessage());
+            return Optional.empty();
+        }
+
+        if (!Arrays.equals(digest.digest(), headerOpt.get().hash)) {
+            LOG_UTIL.warning("Ignoring file that does not match its checksum: " + filePath);
+            return Optional.empty();
+        }
+
+        return Optional.of(HexFormat.of().formatHex(headerOpt.get().hash));
+    }
+
+    /**
+     * Reads a checksummed file in one pass and verifies its payload against
+     * its header, for files small enough to be held in memory.
+     *
+     * @param filePath the checksummed file
+     * @return an {@link Optional} containing a read-only buffer of the
+     *         payload, or empty if the file is missing or damaged
+     */
+    public static Optional<ByteBuffer> readVerified(Path filePath) {
+        if (!Files.isRegularFile(filePath)) {
+            return Optional.empty();
+        }
+
+        ByteBuffer buffer;
+        try {
+            buffer = ByteBuffer.wrap(Files.readAllBytes(filePath));
+        } catch (IOException e) {
+            LOG_UTIL.warning("Error reading file: " + filePath);
+            LOG_UTIL.warning("Error Message: " + e.getMessage());
+            return Optional.empty();
+        }
+
+        Optional<ChecksumHeader> headerOpt = parseHeader(filePath, buffer, buffer.capacity());
+        if (headerOpt.isEmpty()) {
+            return Optional.empty();
+        }
+
+        MessageDigest digest = HashUtil.newDigest();
+        digest.update(buffer.array(), CHECKSUM_HEADER_SIZE, buffer.capacity() - CHECKSUM_HEADER_SIZE);
+        if (!Arrays.equals(digest.digest(), headerOpt.get().hash)) {
+            LOG_UTIL.warning("Ignoring file that does not match its checksum: " + filePath);
+            return Optional.empty();
+        }
+
+        return Optional.of(buffer.position(CHECKSUM_HEADER_SIZE).slice().asReadOnlyBuffer());
+    }
+
+    /**
+     * Opens a stream over the payload of a checksummed file, which is not
+     * verified. The caller is responsible for closing the stream.
+     *
+     * @param filePath the checksummed file
+     * @return a stream of the payload
+     * @throws IOException if the file could not be opened
+     */
+    public static InputStream openPayload(Path filePath) throws IOException {
+        FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ);
+        try {
+            channel.position(CHECKSUM_HEADER_SIZE);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+
+        return Channels.newInputStream(channel);
+    }
+
+    private static Optional<ChecksumHeader> readHeader(Path filePath) {
+        if (!Files.isRegularFile(filePath)) {
+            return Optional.empty();
+        }
+
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(CHECKSUM_HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header) != -1) {
+                // Keep reading until the header is complete or the file ends
+            }
+            header.flip();
+
+            return parseHeader(filePath, header, channel.size());
+        } catch (IOException e) {
+            LOG_UTIL.warning("Error reading file: " + filePath);
+            LOG_UTIL.warning("Error Message: " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static Optional<ChecksumHeader> parseHeader(Path filePath, ByteBuffer header, long fileSize) {
+        if (header.remaining() < CHECKSUM_HEADER_SIZE || header.getInt() != MAGIC) {
+            LOG_UTIL.warning("Ignoring file without a checksum header: " + filePath);
+            return Optional.empty();
+        }
+
+        byte[] hash = new byte[CHECKSUM_HEADER_SIZE - Integer.BYTES - Long.BYTES];
+        header.get(hash);
+        long payloadLength = header.getLong();
+        if (payloadLength != fileSize - CHECKSUM_HEADER_SIZE) {
+            LOG_UTIL.warning("Ignoring truncated file: " + filePath);
+            return Optional.empty();
+        }
+
+        return Optional.of(new ChecksumHeader(hash));
+    }
+
+    /**
+     * Moves a file over another, atomically where the file system supports it.
+     *
+     * @param source the file to move
+     * @param target the file to replace
+     * @throws IOException if the file could not be moved
+     */
+    public static void moveAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Deletes a file if it exists, logging rather than throwing any error.
+     *
+     * @param filePath the file to delete
+     */
+    public static void deleteQuietly(Path filePath) {
+        try {
+            Files.deleteIfExists(filePath);
+        } catch (IOException e) {
+            LOG_UTIL.warning("Error deleting file: " + filePath);
+        }
+    }
+
+    private static class ChecksumHeader {
+        private final byte[] hash;
+
+        ChecksumHeader(byte[] hash) {
+            this.hash = hash;
+        }
+    }
+
+}
@@ -0,0 +1,77 @@
+package modmate.download;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import modmate.mod.attribute.Faculty;
+import modmate.timetable.Period;
+import modmate.timetable.WeekRange;
+
+/**
+ * Utility class that canonicalises the values that mods decoded from the
+ * NUSMods API or the local stores have in common, so that every mod in
+ * memory shares a single instance of each.
+ * Lesson types, class numbers and venues repeat across thousands of lessons,
+ * there are only a few faculties, and most lessons run on one of a small
+ * number of periods, so sharing them keeps the heap used by each resident mod
+ * small. All the values interned here are immutable.
+ * Strings, week ranges and periods are held weakly, so that the values of
+ * mods that are no longer in memory do not stay behind in the pools. There
+ * are only a few faculties, so they are simply kept.
+ */
+public class ValueInterner {
+
+    private static final WeakInterner<String> INTERNED_STRINGS = new WeakInterner<>();
+    private static final Map<String, Faculty> INTERNED_FACULTIES = new ConcurrentHashMap<>();
+    private static final WeakInterner<WeekRange> INTERNED_WEEK_RANGES = new WeakInterner<>();
+    private static final WeakInterner<Period> INTERNED_PERIODS = new WeakInterner<>();
+
+    /**
+     * Returns the shared instance of a string, such as a lesson type or a
+     * venue, registering the given one as the shared instance if there is
+     * none yet.
+     *
+     * @param value the string to intern
+     * @return the shared instance of the string
+     */
+    public static String internString(String value) {
+        return INTERNED_STRINGS.intern(value);
+    }
+
+    /**
+     * Returns the shared faculty with the given name, creating it if there is
+     * none yet.
+     *
+     * @param name the name of the faculty
+     * @return the shared faculty with the name
+     */
+    public static Faculty internFaculty(String name) {
+        return INTERNED_FACULTIES.computeIfAbsent(name, Faculty::new);
+    }
+
+    /**
+     * Returns the shared instance of a week range that is equal to the given
+     * one, registering the given one as the shared instance if there is none
+     * yet.
+     *
+     * @param weekRange the week range to intern
+     * @return the shared instance of the week range
+     */
+    public static WeekRange internWeekRange(WeekRange weekRange) {
+        return INTERNED_WEEK_RANGES.intern(weekRange);
+    }
+
+    /**
+     * Returns the shared instance of a period that is equal to the given one,
+     * registering the given one, with its week range interned, as the shared
+     * instance if there is none yet.
+     *
+     * @param period the period to intern
+     * @return the shared instance of the period
+     */
+    public static Period internPeriod(Period period) {
+        return INTERNED_PERIODS.find(period).orElseGet(() -> INTERNED_PERIODS.intern(new Period(period.getDay(),
+                period.getStartTime(), period.getEndTime(), internWeekRange(period.getWeekRange()))));
+    }
+
+}
@@ -0,0 +1,61 @@
+package modmate.download;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+
+/**
+ * A pool of shared instances of immutable values, which only holds on to
+ * each instance for as long as something else does.
+ * Each shared instance is both a weak key and the target of a weak reference
+ * in the pool, so once no mod refers to an instance any more, it is
+ * collected and its entry disappears from the pool.
+ *
+ * @param <T> the type of the values, which must implement equals and hashCode
+ */
+public class WeakInterner<T> {
+
+    private final Map<T, WeakReference<T>> instances = new WeakHashMap<>();
+
+    /**
+     * Returns the shared instance of a value that is equal to the given one,
+     * registering the given one as the shared instance if there is none yet.
+     *
+     * @param value the value to intern
+     * @return the shared instance of the value
+     */
+    public synchronized T intern(T value) {
+        Optional<T> existingValueOpt = find(value);
+        if (existingValueOpt.isPresent()) {
+            return existingValueOpt.get();
+        }
+
+        instances.put(value, new WeakReference<>(value));
+        return value;
+    }
+
+    /**
+     * Returns the shared instance of a value that is equal to the given one,
+     * without registering the given one if there is none.
+     *
+     * @param value the value to look up
+     * @return an {@link Optional} containing the shared instance, or empty if
+     *         there is none
+     */
+    public synchronized Optional<T> find(T value) {
+        WeakReference<T> reference = instances.get(value);
+        return reference == null ? Optional.empty() : Optional.ofNullable(reference.get());
+    }
+
+    /**
+     * Returns the number of shared instances in the pool, which may still
+     * count instances that have just been collected.
+     *
+     * @return the number of shared instances
+     */
+    public synchronized int size() {
+        return instances.size();
+    }
+
+}
@@ -0,0 +1,115 @@
+package modmate.download.cache;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import modmate.download.HashUtil;
+
+/**
+ * Represents the body of a successful HTTP response together with the
+ * validators needed to revalidate it later with a conditional request, and
+ * the time it was last fetched or revalidated.
+ */
+public class CachedResponse {
+
+    /**
+     * The body of the response.
+     */
+    private final String body;
+
+    /**
+     * The value of the ETag header, if the server sent one.
+     */
+    private final Optional<String> eTag;
+
+    /**
+     * The value of the Last-Modified header, if the server sent one.
+     */
+    private final Optional<String> lastModified;
+
+    /**
+     * The time the response was last fetched or revalidated.
+     */
+    private final Instant fetchedAt;
+
+    /**
+     * The content hash of the body, computed when it is first needed.
+     */
+    private volatile String contentHash;
+
+    /**
+     * Constructs a CachedResponse with the given body and validators, fetched
+     * just now.
+     *
+     * @param body         the body of the response
+     * @param eTag         the ETag of the response
+     * @param lastModified the Last-Modified date of the response
+     */
+    public CachedResponse(String body, Optional<String> eTag, Optional<String> lastModified) {
+        this(body, eTag, lastModified, Instant.now());
+    }
+
+    /**
+     * Constructs a CachedResponse with the given body and validators, fetched
+     * at the given time.
+     *
+     * @param body         the body of the response
+     * @param eTag         the ETag of the response
+     * @param lastModified the Last-Modified date of the response
+     * @param fetchedAt    the time the response was last fetched or revalidated
+     */
+    public CachedResponse(String body, Optional<String> eTag, Optional<String> lastModified, Instant fetchedAt) {
+        if (body == null) {
+            throw new NullPointerException("Body is null");
+        }
+
+        this.body = body;
+        this.eTag = eTag;
+        this.lastModified = lastModified;
+        this.fetchedAt = fetchedAt;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public Optional<String> getETag() {
+        return eTag;
+    }
+
+    public Optional<String> getLastModified() {
+        return lastModified;
+    }
+
+    public Instant getFetchedAt() {
+        return fetchedAt;
+    }
+
+    /**
+     * Returns a copy of this response that was revalidated at the given time.
+     *
+     * @param revalidatedAt the time the response was revalidated
+     * @return the revalidated response
+     */
+    public CachedResponse revalidatedAt(Instant revalidatedAt) {
+        CachedResponse revalidated = new CachedResponse(body, eTag, lastModified, revalidatedAt);
+        revalidated.contentHash = contentHash;
+        return revalidated;
+    }
+
+    /**
+     * Returns the content hash of the body, which identifies the version of
+     * the response that anything derived from it was built from.
+     *
+     * @return the SHA-256 hash of the body
+     */
+    public String getContentHash() {
+        String hash = contentHash;
+        if (hash == null) {
+            hash = HashUtil.hashString(body);
+            contentHash = hash;
+        }
+        return hash;
+    }
+
+}
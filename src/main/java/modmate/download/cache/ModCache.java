@@ -0,0 +1,150 @@
+package modmate.download.cache;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Properties;
+
+import modmate.download.StorageUtil;
+import modmate.download.nusmods.NUSModsUtil;
+import modmate.log.LogUtil;
+
+/**
+ * A disk-backed cache of per-module responses from the NUSMods API.
+ * Each entry is keyed by academic year and module code, and consists of the
+ * raw JSON body behind a checksum header, plus a small properties file
+ * holding the ETag and Last-Modified validators used to revalidate the
+ * entry, and the time the entry was last fetched or revalidated.
+ */
+public class ModCache {
+
+    private static final LogUtil LOG_UTIL = new LogUtil(ModCache.class);
+
+    private static final String BODY_EXTENSION = ".json";
+    private static final String META_EXTENSION = ".properties";
+
+    private static final String ETAG_KEY = "etag";
+    private static final String LAST_MODIFIED_KEY = "lastModified";
+    private static final String FETCHED_AT_KEY = "fetchedAt";
+
+    /**
+     * Loads the cached response for a module, if there is one.
+     *
+     * @param moduleCode the module code (e.g., "CS2113")
+     * @param startYear  the start year of the academic year (e.g., 2024)
+     * @return an {@link Optional} containing the cached response, or empty if the
+     *         module has not been cached or the entry could not be read.
+     *         An entry without a fetch time is treated as fetched long ago.
+     */
+    public static Optional<CachedResponse> load(String moduleCode, int startYear) {
+        Path bodyPath = getBodyPath(moduleCode, startYear);
+        Path metaPath = getMetaPath(moduleCode, startYear);
+
+        Optional<ByteBuffer> payloadOpt = StorageUtil.readVerified(bodyPath);
+        if (payloadOpt.isEmpty()) {
+            return Optional.empty();
+        }
+
+        try {
+            String body = StandardCharsets.UTF_8.decode(payloadOpt.get()).toString();
+
+            Properties meta = new Properties();
+            if (Files.isRegularFile(metaPath)) {
+                try (Reader reader = Files.newBufferedReader(metaPath)) {
+                    meta.load(reader);
+                }
+            }
+
+            return Optional.of(new CachedResponse(body,
+                    Optional.ofNullable(meta.getProperty(ETAG_KEY)),
+                    Optional.ofNullable(meta.getProperty(LAST_MODIFIED_KEY)),
+                    parseFetchedAt(meta.getProperty(FETCHED_AT_KEY))));
+        } catch (IOException e) {
+            LOG_UTIL.warning("Error reading cached module " + moduleCode + ": " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Saves a response for a module to the cache, replacing any existing entry.
+     * The validators of the existing entry are removed before the new body is
+     * written, so that an interrupted save leaves the new body without
+     * validators, to be fetched again in full, rather than paired with the
+     * validators of the old body.
+     *
+     * @param moduleCode the module code (e.g., "CS2113")
+     * @param startYear  the start year of the academic year (e.g., 2024)
+     * @param response   the response to cache
+     */
+    public static void save(String moduleCode, int startYear, CachedResponse response) {
+        Path bodyPath = getBodyPath(moduleCode, startYear);
+        Path metaPath = getMetaPath(moduleCode, startYear);
+
+        try {
+            Files.deleteIfExists(metaPath);
+            StorageUtil.writeChecksummed(bodyPath, outputStream ->
+                    outputStream.write(response.getBody().getBytes(StandardCharsets.UTF_8)));
+            writeMeta(metaPath, response);
+
+            LOG_UTIL.info("Cached module " + moduleCode + " to: " + bodyPath);
+        } catch (IOException e) {
+            LOG_UTIL.warning("Error caching module " + moduleCode + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Updates the validators and fetch time of a cached entry whose body is
+     * unchanged, as when the NUSMods API answered a revalidation with 304 Not
+     * Modified, without writing the body again.
+     *
+     * @param moduleCode the module code (e.g., "CS2113")
+     * @param startYear  the start year of the academic year (e.g., 2024)
+     * @param response   the revalidated response, whose body is already cached
+     */
+    public static void touch(String moduleCode, int startYear, CachedResponse response) {
+        try {
+            writeMeta(getMetaPath(moduleCode, startYear), response);
+        } catch (IOException e) {
+            LOG_UTIL.warning("Error updating cached module " + moduleCode + ": " + e.getMessage());
+        }
+    }
+
+    private static void writeMeta(Path metaPath, CachedResponse response) throws IOException {
+        Properties meta = new Properties();
+        response.getETag().ifPresent(eTag -> meta.setProperty(ETAG_KEY, eTag));
+        response.getLastModified().ifPresent(lastModified -> meta.setProperty(LAST_MODIFIED_KEY, lastModified));
+        meta.setProperty(FETCHED_AT_KEY, Long.toString(response.getFetchedAt().toEpochMilli()));
+
+        StorageUtil.writeAtomically(metaPath, outputStream ->
+                meta.store(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), null));
+    }
+
+    private static Instant parseFetchedAt(String fetchedAt) {
+        if (fetchedAt == null) {
+            return Instant.EPOCH;
+        }
+
+        try {
+            return Instant.ofEpochMilli(Long.parseLong(fetchedAt));
+        } catch (NumberFormatException e) {
+            return Instant.EPOCH;
+        }
+    }
+
+    private static Path getBodyPath(String moduleCode, int startYear) {
+        return NUSModsUtil.buildModCacheDirectory(startYear)
+                .resolve(moduleCode.toUpperCase() + BODY_EXTENSION);
+    }
+
+    private static Path getMetaPath(String moduleCode, int startYear) {
+        return NUSModsUtil.buildModCacheDirectory(startYear)
+                .resolve(moduleCode.toUpperCase() + META_EXTENSION);
+    }
+
+}
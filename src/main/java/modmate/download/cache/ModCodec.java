@@ -0,0 +1,268 @@
+package modmate.download.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import modmate.download.ValueInterner;
+import modmate.mod.LazyMod;
+import modmate.mod.Mod;
+import modmate.mod.attribute.Faculty;
+import modmate.mod.attribute.ModAttributes;
+import modmate.timetable.Lesson;
+import modmate.timetable.Period;
+import modmate.timetable.Semester;
+import modmate.timetable.Timetable;
+import modmate.timetable.WeekRange;
+
+/**
+ * Encodes {@link Mod} objects, together with their timetables, lessons,
+ * periods and week ranges, into a compact binary form, and decodes them back.
+ * Break periods are not encoded, as mods from the NUSMods API never have any.
+ * Decoded mods are {@link LazyMod}s, which only decode a timetable when it is
+ * first needed, and share their faculty and the types, venues and periods of
+ * their lessons with other mods through the {@link ValueInterner}.
+ */
+public class ModCodec {
+
+    /**
+     * Encodes a mod into bytes.
+     *
+     * @param mod the mod to encode
+     * @return the encoded mod
+     */
+    public static byte[] encode(Mod mod) {
+        ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+
+        try (DataOutputStream output = new DataOutputStream(byteStream)) {
+            writeString(output, mod.getName());
+            writeString(output, mod.getCode());
+            writeOptionalString(output, Optional.ofNullable(mod.getDescription()));
+            writeAttributes(output, mod.getAttributes());
+
+            output.writeInt(mod.getTimetables().size());
+            for (Timetable timetable : mod.getTimetables()) {
+                // Each timetable is prefixed with its length, so that it can be skipped until it is needed
+                ByteArrayOutputStream timetableStream = new ByteArrayOutputStream();
+                try (DataOutputStream timetableOutput = new DataOutputStream(timetableStream)) {
+                    writeTimetable(timetableOutput, timetable);
+                }
+                output.writeInt(timetableStream.size());
+                timetableStream.writeTo(output);
+            }
+        } catch (IOException e) {
+            // Writing to a byte array never fails
+            throw new UncheckedIOException(e);
+        }
+
+        return byteStream.toByteArray();
+    }
+
+    /**
+     * Decodes a mod from a buffer, starting at its current position. The
+     * position of the buffer is advanced past the mod.
+     * The timetables of the mod are not decoded until they are first needed,
+     * and are decoded from the buffer then, so the contents of the buffer
+     * must not change while the mod is in use.
+     *
+     * @param buffer the buffer to decode the mod from
+     * @return the decoded mod
+     */
+    public static Mod decode(ByteBuffer buffer) {
+        String name = readString(buffer);
+        String code = readString(buffer);
+        String description = readOptionalString(buffer).orElse(null);
+        ModAttributes attributes = readAttributes(buffer);
+
+        int timetableCount = buffer.getInt();
+        List<Semester> semesters = new ArrayList<>(timetableCount);
+        List<ByteBuffer> timetableBuffers = new ArrayList<>(timetableCount);
+        for (int i = 0; i < timetableCount; i++) {
+            int timetableLength = buffer.getInt();
+            semesters.add(Semester.values()[buffer.get(buffer.position())]);
+            timetableBuffers.add(buffer.slice(buffer.position(), timetableLength));
+            buffer.position(buffer.position() + timetableLength);
+        }
+
+        return new LazyMod(name, code, description, attributes, Collections.unmodifiableList(semesters),
+                index -> readTimetable(timetableBuffers.get(index).duplicate()));
+    }
+
+    private static void writeAttributes(DataOutputStream output, ModAttributes attributes) throws IOException {
+        writeOptionalString(output, attributes.getFacultyOpt().map(Faculty::getName));
+
+        output.writeInt(attributes.getAvailableSemesters().size());
+        for (Semester semester : attributes.getAvailableSemesters()) {
+            output.writeByte(semester.ordinal());
+        }
+
+        output.writeBoolean(attributes.getUnitsOpt().isPresent());
+        if (attributes.getUnitsOpt().isPresent()) {
+            output.writeDouble(attributes.getUnitsOpt().get());
+        }
+
+        output.writeBoolean(attributes.getIsGradedOpt().isPresent());
+        if (attributes.getIsGradedOpt().isPresent()) {
+            output.writeBoolean(attributes.getIsGradedOpt().get());
+        }
+
+        writeOptionalString(output, attributes.getWorkloadOpt());
+    }
+
+    private static ModAttributes readAttributes(ByteBuffer buffer) {
+        Optional<Faculty> facultyOpt = readOptionalString(buffer).map(ValueInterner::internFaculty);
+
+        int semesterCount = buffer.getInt();
+        List<Semester> semesters = new ArrayList<>(semesterCount);
+        for (int i = 0; i < semesterCount; i++) {
+            semesters.add(Semester.values()[buffer.get()]);
+        }
+
+        Optional<Double> unitsOpt = buffer.get() != 0 ? Optional.of(buffer.getDouble()) : Optional.empty();
+        Optional<Boolean> isGradedOpt = buffer.get() != 0 ? Optional.of(buffer.get() != 0) : Optional.empty();
+        Optional<String> workloadOpt = readOptionalString(buffer);
+
+        return new ModAttributes(facultyOpt, Collections.unmodifiableList(semesters),
+                unitsOpt, isGradedOpt, workloadOpt);
+    }
+
+    private static void writeTimetable(DataOutputStream output, Timetable timetable) throws IOException {
+        output.writeByte(timetable.getSemester().ordinal());
+
+        boolean hasExam = timetable.getExamInstant().isPresent() && timetable.getExamDuration().isPresent();
+        output.writeBoolean(hasExam);
+        if (hasExam) {
+            Instant examInstant = timetable.getExamInstant().get();
+            output.writeLong(examInstant.getEpochSecond());
+            output.writeInt(examInstant.getNano());
+            output.writeLong(timetable.getExamDuration().get().getSeconds());
+        }
+
+        output.writeInt(timetable.getLessons().size());
+        for (Lesson lesson : timetable.getLessons()) {
+            writeLesson(output, lesson);
+        }
+    }
+
+    private static Timetable readTimetable(ByteBuffer buffer) {
+        Semester semester = Semester.values()[buffer.get()];
+
+        Optional<Instant> examInstantOpt = Optional.empty();
+        Optional<Duration> examDurationOpt = Optional.empty();
+        if (buffer.get() != 0) {
+            examInstantOpt = Optional.of(Instant.ofEpochSecond(buffer.getLong(), buffer.getInt()));
+            examDurationOpt = Optional.of(Duration.ofSeconds(buffer.getLong()));
+        }
+
+        int lessonCount = buffer.getInt();
+        List<Lesson> lessons = new ArrayList<>(lessonCount);
+        for (int i = 0; i < lessonCount; i++) {
+            lessons.add(readLesson(buffer));
+        }
+
+        if (examInstantOpt.isPresent()) {
+            return new Timetable(semester, examInstantOpt.get(), examDurationOpt.get(),
+                    Collections.unmodifiableList(lessons), Collections.emptyList());
+        }
+
+        return new Timetable(semester, Collections.unmodifiableList(lessons), Collections.emptyList());
+    }
+
+    private static void writeLesson(DataOutputStream output, Lesson lesson) throws IOException {
+        writeString(output, lesson.getType());
+        writeString(output, lesson.getId());
+        writeString(output, lesson.getVenue());
+
+        Period period = lesson.getPeriod();
+        output.writeByte(period.getDay().getValue());
+        output.writeInt(period.getStartTime().toSecondOfDay());
+        output.writeInt(period.getEndTime().toSecondOfDay());
+        writeWeekRange(output, period.getWeekRange());
+    }
+
+    private static Lesson readLesson(ByteBuffer buffer) {
+        String type = ValueInterner.internString(readString(buffer));
+        String id = ValueInterner.internString(readString(buffer));
+        String venue = ValueInterner.internString(readString(buffer));
+
+        DayOfWeek day = DayOfWeek.of(buffer.get());
+        LocalTime startTime = LocalTime.ofSecondOfDay(buffer.getInt());
+        LocalTime endTime = LocalTime.ofSecondOfDay(buffer.getInt());
+        WeekRange weekRange = readWeekRange(buffer);
+
+        return new Lesson(type, id, ValueInterner.internPeriod(new Period(day, startTime, endTime, weekRange)), venue);
+    }
+
+    private static void writeWeekRange(DataOutputStream output, WeekRange weekRange) throws IOException {
+        // Week ranges without dates always cover the default weeks, so only dated ones store their weeks
+        boolean hasDates = weekRange.getStartDate().isPresent() && weekRange.getEndDate().isPresent();
+        output.writeBoolean(hasDates);
+        if (!hasDates) {
+            return;
+        }
+
+        output.writeLong(weekRange.getStartDate().get().toEpochDay());
+        output.writeLong(weekRange.getEndDate().get().toEpochDay());
+        output.writeInt(weekRange.getWeeks().size());
+        for (int week : weekRange.getWeeks()) {
+            output.writeByte(week);
+        }
+    }
+
+    private static WeekRange readWeekRange(ByteBuffer buffer) {
+        if (buffer.get() == 0) {
+            return new WeekRange();
+        }
+
+        LocalDate startDate = LocalDate.ofEpochDay(buffer.getLong());
+        LocalDate endDate = LocalDate.ofEpochDay(buffer.getLong());
+        int weekCount = buffer.getInt();
+        List<Integer> weeks = new ArrayList<>(weekCount);
+        for (int i = 0; i < weekCount; i++) {
+            weeks.add((int) buffer.get());
+        }
+
+        return new WeekRange(startDate, endDate, Collections.unmodifiableList(weeks));
+    }
+
+    private static void writeOptionalString(DataOutputStream output, Optional<String> valueOpt) throws IOException {
+        output.writeBoolean(valueOpt.isPresent());
+        if (valueOpt.isPresent()) {
+            writeString(output, valueOpt.get());
+        }
+    }
+
+    private static Optional<String> readOptionalString(ByteBuffer buffer) {
+        return buffer.get() != 0 ? Optional.of(readString(buffer)) : Optional.empty();
+    }
+
+    /**
+     * Writes a string as its length in bytes followed by its UTF-8 bytes.
+     * Unlike {@link DataOutputStream#writeUTF(String)}, this is not limited
+     * to strings of 64KB.
+     */
+    static void writeString(DataOutputStream output, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,328 @@
+package modmate.download.cache;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+import modmate.download.StorageUtil;
+import modmate.log.LogUtil;
+import modmate.mod.Mod;
+
+/**
+ * An append-only store of encoded mod details, backed by a file that is
+ * memory-mapped in fixed-size chunks, so that the details of every mod in an
+ * academic year can be kept locally without being held on the heap.
+ * Each record holds a mod code, the validator of the response the mod was
+ * parsed from, and the mod encoded by {@link ModCodec}. An in-memory index
+ * maps each mod code to the position of its latest record, and mods are
+ * decoded straight from the mapped chunks when they are requested.
+ * A chunk is mapped again only once appends have filled it, so appending never
+ * remaps the rest of the file; records that run over the end of a chunk, or
+ * lie past the mapped part of the last one, are read from the file instead.
+ *
+ * <p>The layout of a record is:
+ * <pre>
+ * int    record length, excluding this field
+ * int    CRC-32 checksum of the rest of the record
+ * string mod code
+ * string validator
+ * bytes  encoded mod
+ * </pre>
+ * A record that was cut short, for example by a crash while appending, or
+ * that does not match its checksum, is discarded together with every record
+ * after it when the store is opened. If more records have been superseded by
+ * later ones than are still current, the file is compacted down to the
+ * current records when the store is opened.
+ */
+public class ModDetailStore implements AutoCloseable {
+
+    private static final LogUtil LOG_UTIL = new LogUtil(ModDetailStore.class);
+
+    private static final int RECORD_HEADER_SIZE = 2 * Integer.BYTES;
+    private static final int DEFAULT_CHUNK_SIZE = 8 * 1024 * 1024;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path filePath;
+    private final FileChannel channel;
+    private final int chunkSize;
+    private final Map<String, IndexEntry> index = new ConcurrentHashMap<>();
+    private final Map<Long, MappedByteBuffer> mappedChunks = new ConcurrentHashMap<>();
+
+    private int recordCount;
+    private long fullyMappedChunkCount;
+
+    private ModDetailStore(Path filePath, FileChannel channel, int chunkSize) {
+        this.filePath = filePath;
+        this.channel = channel;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Opens the store in the given file, creating the file if it does not
+     * exist, and indexes the records already in it.
+     *
+     * @param filePath the file of the store
+     * @return the opened store
+     * @throws IOException if the file could not be opened or read
+     */
+    public static ModDetailStore open(Path filePath) throws IOException {
+        return open(filePath, DEFAULT_CHUNK_SIZE);
+    }
+
+    static ModDetailStore open(Path filePath, int chunkSize) throws IOException {
+        Files.createDirectories(filePath.toAbsolutePath().getParent());
+        FileChannel channel = FileChannel.open(filePath,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        ModDetailStore store = new ModDetailStore(filePath, channel, chunkSize);
+        try {
+            store.buildIndex();
+            if (store.recordCount - store.size() > store.size()) {
+                store.compact();
+                return open(filePath, chunkSize);
+            }
+            store.mapChunks(channel.size());
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+
+        return store;
+    }
+
+    private synchronized void buildIndex() throws IOException {
+        long fileSize = channel.size();
+        long position = 0;
+
+        // The stream is left open, as closing it would close the channel
+        DataInputStream input = new DataInputStream(
+                new BufferedInputStream(Channels.newInputStream(channel.position(0)), BUFFER_SIZE));
+        while (fileSize - position >= RECORD_HEADER_SIZE) {
+            int recordLength = input.readInt();
+            if (recordLength <= Integer.BYTES || recordLength > fileSize - position - Integer.BYTES) {
+                break;
+            }
+
+            byte[] recordBytes = new byte[recordLength];
+            input.readFully(recordBytes);
+            CRC32 checksum = new CRC32();
+            checksum.update(recordBytes, Integer.BYTES, recordLength - Integer.BYTES);
+            ByteBuffer record = ByteBuffer.wrap(recordBytes);
+            if ((int) checksum.getValue() != record.getInt()) {
+                break;
+            }
+
+            String code = ModCodec.readString(record);
+            String validator = ModCodec.readString(record);
+            int recordSize = Integer.BYTES + recordLength;
+            index.put(code, new IndexEntry(position, recordSize, Integer.BYTES + record.position(), validator));
+            recordCount++;
+
+            position += recordSize;
+        }
+
+        if (position < fileSize) {
+            LOG_UTIL.warning("Discarding incomplete or damaged records at the end of: " + filePath);
+            channel.truncate(position);
+        }
+    }
+
+    /**
+     * Rewrites the file with only the latest record of each mod, and closes
+     * the store, which must be opened again to use the rewritten file.
+     */
+    private synchronized void compact() throws IOException {
+        LOG_UTIL.info("Compacting " + recordCount + " records of " + size() + " mods in: " + filePath);
+        Path compactedPath = filePath.resolveSibling(filePath.getFileName() + ".compacted");
+
+        try {
+            StorageUtil.writeAtomically(compactedPath, this::writeLatestRecords);
+            channel.close();
+            StorageUtil.moveAtomically(compactedPath, filePath);
+        } catch (IOException | RuntimeException e) {
+            StorageUtil.deleteQuietly(compactedPath);
+            throw e;
+        }
+    }
+
+    private void writeLatestRecords(OutputStream outputStream) throws IOException {
+        List<IndexEntry> entries = new ArrayList<>(index.values());
+        entries.sort(Comparator.comparingLong(entry -> entry.recordPosition));
+
+        for (IndexEntry entry : entries) {
+            ByteBuffer record = readRecord(entry);
+            byte[] recordBytes = new byte[record.remaining()];
+            record.get(recordBytes);
+            outputStream.write(recordBytes);
+        }
+    }
+
+    /**
+     * Maps the chunks of the file up to the given position that have not yet
+     * been mapped in full. A chunk that ends before a full chunk size is
+     * mapped only as far as the given position.
+     */
+    private synchronized void mapChunks(long end) throws IOException {
+        for (long chunkIndex = fullyMappedChunkCount; chunkIndex * chunkSize < end; chunkIndex++) {
+            long chunkStart = chunkIndex * chunkSize;
+            long mappedSize = Math.min(chunkSize, end - chunkStart);
+            mappedChunks.put(chunkIndex, channel.map(FileChannel.MapMode.READ_ONLY, chunkStart, mappedSize));
+            if (mappedSize == chunkSize) {
+                fullyMappedChunkCount = chunkIndex + 1;
+            }
+        }
+    }
+
+    /**
+     * Decodes the latest details of a mod from the store.
+     *
+     * @param code the code of the mod
+     * @return an {@link Optional} containing the mod, or empty if the mod is
+     *         not in the store
+     */
+    public Optional<Mod> get(String code) {
+        return Optional.ofNullable(index.get(code.toUpperCase()))
+                .flatMap(this::decode);
+    }
+
+    /**
+     * Decodes the latest details of a mod from the store, provided that they
+     * were parsed from the response with the given validator.
+     *
+     * @param code      the code of the mod
+     * @param validator the validator of the response the details must come from
+     * @return an {@link Optional} containing the mod, or empty if the mod is
+     *         not in the store or its details are from another response
+     */
+    public Optional<Mod> get(String code, String validator) {
+        return Optional.ofNullable(index.get(code.toUpperCase()))
+                .filter(entry -> entry.validator.equals(validator))
+                .flatMap(this::decode);
+    }
+
+    private Optional<Mod> decode(IndexEntry entry) {
+        try {
+            return Optional.of(ModCodec.decode(readRecord(entry).position(entry.modOffset)));
+        } catch (IOException | RuntimeException e) {
+            LOG_UTIL.warning("Error decoding mod from: " + filePath);
+            LOG_UTIL.warning("Error Message: " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private ByteBuffer readRecord(IndexEntry entry) throws IOException {
+        MappedByteBuffer chunk = mappedChunks.get(entry.recordPosition / chunkSize);
+        int chunkOffset = (int) (entry.recordPosition % chunkSize);
+        if (chunk != null && chunkOffset + entry.recordSize <= chunk.limit()) {
+            return chunk.duplicate().position(chunkOffset).limit(chunkOffset + entry.recordSize).slice();
+        }
+
+        // The record runs over the end of its chunk, or lies past the part of it that is mapped
+        ByteBuffer record = ByteBuffer.allocate(entry.recordSize);
+        while (record.hasRemaining()) {
+            if (channel.read(record, entry.recordPosition + record.position()) < 0) {
+                throw new EOFException("Record runs past the end of: " + filePath);
+            }
+        }
+        return record.flip();
+    }
+
+    /**
+     * Appends the details of a mod to the store, superseding any earlier
+     * details of the same mod. Errors are logged rather than thrown, as the
+     * store only saves work that can be redone.
+     *
+     * @param mod       the mod to store
+     * @param validator the validator of the response the mod was parsed from
+     */
+    public synchronized void put(Mod mod, String validator) {
+        String code = mod.getCode().toUpperCase();
+
+        try {
+            ByteArrayOutputStream headerStream = new ByteArrayOutputStream();
+            try (DataOutputStream header = new DataOutputStream(headerStream)) {
+                ModCodec.writeString(header, code);
+                ModCodec.writeString(header, validator);
+            }
+            byte[] headerBytes = headerStream.toByteArray();
+            byte[] modBytes = ModCodec.encode(mod);
+
+            CRC32 checksum = new CRC32();
+            checksum.update(headerBytes);
+            checksum.update(modBytes);
+
+            long recordPosition = channel.size();
+            int recordSize = RECORD_HEADER_SIZE + headerBytes.length + modBytes.length;
+            ByteBuffer record = ByteBuffer.allocate(recordSize);
+            record.putInt(recordSize - Integer.BYTES).putInt((int) checksum.getValue())
+                    .put(headerBytes).put(modBytes).flip();
+            while (record.hasRemaining()) {
+                channel.write(record, recordPosition + record.position());
+            }
+
+            index.put(code, new IndexEntry(recordPosition, recordSize, RECORD_HEADER_SIZE + headerBytes.length,
+                    validator));
+            recordCount++;
+
+            long filledChunksEnd = (recordPosition + recordSize) / chunkSize * chunkSize;
+            if (filledChunksEnd > fullyMappedChunkCount * chunkSize) {
+                mapChunks(filledChunksEnd);
+            }
+        } catch (IOException e) {
+            LOG_UTIL.warning("Error storing mod " + code + " in: " + filePath);
+            LOG_UTIL.warning("Error Message: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns whether the store holds details of a mod.
+     *
+     * @param code the code of the mod
+     * @return true if the store holds details of the mod, false otherwise
+     */
+    public boolean contains(String code) {
+        return index.containsKey(code.toUpperCase());
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static class IndexEntry {
+        private final long recordPosition;
+        private final int recordSize;
+        private final int modOffset;
+        private final String validator;
+
+        IndexEntry(long recordPosition, int recordSize, int modOffset, String validator) {
+            this.recordPosition = recordPosition;
+            this.recordSize = recordSize;
+            this.modOffset = modOffset;
+            this.validator = validator;
+        }
+    }
+
+}
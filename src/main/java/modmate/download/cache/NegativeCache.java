@@ -0,0 +1,96 @@
+package modmate.download.cache;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import modmate.download.DownloadConfig;
+
+/**
+ * Remembers keys that are known not to exist, such as mod codes that the
+ * NUSMods API answered with 404 Not Found, so that lookups of them can fail
+ * straight away instead of going over the network again.
+ * Each key is forgotten once its time to live has passed, in case it comes
+ * into existence later.
+ * Expired keys that are never looked up again are pruned as keys are added,
+ * whenever the cache has doubled in size since it was last pruned, so that
+ * the cache holds at most about twice as many keys as are still remembered.
+ */
+public class NegativeCache {
+
+    private static final int MIN_PRUNE_THRESHOLD = 64;
+
+    private final long ttlNanos;
+    private final LongSupplier clockNanos;
+    private final Map<String, Long> expiryNanosByKey = new ConcurrentHashMap<>();
+
+    private volatile int pruneThreshold = MIN_PRUNE_THRESHOLD;
+
+    /**
+     * Constructs an empty NegativeCache.
+     *
+     * @param ttl        how long each key is remembered for
+     * @param clockNanos the source of the current time in nanoseconds
+     */
+    public NegativeCache(Duration ttl, LongSupplier clockNanos) {
+        this.ttlNanos = ttl.toNanos();
+        this.clockNanos = clockNanos;
+    }
+
+    /**
+     * Constructs an empty NegativeCache that remembers each key for the time
+     * set in {@link DownloadConfig}.
+     */
+    public NegativeCache() {
+        this(DownloadConfig.getNotFoundTtl(), System::nanoTime);
+    }
+
+    /**
+     * Remembers that a key does not exist.
+     *
+     * @param key the key that does not exist
+     */
+    public void add(String key) {
+        long nowNanos = clockNanos.getAsLong();
+        expiryNanosByKey.put(key, nowNanos + ttlNanos);
+
+        if (expiryNanosByKey.size() >= pruneThreshold) {
+            pruneExpired(nowNanos);
+        }
+    }
+
+    private synchronized void pruneExpired(long nowNanos) {
+        if (expiryNanosByKey.size() < pruneThreshold) {
+            // Another caller pruned the cache first
+            return;
+        }
+
+        expiryNanosByKey.values().removeIf(expiryNanos -> nowNanos - expiryNanos >= 0);
+        pruneThreshold = Math.max(MIN_PRUNE_THRESHOLD, 2 * expiryNanosByKey.size());
+    }
+
+    /**
+     * Returns whether a key is still remembered as not existing.
+     *
+     * @param key the key to look up
+     * @return true if the key was added and has not expired, false otherwise
+     */
+    public boolean contains(String key) {
+        Long expiryNanos = expiryNanosByKey.get(key);
+        if (expiryNanos == null) {
+            return false;
+        }
+
+        if (clockNanos.getAsLong() - expiryNanos >= 0) {
+            expiryNanosByKey.remove(key, expiryNanos);
+            return false;
+        }
+        return true;
+    }
+
+    public int size() {
+        return expiryNanosByKey.size();
+    }
+
+}
@@ -0,0 +1,591 @@
+package modmate.download.json;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.json.JSONException;
+
+/**
+ * A pull-based reader of JSON text, which reads one token at a time straight
+ * from a character stream instead of building a {@link org.json.JSONObject}
+ * tree first.
+ * Callers walk the document with {@link #beginObject()}, {@link #hasNext()},
+ * {@link #nextKey(Class)} and the value methods, and skip the values they do
+ * not need with {@link #skipValue()}, which never materialises them.
+ * Malformed or unexpected input is reported with a {@link JSONException},
+ * like the rest of the JSON parsing.
+ */
+public class JSONStreamReader implements Closeable {
+
+    /**
+     * The kinds of token that can come next in a JSON document.
+     */
+    public enum Token {
+        BEGIN_OBJECT,
+        END_OBJECT,
+        BEGIN_ARRAY,
+        END_ARRAY,
+        STRING,
+        NUMBER,
+        BOOLEAN,
+        NULL,
+        END_DOCUMENT
+    }
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    private static final int EMPTY_OBJECT = 0;
+    private static final int NONEMPTY_OBJECT = 1;
+    private static final int EMPTY_ARRAY = 2;
+    private static final int NONEMPTY_ARRAY = 3;
+
+    private static final ClassValue<Map<String, Object>> KEYS_BY_TEXT = new ClassValue<>() {
+        @Override
+        protected Map<String, Object> computeValue(Class<?> keyClass) {
+            Map<String, Object> keysByText = new HashMap<>();
+            for (Object key : keyClass.getEnumConstants()) {
+                keysByText.put(key.toString(), key);
+            }
+            return keysByText;
+        }
+    };
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final StringBuilder textBuilder = new StringBuilder();
+
+    private int position = 0;
+    private int limit = 0;
+    private int[] scopes = new int[16];
+    private int depth = 0;
+    private boolean isElementPending = false;
+    private StringBuilder captureBuilder = null;
+    private int captureStart = 0;
+
+    /**
+     * Constructs a JSONStreamReader that reads from the given reader.
+     *
+     * @param reader the reader to read the JSON text from
+     */
+    public JSONStreamReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Consumes the start of an object.
+     *
+     * @throws JSONException if the next value is not an object
+     */
+    public void beginObject() throws JSONException {
+        beforeValue();
+        expect('{');
+        push(EMPTY_OBJECT);
+    }
+
+    /**
+     * Consumes the end of the current object.
+     *
+     * @throws JSONException if the object has more members
+     */
+    public void endObject() throws JSONException {
+        if (isElementPending || !isInObject()) {
+            throw syntaxError("Expected the end of an object");
+        }
+        expect('}');
+        pop();
+    }
+
+    /**
+     * Consumes the start of an array.
+     *
+     * @throws JSONException if the next value is not an array
+     */
+    public void beginArray() throws JSONException {
+        beforeValue();
+        expect('[');
+        push(EMPTY_ARRAY);
+    }
+
+    /**
+     * Consumes the end of the current array.
+     *
+     * @throws JSONException if the array has more elements
+     */
+    public void endArray() throws JSONException {
+        if (isElementPending || isInObject()) {
+            throw syntaxError("Expected the end of an array");
+        }
+        expect(']');
+        pop();
+    }
+
+    /**
+     * Returns whether the current object or array has another member or
+     * element, consuming the separator before it if there is one.
+     *
+     * @return true if there is another member or element, false otherwise
+     * @throws JSONException if the input is malformed
+     */
+    public boolean hasNext() throws JSONException {
+        if (isElementPending) {
+            return true;
+        }
+        if (depth == 0) {
+            throw syntaxError("Not inside an object or array");
+        }
+
+        char next = peekClean();
+        if (next == '}' || next == ']') {
+            return false;
+        }
+
+        int scope = scopes[depth - 1];
+        if (scope == NONEMPTY_OBJECT || scope == NONEMPTY_ARRAY) {
+            expect(',');
+        } else {
+            scopes[depth - 1] = scope == EMPTY_OBJECT ? NONEMPTY_OBJECT : NONEMPTY_ARRAY;
+        }
+
+        isElementPending = true;
+        return true;
+    }
+
+    /**
+     * Returns the kind of the next token without consuming it.
+     *
+     * @return the kind of the next token
+     * @throws JSONException if the input is malformed
+     */
+    public Token peek() throws JSONException {
+        if (depth > 0 && !isInObject() && !hasNext()) {
+            return Token.END_ARRAY;
+        }
+
+        int next = peekCleanOrEnd();
+        switch (next) {
+        case -1:
+            return Token.END_DOCUMENT;
+        case '{':
+            return Token.BEGIN_OBJECT;
+        case '}':
+            return Token.END_OBJECT;
+        case '[':
+            return Token.BEGIN_ARRAY;
+        case ']':
+            return Token.END_ARRAY;
+        case '"':
+            return Token.STRING;
+        case 't':
+        case 'f':
+            return Token.BOOLEAN;
+        case 'n':
+            return Token.NULL;
+        default:
+            return Token.NUMBER;
+        }
+    }
+
+    /**
+     * Consumes the name of the next member of the current object.
+     *
+     * @return the name of the member
+     * @throws JSONException if the object has no more members
+     */
+    public String nextName() throws JSONException {
+        if (!isInObject() || !hasNext()) {
+            throw syntaxError("Expected the name of a member");
+        }
+
+        isElementPending = false;
+        expect('"');
+        String name = readString();
+        expect(':');
+        return name;
+    }
+
+    /**
+     * Consumes the name of the next member of the current object, and looks
+     * it up among the constants of a {@link JSONKey} enum.
+     *
+     * @param keyClass the enum of the keys to look the name up in
+     * @param <K>      the type of the keys
+     * @return an {@link Optional} containing the key with the name, or empty
+     *         if the name is not one of the keys, in which case the value of
+     *         the member should be skipped
+     * @throws JSONException if the object has no more members
+     */
+    public <K extends Enum<K> & JSONKey> Optional<K> nextKey(Class<K> keyClass) throws JSONException {
+        String name = nextName();
+        return Optional.ofNullable(keyClass.cast(KEYS_BY_TEXT.get(keyClass).get(name)));
+    }
+
+    /**
+     * Consumes the next value as a string.
+     *
+     * @return the string
+     * @throws JSONException if the next value is not a string
+     */
+    public String nextString() throws JSONException {
+        beforeValue();
+        expect('"');
+        return readString();
+    }
+
+    /**
+     * Consumes the next value as a double. Numbers written as strings are
+     * accepted as well.
+     *
+     * @return the double
+     * @throws JSONException if the next value is not a number
+     */
+    public double nextDouble() throws JSONException {
+        String text = nextNumberText();
+        try {
+            return Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            throw syntaxError("Expected a number but found: " + text);
+        }
+    }
+
+    /**
+     * Consumes the next value as an int. Numbers written as strings are
+     * accepted as well, and numbers with a fraction are truncated.
+     *
+     * @return the int
+     * @throws JSONException if the next value is not a number
+     */
+    public int nextInt() throws JSONException {
+        String text = nextNumberText();
+        try {
+            return Integer.parseInt(text);
+        } catch (NumberFormatException e) {
+            try {
+                return (int) Double.parseDouble(text);
+            } catch (NumberFormatException notANumber) {
+                throw syntaxError("Expected a number but found: " + text);
+            }
+        }
+    }
+
+    /**
+     * Consumes the next value as a boolean.
+     *
+     * @return the boolean
+     * @throws JSONException if the next value is not a boolean
+     */
+    public boolean nextBoolean() throws JSONException {
+        beforeValue();
+        String literal = readLiteral();
+        if (literal.equals("true")) {
+            return true;
+        }
+        if (literal.equals("false")) {
+            return false;
+        }
+        throw syntaxError("Expected a boolean but found: " + literal);
+    }
+
+    /**
+     * Consumes the next value, which must be null.
+     *
+     * @throws JSONException if the next value is not null
+     */
+    public void nextNull() throws JSONException {
+        beforeValue();
+        String literal = readLiteral();
+        if (!literal.equals("null")) {
+            throw syntaxError("Expected null but found: " + literal);
+        }
+    }
+
+    /**
+     * Consumes the next value, including any nested objects and arrays,
+     * without building anything from it.
+     *
+     * @throws JSONException if the input is malformed
+     */
+    public void skipValue() throws JSONException {
+        beforeValue();
+
+        char next = peekClean();
+        if (next == '"') {
+            position++;
+            skipString();
+            return;
+        }
+        if (next != '{' && next != '[') {
+            readLiteral();
+            return;
+        }
+
+        int nesting = 0;
+        do {
+            char c = nextChar();
+            if (c == '"') {
+                skipString();
+            } else if (c == '{' || c == '[') {
+                nesting++;
+            } else if (c == '}' || c == ']') {
+                nesting--;
+            }
+        } while (nesting > 0);
+    }
+
+    /**
+     * Starts recording the JSON text that is read from here on, so that a
+     * value can be kept in its raw form and decoded later.
+     */
+    public void startCapture() {
+        captureBuilder = new StringBuilder();
+        captureStart = position;
+    }
+
+    /**
+     * Stops recording the JSON text that is read.
+     *
+     * @return the JSON text read since {@link #startCapture()} was called
+     * @throws IllegalStateException if no text is being recorded
+     */
+    public String endCapture() {
+        if (captureBuilder == null) {
+            throw new IllegalStateException("No JSON text is being captured");
+        }
+
+        captureBuilder.append(buffer, captureStart, position - captureStart);
+        String capturedText = captureBuilder.toString();
+        captureBuilder = null;
+        return capturedText;
+    }
+
+    /**
+     * Returns the value if it is present, for checking that a required member
+     * was found in an object.
+     *
+     * @param value the value of the member, or null if it was not found
+     * @param key   the key of the member
+     * @param <T>   the type of the value
+     * @return the value
+     * @throws JSONException if the value is null
+     */
+    public static <T> T require(T value, JSONKey key) throws JSONException {
+        if (value == null) {
+            throw new JSONException("JSONObject[\"" + key + "\"] not found.");
+        }
+        return value;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private String nextNumberText() throws JSONException {
+        beforeValue();
+        if (peekClean() == '"') {
+            position++;
+            return readString().trim();
+        }
+        return readLiteral();
+    }
+
+    /**
+     * Claims the pending element of the current array before its value is
+     * read. Values of object members follow their name, so need no claiming.
+     */
+    private void beforeValue() throws JSONException {
+        if (depth == 0 || isInObject()) {
+            return;
+        }
+        if (!isElementPending && !hasNext()) {
+            throw syntaxError("Expected another element in the array");
+        }
+        isElementPending = false;
+    }
+
+    private boolean isInObject() {
+        return depth > 0 && scopes[depth - 1] <= NONEMPTY_OBJECT;
+    }
+
+    private void push(int scope) {
+        if (depth == scopes.length) {
+            scopes = Arrays.copyOf(scopes, depth * 2);
+        }
+        scopes[depth++] = scope;
+    }
+
+    private void pop() {
+        depth--;
+        isElementPending = false;
+    }
+
+    /**
+     * Reads the rest of a string whose opening quote has been consumed,
+     * resolving escape sequences.
+     */
+    private String readString() throws JSONException {
+        textBuilder.setLength(0);
+
+        while (true) {
+            int start = position;
+            while (position < limit) {
+                char c = buffer[position];
+                if (c == '"') {
+                    textBuilder.append(buffer, start, position - start);
+                    position++;
+                    return textBuilder.toString();
+                }
+                if (c == '\\') {
+                    textBuilder.append(buffer, start, position - start);
+                    position++;
+                    textBuilder.append(readEscape());
+                    start = position;
+                    continue;
+                }
+                position++;
+            }
+
+            textBuilder.append(buffer, start, position - start);
+            if (!fill()) {
+                throw syntaxError("Unterminated string");
+            }
+        }
+    }
+
+    private void skipString() throws JSONException {
+        while (true) {
+            char c = nextChar();
+            if (c == '"') {
+                return;
+            }
+            if (c == '\\') {
+                readEscape();
+            }
+        }
+    }
+
+    private char readEscape() throws JSONException {
+        char c = nextChar();
+        switch (c) {
+        case 'b':
+            return '\b';
+        case 'f':
+            return '\f';
+        case 'n':
+            return '\n';
+        case 'r':
+            return '\r';
+        case 't':
+            return '\t';
+        case 'u':
+            int codeUnit = 0;
+            for (int i = 0; i < 4; i++) {
+                int digit = Character.digit(nextChar(), 16);
+                if (digit < 0) {
+                    throw syntaxError("Illegal unicode escape");
+                }
+                codeUnit = codeUnit * 16 + digit;
+            }
+            return (char) codeUnit;
+        case '"':
+        case '\\':
+        case '/':
+            return c;
+        default:
+            throw syntaxError("Illegal escape: \\" + c);
+        }
+    }
+
+    /**
+     * Reads an unquoted value, such as a number, a boolean or null, up to the
+     * next delimiter.
+     */
+    private String readLiteral() throws JSONException {
+        peekClean();
+        textBuilder.setLength(0);
+
+        while (true) {
+            int start = position;
+            while (position < limit && !isDelimiter(buffer[position])) {
+                position++;
+            }
+            textBuilder.append(buffer, start, position - start);
+
+            if (position < limit || !fill()) {
+                break;
+            }
+        }
+
+        if (textBuilder.length() == 0) {
+            throw syntaxError("Expected a value");
+        }
+        return textBuilder.toString();
+    }
+
+    private static boolean isDelimiter(char c) {
+        return c == ',' || c == '}' || c == ']' || c == ':' || c == '"'
+                || c == ' ' || c == '\t' || c == '\n' || c == '\r';
+    }
+
+    private void expect(char expected) throws JSONException {
+        char actual = peekClean();
+        if (actual != expected) {
+            throw syntaxError("Expected '" + expected + "' but found '" + actual + "'");
+        }
+        position++;
+    }
+
+    private char peekClean() throws JSONException {
+        int next = peekCleanOrEnd();
+        if (next == -1) {
+            throw syntaxError("Unexpected end of input");
+        }
+        return (char) next;
+    }
+
+    private int peekCleanOrEnd() throws JSONException {
+        while (position < limit || fill()) {
+            char c = buffer[position];
+            if (c != ' ' && c != '\t' && c != '\n' && c != '\r') {
+                return c;
+            }
+            position++;
+        }
+        return -1;
+    }
+
+    private char nextChar() throws JSONException {
+        if (position == limit && !fill()) {
+            throw syntaxError("Unexpected end of input");
+        }
+        return buffer[position++];
+    }
+
+    private boolean fill() throws JSONException {
+        if (captureBuilder != null) {
+            captureBuilder.append(buffer, captureStart, limit - captureStart);
+            captureStart = 0;
+        }
+
+        try {
+            int readCount = reader.read(buffer, 0, buffer.length);
+            if (readCount <= 0) {
+                return false;
+            }
+            position = 0;
+            limit = readCount;
+            return true;
+        } catch (IOException e) {
+            throw new JSONException(e);
+        }
+    }
+
+    private JSONException syntaxError(String message) {
+        return new JSONException(message + " at depth " + depth);
+    }
+
+}
@@ -0,0 +1,52 @@
+package modmate.download.json;
+
+import java.io.Reader;
+import java.util.function.Consumer;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+/**
+ * Utility class for reading large JSON arrays as a stream, one element at a
+ * time, without holding the whole document in memory.
+ */
+public class JSONStreamUtil {
+
+    /**
+     * Reads a JSON array of objects from the given reader, passing each object
+     * to the consumer as soon as it has been parsed.
+     *
+     * @param reader   the reader to read the JSON array from
+     * @param consumer the consumer to pass each object to
+     * @throws JSONException if the data is not a JSON array of objects
+     */
+    public static void forEachObject(Reader reader, Consumer<JSONObject> consumer) throws JSONException {
+        JSONTokener tokener = new JSONTokener(reader);
+
+        if (tokener.nextClean() != '[') {
+            throw tokener.syntaxError("A JSON array must begin with '['");
+        }
+        if (tokener.nextClean() == ']') {
+            return;
+        }
+        tokener.back();
+
+        while (true) {
+            Object value = tokener.nextValue();
+            if (!(value instanceof JSONObject)) {
+                throw tokener.syntaxError("Expected a JSON object in the array");
+            }
+            consumer.accept((JSONObject) value);
+
+            char separator = tokener.nextClean();
+            if (separator == ']') {
+                return;
+            }
+            if (separator != ',') {
+                throw tokener.syntaxError("Expected a ',' or ']'");
+            }
+        }
+    }
+
+}
@@ -0,0 +1,95 @@
+package modmate.download.json.mod;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import modmate.download.json.JSONParser;
+import modmate.download.json.mod.attribute.ModAttrJSONKey;
+import modmate.download.json.mod.attribute.ModAttrJSONParser;
+import modmate.download.json.timetable.TimetableJSONKey;
+import modmate.mod.attribute.ModAttributes;
+import modmate.timetable.Semester;
+
+/**
+ * ModInfoJSONParser is responsible for reading the attributes of a module
+ * from an entry of the bulk moduleInfo.json data, which has the same keys as
+ * a full module but no lesson timetables.
+ */
+public class ModInfoJSONParser extends JSONParser<ModJSONKey> {
+
+    private final JSONObject jsonObject;
+
+    /**
+     * Constructs a ModInfoJSONParser with the given JSONObject.
+     *
+     * @param jsonObject the JSONObject to read from
+     */
+    public ModInfoJSONParser(JSONObject jsonObject) {
+        super(jsonObject);
+        this.jsonObject = jsonObject;
+    }
+
+    /**
+     * Retrieves the code of the module.
+     *
+     * @return the module code in upper case
+     * @throws JSONException if there is an error parsing the JSON data
+     */
+    public String getCode() throws JSONException {
+        return this.getString(ModJSONKey.CODE).toUpperCase();
+    }
+
+    /**
+     * Retrieves the attributes of the module.
+     *
+     * @return the attributes of the module
+     * @throws JSONException if there is an error parsing the JSON data
+     */
+    public ModAttributes getAttributes() throws JSONException {
+        List<Semester> semesters = getSemesterNumbers().stream()
+                .map(Semester::fromInt)
+                .toList();
+
+        ModAttrJSONParser modAttrJSONParser = new ModAttrJSONParser(jsonObject, semesters);
+        return modAttrJSONParser.getAttributes();
+    }
+
+    /**
+     * Creates a copy of the module's JSON data that keeps only the keys needed
+     * to read its attributes, for storing locally.
+     *
+     * @return a trimmed JSONObject that can be read by another ModInfoJSONParser
+     * @throws JSONException if there is an error parsing the JSON data
+     */
+    public JSONObject getAttributesJSONObject() throws JSONException {
+        JSONObject trimmedJSONObject = new JSONObject();
+        trimmedJSONObject.put(ModJSONKey.CODE.toString(), getCode());
+
+        for (ModAttrJSONKey key : ModAttrJSONKey.values()) {
+            if (jsonObject.has(key.toString())) {
+                trimmedJSONObject.put(key.toString(), jsonObject.get(key.toString()));
+            }
+        }
+
+        JSONArray semesterJSONArray = new JSONArray();
+        getSemesterNumbers().forEach(semester ->
+                semesterJSONArray.put(new JSONObject().put(TimetableJSONKey.SEMESTER.toString(), semester)));
+        trimmedJSONObject.put(ModJSONKey.TIMETABLES.toString(), semesterJSONArray);
+
+        return trimmedJSONObject;
+    }
+
+    private List<Integer> getSemesterNumbers() {
+        JSONArray semesterJSONArray = this.getJSONArray(ModJSONKey.TIMETABLES);
+
+        return IntStream.range(0, semesterJSONArray.length())
+                .mapToObj(i -> new JSONParser<TimetableJSONKey>(semesterJSONArray.getJSONObject(i)))
+                .map(semesterJSONParser -> semesterJSONParser.getInt(TimetableJSONKey.SEMESTER))
+                .toList();
+    }
+
+}
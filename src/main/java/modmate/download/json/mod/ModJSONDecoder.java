@@ -0,0 +1,170 @@
+package modmate.download.json.mod;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.json.JSONException;
+
+import modmate.download.ValueInterner;
+import modmate.download.json.JSONStreamReader;
+import modmate.download.json.JSONStreamReader.Token;
+import modmate.download.json.timetable.TimetableJSONDecoder;
+import modmate.mod.LazyMod;
+import modmate.mod.Mod;
+import modmate.mod.attribute.ModAttributes;
+import modmate.mod.attribute.WeeklyWorkload;
+import modmate.timetable.Semester;
+import modmate.timetable.Timetable;
+
+/**
+ * ModJSONDecoder reads a Mod object straight from the JSON text of a module,
+ * with the same rules as {@link ModJSONParser}.
+ * Unlike ModJSONParser, it does not build a JSONObject of the whole module
+ * first, and skips the members it does not use, such as the prerequisite
+ * tree, without materialising them. The timetables of the module are only
+ * checked for their semester, and are decoded when they are first needed by
+ * the returned {@link LazyMod}, which throws a {@link JSONException} then if
+ * they are malformed.
+ */
+public class ModJSONDecoder {
+
+    /**
+     * Reads a Mod from the JSON text of a module.
+     *
+     * @param reader the reader to read the JSON text from
+     * @return the Mod
+     * @throws JSONException if the JSON data is malformed or incomplete
+     */
+    public static Mod decode(Reader reader) throws JSONException {
+        return decode(new JSONStreamReader(reader));
+    }
+
+    /**
+     * Reads the next value of the reader, which must be a module object, into
+     * a Mod. Members that are not used are skipped.
+     *
+     * @param reader the reader positioned before the module object
+     * @return the Mod
+     * @throws JSONException if the JSON data is malformed or incomplete
+     */
+    public static Mod decode(JSONStreamReader reader) throws JSONException {
+        String name = null;
+        String code = null;
+        String description = null;
+        String facultyName = null;
+        Double units = null;
+        String gradingBasis = null;
+        Optional<String> workloadOpt = Optional.empty();
+        List<Semester> semesters = null;
+        List<String> timetableTexts = new ArrayList<>();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            Optional<ModJSONKey> keyOpt = reader.nextKey(ModJSONKey.class);
+            if (keyOpt.isEmpty()) {
+                reader.skipValue();
+                continue;
+            }
+
+            switch (keyOpt.get()) {
+            case NAME:
+                name = reader.nextString();
+                break;
+            case CODE:
+                code = reader.nextString();
+                break;
+            case DESCRIPTION:
+                description = reader.nextString();
+                break;
+            case FACULTY:
+                facultyName = reader.nextString();
+                break;
+            case UNITS:
+                units = reader.nextDouble();
+                break;
+            case IS_GRADED:
+                gradingBasis = reader.nextString();
+                break;
+            case WORKLOAD:
+                workloadOpt = Optional.of(decodeWorkload(reader));
+                break;
+            case TIMETABLES:
+                semesters = decodeSemesters(reader, timetableTexts);
+                break;
+            default:
+                reader.skipValue();
+                break;
+            }
+        }
+        reader.endObject();
+
+        JSONStreamReader.require(semesters, ModJSONKey.TIMETABLES);
+
+        ModAttributes attributes = new ModAttributes(
+                ValueInterner.internFaculty(JSONStreamReader.require(facultyName, ModJSONKey.FACULTY)),
+                semesters,
+                JSONStreamReader.require(units, ModJSONKey.UNITS),
+                JSONStreamReader.require(gradingBasis, ModJSONKey.IS_GRADED).equals("Graded"),
+                workloadOpt);
+
+        return new LazyMod(
+                JSONStreamReader.require(name, ModJSONKey.NAME),
+                JSONStreamReader.require(code, ModJSONKey.CODE),
+                JSONStreamReader.require(description, ModJSONKey.DESCRIPTION),
+                attributes,
+                semesters,
+                index -> decodeTimetable(timetableTexts.get(index)));
+    }
+
+    /**
+     * Reads the semester of each timetable in the semester data, keeping the
+     * JSON text of each timetable to be decoded later.
+     */
+    private static List<Semester> decodeSemesters(JSONStreamReader reader, List<String> timetableTexts)
+            throws JSONException {
+        List<Semester> semesters = new ArrayList<>();
+
+        reader.beginArray();
+        while (reader.hasNext()) {
+            reader.startCapture();
+            semesters.add(TimetableJSONDecoder.decodeSemester(reader));
+            timetableTexts.add(reader.endCapture());
+        }
+        reader.endArray();
+
+        return Collections.unmodifiableList(semesters);
+    }
+
+    private static Timetable decodeTimetable(String timetableText) throws JSONException {
+        return TimetableJSONDecoder.decode(new JSONStreamReader(new StringReader(timetableText)));
+    }
+
+    /**
+     * Reads the workload of a module, which is either a list of weekly hours
+     * or a description of the workload.
+     */
+    private static String decodeWorkload(JSONStreamReader reader) throws JSONException {
+        if (reader.peek() != Token.BEGIN_ARRAY) {
+            return reader.nextString();
+        }
+
+        List<Double> hours = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            hours.add(reader.nextDouble());
+        }
+        reader.endArray();
+
+        if (hours.size() < 5) {
+            throw new JSONException("JSONObject[\"" + ModJSONKey.WORKLOAD + "\"] is not a valid workload.");
+        }
+
+        WeeklyWorkload workload = new WeeklyWorkload(hours.get(0), hours.get(1), hours.get(3), hours.get(4));
+        return workload.toString();
+    }
+
+}
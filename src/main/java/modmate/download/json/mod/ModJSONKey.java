@@ -23,6 +23,11 @@ public enum ModJSONKey implements JSONKey {
      */
     DESCRIPTION("description"),
 
+    /**
+     * The faculty offering the module.
+     */
+    FACULTY("faculty"),
+
     /**
      * The number of modular credits (MCs) for the module.
      */
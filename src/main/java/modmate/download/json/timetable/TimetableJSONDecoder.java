@@ -0,0 +1,117 @@
+package modmate.download.json.timetable;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.json.JSONException;
+
+import modmate.download.json.JSONStreamReader;
+import modmate.download.json.timetable.lesson.LessonJSONDecoder;
+import modmate.timetable.Lesson;
+import modmate.timetable.Semester;
+import modmate.timetable.Timetable;
+
+/**
+ * TimetableJSONDecoder reads a Timetable object straight from a
+ * {@link JSONStreamReader}, with the same rules as {@link TimetableJSONParser}.
+ */
+public class TimetableJSONDecoder {
+
+    /**
+     * Reads the next value of the reader, which must be a semester data
+     * object, into a Timetable. Members that are not used are skipped.
+     *
+     * @param reader the reader positioned before the semester data object
+     * @return the Timetable
+     * @throws JSONException if the JSON data is malformed or incomplete
+     */
+    public static Timetable decode(JSONStreamReader reader) throws JSONException {
+        Integer semesterNumber = null;
+        String examInstantString = null;
+        Integer examMinutes = null;
+        List<Lesson> lessons = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            Optional<TimetableJSONKey> keyOpt = reader.nextKey(TimetableJSONKey.class);
+            if (keyOpt.isEmpty()) {
+                reader.skipValue();
+                continue;
+            }
+
+            switch (keyOpt.get()) {
+            case SEMESTER:
+                semesterNumber = reader.nextInt();
+                break;
+            case EXAM_INSTANT:
+                examInstantString = reader.nextString();
+                break;
+            case EXAM_DURATION:
+                examMinutes = reader.nextInt();
+                break;
+            case LESSONS:
+                lessons = decodeLessons(reader);
+                break;
+            default:
+                reader.skipValue();
+                break;
+            }
+        }
+        reader.endObject();
+
+        Semester semester = Semester.fromInt(JSONStreamReader.require(semesterNumber, TimetableJSONKey.SEMESTER));
+        JSONStreamReader.require(lessons, TimetableJSONKey.LESSONS);
+
+        if (examInstantString != null) {
+            Instant examInstant = Instant.parse(examInstantString);
+            Duration examDuration = Duration.ofMinutes(
+                    JSONStreamReader.require(examMinutes, TimetableJSONKey.EXAM_DURATION));
+
+            return new Timetable(semester, examInstant, examDuration, lessons, Collections.emptyList());
+        }
+
+        return new Timetable(semester, lessons, Collections.emptyList());
+    }
+
+    /**
+     * Reads only the semester of the next value of the reader, which must be
+     * a semester data object, skipping the rest of the object.
+     *
+     * @param reader the reader positioned before the semester data object
+     * @return the semester of the timetable
+     * @throws JSONException if the JSON data is malformed or has no semester
+     */
+    public static Semester decodeSemester(JSONStreamReader reader) throws JSONException {
+        Integer semesterNumber = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            Optional<TimetableJSONKey> keyOpt = reader.nextKey(TimetableJSONKey.class);
+            if (keyOpt.isPresent() && keyOpt.get() == TimetableJSONKey.SEMESTER) {
+                semesterNumber = reader.nextInt();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return Semester.fromInt(JSONStreamReader.require(semesterNumber, TimetableJSONKey.SEMESTER));
+    }
+
+    private static List<Lesson> decodeLessons(JSONStreamReader reader) throws JSONException {
+        List<Lesson> lessons = new ArrayList<>();
+
+        reader.beginArray();
+        while (reader.hasNext()) {
+            lessons.add(LessonJSONDecoder.decode(reader));
+        }
+        reader.endArray();
+
+        return Collections.unmodifiableList(lessons);
+    }
+
+}
@@ -0,0 +1,103 @@
+package modmate.download.json.timetable.lesson;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Optional;
+
+import org.json.JSONException;
+
+import modmate.download.ValueInterner;
+import modmate.download.json.JSONStreamReader;
+import modmate.download.json.JSONStreamReader.Token;
+import modmate.download.json.timetable.week.WeekRangeJSONDecoder;
+import modmate.timetable.Lesson;
+import modmate.timetable.Period;
+import modmate.timetable.WeekRange;
+
+/**
+ * LessonJSONDecoder reads a Lesson object straight from a
+ * {@link JSONStreamReader}, with the same rules as {@link LessonJSONParser}.
+ * The type, class number, venue and period of the lesson are shared with
+ * other lessons through the {@link ValueInterner}.
+ */
+public class LessonJSONDecoder {
+
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HHmm");
+
+    /**
+     * Reads the next value of the reader, which must be a lesson object, into
+     * a Lesson. Members that are not used are skipped.
+     *
+     * @param reader the reader positioned before the lesson object
+     * @return the Lesson
+     * @throws JSONException if the JSON data is malformed or incomplete
+     */
+    public static Lesson decode(JSONStreamReader reader) throws JSONException {
+        String type = null;
+        String id = null;
+        String venue = null;
+        String dayString = null;
+        String startTimeString = null;
+        String endTimeString = null;
+        WeekRange weekRange = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            Optional<LessonJSONKey> keyOpt = reader.nextKey(LessonJSONKey.class);
+            if (keyOpt.isEmpty()) {
+                reader.skipValue();
+                continue;
+            }
+
+            switch (keyOpt.get()) {
+            case LESSON_TYPE:
+                type = reader.nextString();
+                break;
+            case ID:
+                id = reader.nextString();
+                break;
+            case VENUE:
+                venue = reader.nextString();
+                break;
+            case DAY:
+                dayString = reader.nextString();
+                break;
+            case START:
+                startTimeString = reader.nextString();
+                break;
+            case END:
+                endTimeString = reader.nextString();
+                break;
+            case WEEKS:
+                // Weeks given as a plain list of week numbers are read as the default week range
+                if (reader.peek() == Token.BEGIN_OBJECT) {
+                    weekRange = WeekRangeJSONDecoder.decode(reader);
+                } else {
+                    reader.skipValue();
+                }
+                break;
+            default:
+                reader.skipValue();
+                break;
+            }
+        }
+        reader.endObject();
+
+        DayOfWeek day = DayOfWeek.valueOf(JSONStreamReader.require(dayString, LessonJSONKey.DAY).toUpperCase());
+        LocalTime startTime = LocalTime.parse(JSONStreamReader.require(startTimeString, LessonJSONKey.START),
+                TIME_FORMATTER);
+        LocalTime endTime = LocalTime.parse(JSONStreamReader.require(endTimeString, LessonJSONKey.END),
+                TIME_FORMATTER);
+        Period period = ValueInterner.internPeriod(weekRange != null
+                ? new Period(day, startTime, endTime, weekRange)
+                : new Period(day, startTime, endTime));
+
+        return new Lesson(
+                ValueInterner.internString(JSONStreamReader.require(type, LessonJSONKey.LESSON_TYPE)),
+                ValueInterner.internString(JSONStreamReader.require(id, LessonJSONKey.ID)),
+                period,
+                ValueInterner.internString(JSONStreamReader.require(venue, LessonJSONKey.VENUE)));
+    }
+
+}
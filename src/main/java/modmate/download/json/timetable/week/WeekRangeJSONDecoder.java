@@ -0,0 +1,92 @@
+package modmate.download.json.timetable.week;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.json.JSONException;
+
+import modmate.download.json.JSONStreamReader;
+import modmate.timetable.WeekRange;
+
+/**
+ * WeekRangeJSONDecoder reads a WeekRange object straight from a
+ * {@link JSONStreamReader}, with the same rules as {@link WeekRangeJSONParser}.
+ */
+public class WeekRangeJSONDecoder {
+
+    /**
+     * Reads the next value of the reader, which must be a week range object,
+     * into a WeekRange. Members that are not used are skipped.
+     *
+     * @param reader the reader positioned before the week range object
+     * @return the WeekRange
+     * @throws JSONException if the JSON data is malformed or incomplete
+     */
+    public static WeekRange decode(JSONStreamReader reader) throws JSONException {
+        String startDateString = null;
+        String endDateString = null;
+        List<Integer> weeks = null;
+        Integer weekInterval = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            Optional<WeekRangeJSONKey> keyOpt = reader.nextKey(WeekRangeJSONKey.class);
+            if (keyOpt.isEmpty()) {
+                reader.skipValue();
+                continue;
+            }
+
+            switch (keyOpt.get()) {
+            case START:
+                startDateString = reader.nextString();
+                break;
+            case END:
+                endDateString = reader.nextString();
+                break;
+            case WEEKS:
+                weeks = decodeWeeks(reader);
+                break;
+            case WEEK_INTERVAL:
+                weekInterval = reader.nextInt();
+                break;
+            default:
+                reader.skipValue();
+                break;
+            }
+        }
+        reader.endObject();
+
+        if (startDateString == null) {
+            return new WeekRange();
+        }
+
+        LocalDate startDate = LocalDate.parse(startDateString);
+        LocalDate endDate = LocalDate.parse(JSONStreamReader.require(endDateString, WeekRangeJSONKey.END));
+
+        if (weeks != null) {
+            return new WeekRange(startDate, endDate, weeks);
+        }
+
+        if (weekInterval != null) {
+            return new WeekRange(startDate, endDate, weekInterval);
+        }
+
+        return new WeekRange(startDate, endDate);
+    }
+
+    private static List<Integer> decodeWeeks(JSONStreamReader reader) throws JSONException {
+        List<Integer> weeks = new ArrayList<>();
+
+        reader.beginArray();
+        while (reader.hasNext()) {
+            weeks.add(reader.nextInt());
+        }
+        reader.endArray();
+
+        return Collections.unmodifiableList(weeks);
+    }
+
+}
@@ -0,0 +1,111 @@
+package modmate.download.nusmods;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import modmate.mod.CondensedMod;
+
+/**
+ * The changes between two versions of a catalogue of condensed mods: the mods
+ * that were added, the mods that were removed, and the mods whose title
+ * changed under the same code.
+ * A refresh whose delta is empty leaves the catalogue, and everything
+ * indexed from it, as it is.
+ */
+public class CatalogueDelta {
+
+    private final Map<String, CondensedMod> addedMods;
+    private final Map<String, CondensedMod> removedMods;
+    private final Map<String, CondensedMod> renamedMods;
+
+    private CatalogueDelta(Map<String, CondensedMod> addedMods, Map<String, CondensedMod> removedMods,
+            Map<String, CondensedMod> renamedMods) {
+        this.addedMods = Collections.unmodifiableMap(addedMods);
+        this.removedMods = Collections.unmodifiableMap(removedMods);
+        this.renamedMods = Collections.unmodifiableMap(renamedMods);
+    }
+
+    /**
+     * Returns a delta with no changes.
+     *
+     * @return an empty delta
+     */
+    public static CatalogueDelta empty() {
+        return new CatalogueDelta(Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap());
+    }
+
+    /**
+     * Computes the changes needed to turn one version of a catalogue into
+     * another.
+     *
+     * @param oldMods the old version of the catalogue, keyed by mod code
+     * @param newMods the new version of the catalogue, keyed by mod code
+     * @return the changes between the two versions
+     */
+    public static CatalogueDelta between(Map<String, CondensedMod> oldMods, Map<String, CondensedMod> newMods) {
+        Map<String, CondensedMod> addedMods = new HashMap<>();
+        Map<String, CondensedMod> removedMods = new HashMap<>();
+        Map<String, CondensedMod> renamedMods = new HashMap<>();
+
+        newMods.forEach((code, newMod) -> {
+            CondensedMod oldMod = oldMods.get(code);
+            if (oldMod == null) {
+                addedMods.put(code, newMod);
+            } else if (!oldMod.getName().equals(newMod.getName())) {
+                renamedMods.put(code, newMod);
+            }
+        });
+
+        oldMods.forEach((code, oldMod) -> {
+            if (!newMods.containsKey(code)) {
+                removedMods.put(code, oldMod);
+            }
+        });
+
+        return new CatalogueDelta(addedMods, removedMods, renamedMods);
+    }
+
+    /**
+     * Returns a copy of the given catalogue with the changes applied.
+     * The given catalogue itself is not modified.
+     *
+     * @param mods the catalogue to apply the changes to, keyed by mod code
+     * @return a new map holding the updated catalogue
+     */
+    public Map<String, CondensedMod> applyTo(Map<String, CondensedMod> mods) {
+        Map<String, CondensedMod> updatedMods = new HashMap<>(mods);
+        removedMods.keySet().forEach(updatedMods::remove);
+        updatedMods.putAll(addedMods);
+        updatedMods.putAll(renamedMods);
+        return updatedMods;
+    }
+
+    public Map<String, CondensedMod> getAddedMods() {
+        return addedMods;
+    }
+
+    public Map<String, CondensedMod> getRemovedMods() {
+        return removedMods;
+    }
+
+    /**
+     * Returns the mods whose title changed, with their new titles.
+     *
+     * @return an unmodifiable map of mod codes and renamed condensed mods
+     */
+    public Map<String, CondensedMod> getRenamedMods() {
+        return renamedMods;
+    }
+
+    public boolean isEmpty() {
+        return addedMods.isEmpty() && removedMods.isEmpty() && renamedMods.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return addedMods.size() + " added, " + removedMods.size() + " removed, "
+                + renamedMods.size() + " renamed";
+    }
+
+}
@@ -0,0 +1,197 @@
+package modmate.download.nusmods;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+
+import modmate.download.StorageUtil;
+import modmate.log.LogUtil;
+import modmate.mod.CondensedMod;
+
+/**
+ * A compact binary snapshot of a catalogue of condensed mods, which is read
+ * and verified in one pass and decoded without parsing the JSON mod list.
+ * The snapshot also records the content hash of the JSON mod list it was taken
+ * from, so that a refresh can be compared to it without reading the JSON.
+ *
+ * <p>The snapshot is written behind a checksum header by {@link StorageUtil},
+ * and the layout of its payload is:
+ * <pre>
+ * int    magic number
+ * int    format version
+ * int    mod count (n)
+ * int    source hash length, followed by the UTF-8 source hash
+ * int[n] code offsets into the string table
+ * int[n] code lengths
+ * int[n] name offsets into the string table
+ * int[n] name lengths
+ * int    string table length, followed by the UTF-8 string table
+ * </pre>
+ * Snapshots that do not match their checksum, or that have a different magic
+ * number or format version, are ignored, so that the JSON mod list is loaded
+ * instead.
+ */
+public class CatalogueSnapshot {
+
+    private static final LogUtil LOG_UTIL = new LogUtil(CatalogueSnapshot.class);
+
+    private static final int MAGIC = 0x4D4D4353; // "MMCS"
+    private static final int VERSION = 1;
+
+    private final Map<String, CondensedMod> condensedMods;
+    private final String sourceHash;
+
+    private CatalogueSnapshot(Map<String, CondensedMod> condensedMods, String sourceHash) {
+        this.condensedMods = condensedMods;
+        this.sourceHash = sourceHash;
+    }
+
+    /**
+     * Writes a snapshot of a catalogue to a file, replacing any previous
+     * snapshot atomically.
+     *
+     * @param filePath      the file to write the snapshot to
+     * @param condensedMods the catalogue, keyed by mod code
+     * @param sourceHash    the content hash of the JSON mod list of the catalogue
+     * @throws IOException if the snapshot could not be written
+     */
+    public static void write(Path filePath, Map<String, CondensedMod> condensedMods, String sourceHash)
+            throws IOException {
+        List<CondensedMod> mods = new ArrayList<>(condensedMods.values());
+
+        int modCount = mods.size();
+        int[] codeOffsets = new int[modCount];
+        int[] codeLengths = new int[modCount];
+        int[] nameOffsets = new int[modCount];
+        int[] nameLengths = new int[modCount];
+        ByteArrayOutputStream stringTable = new ByteArrayOutputStream();
+
+        for (int i = 0; i < modCount; i++) {
+            byte[] codeBytes = mods.get(i).getCode().getBytes(StandardCharsets.UTF_8);
+            codeOffsets[i] = stringTable.size();
+            codeLengths[i] = codeBytes.length;
+            stringTable.write(codeBytes);
+
+            byte[] nameBytes = mods.get(i).getName().getBytes(StandardCharsets.UTF_8);
+            nameOffsets[i] = stringTable.size();
+            nameLengths[i] = nameBytes.length;
+            stringTable.write(nameBytes);
+        }
+
+        byte[] hashBytes = sourceHash.getBytes(StandardCharsets.UTF_8);
+        int size = Integer.BYTES * (5 + 4 * modCount) + hashBytes.length + stringTable.size();
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(modCount);
+        buffer.putInt(hashBytes.length).put(hashBytes);
+        putInts(buffer, codeOffsets);
+        putInts(buffer, codeLengths);
+        putInts(buffer, nameOffsets);
+        putInts(buffer, nameLengths);
+        buffer.putInt(stringTable.size()).put(stringTable.toByteArray());
+
+        StorageUtil.writeChecksummed(filePath, outputStream -> outputStream.write(buffer.array()));
+    }
+
+    private static void putInts(ByteBuffer buffer, int[] values) {
+        for (int value : values) {
+            buffer.putInt(value);
+        }
+    }
+
+    /**
+     * Reads a snapshot of a catalogue from a file.
+     *
+     * @param filePath the file to read the snapshot from
+     * @param interner the function returning the shared instance of each mod
+     * @return an {@link Optional} containing the snapshot, or empty if there
+     *         is no snapshot or it is damaged or of another format version
+     */
+    public static Optional<CatalogueSnapshot> read(Path filePath, UnaryOperator<CondensedMod> interner) {
+        Optional<ByteBuffer> payloadOpt = StorageUtil.readVerified(filePath);
+        if (payloadOpt.isEmpty()) {
+            return Optional.empty();
+        }
+
+        try {
+            ByteBuffer buffer = payloadOpt.get();
+            if (buffer.remaining() < 3 * Integer.BYTES || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                LOG_UTIL.warning("Ignoring snapshot of an unknown format: " + filePath);
+                return Optional.empty();
+            }
+
+            int modCount = buffer.getInt();
+            int sourceHashLength = buffer.getInt();
+            String sourceHash = getString(buffer, buffer.position(), sourceHashLength);
+            buffer.position(buffer.position() + sourceHashLength);
+
+            int[] codeOffsets = getInts(buffer, modCount);
+            int[] codeLengths = getInts(buffer, modCount);
+            int[] nameOffsets = getInts(buffer, modCount);
+            int[] nameLengths = getInts(buffer, modCount);
+
+            int stringTableLength = buffer.getInt();
+            int stringTableStart = buffer.position();
+            if (stringTableLength != buffer.remaining()) {
+                LOG_UTIL.warning("Ignoring truncated snapshot: " + filePath);
+                return Optional.empty();
+            }
+
+            Map<String, CondensedMod> condensedMods = new HashMap<>(modCount * 4 / 3 + 1);
+            for (int i = 0; i < modCount; i++) {
+                String code = getString(buffer, stringTableStart + codeOffsets[i], codeLengths[i]);
+                String name = getString(buffer, stringTableStart + nameOffsets[i], nameLengths[i]);
+                condensedMods.put(code, interner.apply(new CondensedMod(name, code)));
+            }
+
+            return Optional.of(new CatalogueSnapshot(Collections.unmodifiableMap(condensedMods), sourceHash));
+        } catch (RuntimeException e) {
+            // A corrupt snapshot can fail in many ways, all of which fall back to the JSON mod list
+            LOG_UTIL.warning("Error reading snapshot: " + filePath);
+            LOG_UTIL.warning("Error Message: " + e.getMessage());
+        }
+
+        return Optional.empty();
+    }
+
+    private static int[] getInts(ByteBuffer buffer, int count) {
+        int[] values = new int[count];
+        buffer.asIntBuffer().get(values);
+        buffer.position(buffer.position() + count * Integer.BYTES);
+        return values;
+    }
+
+    private static String getString(ByteBuffer buffer, int offset, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the catalogue in the snapshot.
+     *
+     * @return an unmodifiable map of mod codes and condensed mods
+     */
+    public Map<String, CondensedMod> getMods() {
+        return condensedMods;
+    }
+
+    /**
+     * Returns the content hash of the JSON mod list that the snapshot was
+     * taken from.
+     *
+     * @return the content hash of the JSON mod list
+     */
+    public String getSourceHash() {
+        return sourceHash;
+    }
+
+}
@@ -0,0 +1,206 @@
+package modmate.download.nusmods;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import modmate.download.HttpUtil;
+import modmate.download.StorageUtil;
+import modmate.download.json.JSONStreamUtil;
+import modmate.download.json.mod.ModInfoJSONParser;
+import modmate.log.LogUtil;
+import modmate.mod.attribute.ModAttributes;
+
+/**
+ * A local catalogue store holding the attributes of every module in an
+ * academic year.
+ * The store is filled by ingesting the bulk moduleInfo.json data from the
+ * NUSMods API in a single request. The response is parsed as a stream, one
+ * module at a time, and the attributes of each module are written to a local
+ * file as they are read, so that later runs can load the store without
+ * touching the network.
+ */
+public class ModAttributesStore {
+
+    private static final LogUtil LOG_UTIL = new LogUtil(ModAttributesStore.class);
+
+    private final Map<String, ModAttributes> attributesByCode;
+
+    private ModAttributesStore(Map<String, ModAttributes> attributesByCode) {
+        this.attributesByCode = Collections.unmodifiableMap(attributesByCode);
+    }
+
+    /**
+     * Loads the store for the given academic year from its local file, or
+     * ingests it from the NUSMods API if there is no local file yet.
+     *
+     * @param startYear the start year of the academic year (e.g., 2024)
+     * @return the store, which is empty if the data is unavailable
+     */
+    public static ModAttributesStore loadOrIngest(int startYear) {
+        if (Files.isRegularFile(Paths.get(NUSModsUtil.buildModAttributesFilePath(startYear)))) {
+            ModAttributesStore store = load(startYear);
+            if (!store.isEmpty()) {
+                return store;
+            }
+        }
+
+        return ingest(startYear);
+    }
+
+    /**
+     * Ingests the bulk moduleInfo.json data for the given academic year from
+     * the NUSMods API, replacing the local file of the store.
+     *
+     * @param startYear the start year of the academic year (e.g., 2024)
+     * @return the ingested store, which is empty if the data is unavailable
+     */
+    public static ModAttributesStore ingest(int startYear) {
+        Path filePath = Paths.get(NUSModsUtil.buildModAttributesFilePath(startYear));
+
+        try {
+            URI uri = NUSModsUtil.getUriForModuleInfo(startYear);
+
+            Map<String, ModAttributes> attributesByCode = new HashMap<>();
+            int[] skippedCount = { 0 };
+            boolean[] isFirstWrite = { true };
+
+            try (InputStream inputStream = HttpUtil.retrieveStreamFromURL(uri).join();
+                    Reader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8)) {
+                StorageUtil.writeChecksummed(filePath, outputStream -> {
+                    Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+                    writer.write('[');
+
+                    JSONStreamUtil.forEachObject(reader, jsonObject -> {
+                        try {
+                            ModInfoJSONParser jsonParser = new ModInfoJSONParser(jsonObject);
+                            String code = jsonParser.getCode();
+                            ModAttributes attributes = jsonParser.getAttributes();
+                            JSONObject attributesJSONObject = jsonParser.getAttributesJSONObject();
+
+                            if (!isFirstWrite[0]) {
+                                writer.write(',');
+                            }
+                            isFirstWrite[0] = false;
+                            writer.write(attributesJSONObject.toString());
+
+                            attributesByCode.put(code, attributes);
+                        } catch (JSONException | IllegalArgumentException e) {
+                            skippedCount[0]++;
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+
+                    writer.write(']');
+                    writer.flush();
+                });
+            }
+
+            logSkipped(skippedCount[0], uri.toString());
+            LOG_UTIL.info("Ingested " + attributesByCode.size() + " mods into: " + filePath);
+            return new ModAttributesStore(attributesByCode);
+        } catch (IOException | URISyntaxException | RuntimeException e) {
+            LOG_UTIL.severe("Error ingesting data from API: " + e.getMessage());
+            LOG_UTIL.severe("Stack Trace:");
+            for (StackTraceElement element : e.getStackTrace()) {
+                LOG_UTIL.severe("\t" + element.toString());
+            }
+        }
+
+        return new ModAttributesStore(Collections.emptyMap());
+    }
+
+    /**
+     * Loads the store for the given academic year from its local file.
+     * Modules whose attributes are incomplete are skipped.
+     *
+     * @param startYear the start year of the academic year (e.g., 2024)
+     * @return the store, which is empty if the file could not be read or is damaged
+     */
+    public static ModAttributesStore load(int startYear) {
+        String filePath = NUSModsUtil.buildModAttributesFilePath(startYear);
+
+        if (StorageUtil.verifyChecksum(Paths.get(filePath)).isEmpty()) {
+            return new ModAttributesStore(Collections.emptyMap());
+        }
+
+        try (Reader reader = new InputStreamReader(StorageUtil.openPayload(Paths.get(filePath)),
+                StandardCharsets.UTF_8)) {
+            Map<String, ModAttributes> attributesByCode = new HashMap<>();
+            int[] skippedCount = { 0 };
+
+            JSONStreamUtil.forEachObject(reader, jsonObject -> {
+                try {
+                    ModInfoJSONParser jsonParser = new ModInfoJSONParser(jsonObject);
+                    attributesByCode.put(jsonParser.getCode(), jsonParser.getAttributes());
+                } catch (JSONException | IllegalArgumentException e) {
+                    skippedCount[0]++;
+                }
+            });
+
+            logSkipped(skippedCount[0], filePath);
+            return new ModAttributesStore(attributesByCode);
+        } catch (IOException e) {
+            LOG_UTIL.warning("Error reading file: " + filePath);
+            LOG_UTIL.warning("Error Message: " + e.getMessage());
+        } catch (JSONException e) {
+            LOG_UTIL.warning("Error parsing JSON from: " + filePath);
+            LOG_UTIL.warning("Error Message: " + e.getMessage());
+        }
+
+        return new ModAttributesStore(Collections.emptyMap());
+    }
+
+    private static void logSkipped(int skippedCount, String source) {
+        if (skippedCount > 0) {
+            LOG_UTIL.warning("Skipped " + skippedCount + " mods with incomplete attributes in: " + source);
+        }
+    }
+
+    /**
+     * Returns the attributes of a module in the store.
+     *
+     * @param code the code of the module
+     * @return an {@link Optional} containing the attributes, or empty if the
+     *         module is not in the store
+     */
+    public Optional<ModAttributes> get(String code) {
+        return Optional.ofNullable(attributesByCode.get(code.toUpperCase()));
+    }
+
+    /**
+     * Returns the attributes of every module in the store.
+     *
+     * @return an unmodifiable map of module codes and attributes
+     */
+    public Map<String, ModAttributes> getAll() {
+        return attributesByCode;
+    }
+
+    public int size() {
+        return attributesByCode.size();
+    }
+
+    public boolean isEmpty() {
+        return attributesByCode.isEmpty();
+    }
+
+}
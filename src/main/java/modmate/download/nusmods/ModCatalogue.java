@@ -0,0 +1,302 @@
+package modmate.download.nusmods;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.UnaryOperator;
+
+import modmate.download.RequestPriority;
+import modmate.download.StorageUtil;
+import modmate.log.LogUtil;
+import modmate.mod.CondensedMod;
+import modmate.mod.index.BloomFilter;
+import modmate.mod.index.FuzzyIndex;
+import modmate.mod.index.TrigramIndex;
+
+/**
+ * The catalogue of condensed mods for an academic year, loaded in the
+ * background so that the application does not block on the network at
+ * startup.
+ * Loading first publishes the last on-disk copy of the mod list, if there is
+ * one, and then refreshes it from the NUSMods API. Callers only wait for the
+ * catalogue when no copy has been published yet.
+ * A refresh compares the content hash of the download to that of the current
+ * copy, and only parses the download if the hashes differ. Only a download
+ * that adds, removes or renames a mod is published, along with new indexes
+ * and a new snapshot.
+ * The on-disk copy is loaded from its {@link CatalogueSnapshot} when there is
+ * one, and the snapshot is rewritten whenever the catalogue changes.
+ * Each published copy comes with a {@link BloomFilter} over the codes and
+ * names of its mods, so that unknown identifiers can be rejected cheaply, a
+ * {@link TrigramIndex} over them, so that searches need not scan every mod,
+ * and a {@link FuzzyIndex} over them, so that searches can tolerate typos.
+ * These are built after the copy is published, so that callers waiting for
+ * the mods are not also held up by the indexing; only searches wait for the
+ * indexes of the first copy.
+ */
+public class ModCatalogue {
+
+    private static final LogUtil LOG_UTIL = new LogUtil(ModCatalogue.class);
+
+    private static final double IDENTIFIER_FALSE_POSITIVE_RATE = 0.01;
+
+    private final int startYear;
+    private final UnaryOperator<CondensedMod> interner;
+    private final AtomicBoolean isLoadStarted = new AtomicBoolean(false);
+    private final CompletableFuture<Map<String, CondensedMod>> firstLoad = new CompletableFuture<>();
+    private final CompletableFuture<Void> firstIndexing = new CompletableFuture<>();
+
+    private volatile Map<String, CondensedMod> condensedMods;
+    private volatile String contentHash;
+    private volatile BloomFilter identifierFilter;
+    private volatile TrigramIndex identifierIndex;
+    private volatile FuzzyIndex fuzzyIndex;
+
+    /**
+     * Constructs an empty ModCatalogue for the given academic year.
+     *
+     * @param startYear the start year of the academic year (e.g., 2024)
+     */
+    public ModCatalogue(int startYear) {
+        this(startYear, UnaryOperator.identity());
+    }
+
+    /**
+     * Constructs an empty ModCatalogue for the given academic year, which
+     * passes every condensed mod it loads through the given interner so that
+     * identical mods can be shared with other catalogues.
+     *
+     * @param startYear the start year of the academic year (e.g., 2024)
+     * @param interner  the function returning the shared instance of a mod
+     */
+    public ModCatalogue(int startYear, UnaryOperator<CondensedMod> interner) {
+        this.startYear = startYear;
+        this.interner = interner;
+    }
+
+    /**
+     * Starts loading the catalogue on a background thread, unless loading has
+     * already been started.
+     */
+    public void loadInBackground() {
+        if (!isLoadStarted.compareAndSet(false, true)) {
+            return;
+        }
+
+        Thread loaderThread = new Thread(this::load, "modmate-catalogue-" + startYear);
+        loaderThread.setDaemon(true);
+        loaderThread.start();
+    }
+
+    private void load() {
+        try {
+            Path filePath = Paths.get(NUSModsUtil.buildModListFilePath(startYear));
+            Path snapshotPath = Paths.get(NUSModsUtil.buildModSnapshotFilePath(startYear));
+            Optional<CatalogueSnapshot> snapshotOpt = CatalogueSnapshot.read(snapshotPath, interner);
+
+            if (snapshotOpt.isPresent()) {
+                publish(snapshotOpt.get().getMods(), snapshotOpt.get().getSourceHash());
+                LOG_UTIL.info("Loaded snapshot of mod list for " + startYear);
+            } else if (Files.isRegularFile(filePath)) {
+                Optional<String> fileHashOpt = StorageUtil.readChecksum(filePath);
+                if (fileHashOpt.isPresent()) {
+                    publish(NUSModsAPI.loadCondensedModData(filePath, interner), fileHashOpt.get());
+                    writeSnapshot();
+                    LOG_UTIL.info("Loaded on-disk copy of mod list for " + startYear);
+                }
+            }
+
+            refresh();
+        } catch (RuntimeException e) {
+            LOG_UTIL.severe("Error refreshing mod list for " + startYear + ": " + e.getMessage());
+        } finally {
+            // Never leave callers waiting, even if no copy could be loaded at all
+            firstLoad.complete(Collections.emptyMap());
+            firstIndexing.complete(null);
+        }
+    }
+
+    private void writeSnapshot() {
+        Map<String, CondensedMod> currentMods = condensedMods;
+        if (currentMods == null) {
+            return;
+        }
+
+        Path snapshotPath = Paths.get(NUSModsUtil.buildModSnapshotFilePath(startYear));
+        try {
+            CatalogueSnapshot.write(snapshotPath, currentMods, contentHash);
+        } catch (IOException e) {
+            LOG_UTIL.warning("Error writing snapshot: " + snapshotPath);
+            LOG_UTIL.warning("Error Message: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Downloads the latest mod list and updates the catalogue with it.
+     * If the content of the download is identical to the current copy, the
+     * download is discarded and nothing else is done. If the content differs
+     * but no mod was added, removed or renamed, as when only the semesters
+     * of some mods changed, the download replaces the on-disk copy and the
+     * snapshot is rewritten with its content hash, so that the next load does
+     * not parse the same download again, but the published copy and its
+     * indexes are kept as they are.
+     * Otherwise the changes are applied to a copy of the catalogue, which is
+     * published with freshly built indexes.
+     *
+     * @return the changes applied to the catalogue, which are empty if the mod
+     *         list is unchanged or could not be downloaded
+     */
+    public synchronized CatalogueDelta refresh() {
+        Path filePath = Paths.get(NUSModsUtil.buildModListFilePath(startYear));
+        Path downloadPath = filePath.resolveSibling(filePath.getFileName() + ".download");
+
+        try {
+            if (!NUSModsAPI.downloadModListJSON(startYear, downloadPath, RequestPriority.BACKGROUND)) {
+                return CatalogueDelta.empty();
+            }
+
+            // The hash of a download is recorded in its checksum header as it is written
+            String downloadHash = StorageUtil.readChecksum(downloadPath)
+                    .orElseThrow(() -> new IOException("Download has no checksum: " + downloadPath));
+            if (downloadHash.equals(contentHash)) {
+                Files.delete(downloadPath);
+                LOG_UTIL.info("Mod list for " + startYear + " is unchanged");
+                return CatalogueDelta.empty();
+            }
+
+            Map<String, CondensedMod> downloadedMods = NUSModsAPI.loadCondensedModData(downloadPath, interner);
+            if (downloadedMods.isEmpty()) {
+                Files.delete(downloadPath);
+                return CatalogueDelta.empty();
+            }
+
+            StorageUtil.moveAtomically(downloadPath, filePath);
+
+            Map<String, CondensedMod> currentMods = condensedMods == null ? Collections.emptyMap() : condensedMods;
+            CatalogueDelta delta = CatalogueDelta.between(currentMods, downloadedMods);
+            if (delta.isEmpty()) {
+                contentHash = downloadHash;
+                writeSnapshot();
+                LOG_UTIL.info("Mod list for " + startYear + " changed, but none of its mods did");
+                return delta;
+            }
+
+            publish(delta.applyTo(currentMods), downloadHash);
+            writeSnapshot();
+            LOG_UTIL.info("Refreshed mod list for " + startYear + ": " + delta);
+            return delta;
+        } catch (IOException e) {
+            LOG_UTIL.severe("Error refreshing mod list for " + startYear + ": " + e.getMessage());
+            return CatalogueDelta.empty();
+        }
+    }
+
+    private synchronized void publish(Map<String, CondensedMod> loadedMods, String loadedHash) {
+        if (loadedMods.isEmpty()) {
+            return;
+        }
+
+        // An out-of-date filter could reject the new mods, whereas no filter lets every identifier through
+        identifierFilter = null;
+        condensedMods = Collections.unmodifiableMap(loadedMods);
+        contentHash = loadedHash;
+        firstLoad.complete(condensedMods);
+
+        BloomFilter loadedIdentifierFilter = new BloomFilter(loadedMods.size() * 2, IDENTIFIER_FALSE_POSITIVE_RATE);
+        for (CondensedMod condensedMod : loadedMods.values()) {
+            loadedIdentifierFilter.add(normaliseIdentifier(condensedMod.getCode()));
+            loadedIdentifierFilter.add(normaliseIdentifier(condensedMod.getName()));
+        }
+
+        identifierFilter = loadedIdentifierFilter;
+        identifierIndex = new TrigramIndex(loadedMods.values());
+        fuzzyIndex = new FuzzyIndex(loadedMods.values());
+        firstIndexing.complete(null);
+    }
+
+    /**
+     * Returns the condensed mods in the catalogue, keyed by mod code.
+     * Loading is started if it has not been already, and this method waits
+     * only if no copy of the catalogue is available yet.
+     *
+     * @return an unmodifiable map of mod codes and condensed mods, which is
+     *         empty if the catalogue could not be loaded
+     */
+    public Map<String, CondensedMod> getMods() {
+        Map<String, CondensedMod> currentMods = condensedMods;
+        if (currentMods != null) {
+            return currentMods;
+        }
+
+        loadInBackground();
+        return firstLoad.join();
+    }
+
+    /**
+     * Returns whether a mod with the given code or name might be in the
+     * catalogue, without waiting for it to load. Identifiers are compared
+     * without regard to case.
+     *
+     * @param identifier the code or name of the mod
+     * @return false if no mod in the catalogue has the code or name, true if
+     *         one might, or if no copy of the catalogue is available yet
+     */
+    public boolean mightContain(String identifier) {
+        BloomFilter currentFilter = identifierFilter;
+        return currentFilter == null || currentFilter.mightContain(normaliseIdentifier(identifier));
+    }
+
+    /**
+     * Returns the index of the codes and names of the mods in the catalogue.
+     * Loading is started if it has not been already, and this method waits
+     * only if the first copy of the catalogue has not been indexed yet.
+     *
+     * @return the index, which is empty if the catalogue could not be loaded
+     */
+    public TrigramIndex getIdentifierIndex() {
+        getMods();
+        firstIndexing.join();
+        TrigramIndex currentIndex = identifierIndex;
+        return currentIndex == null ? TrigramIndex.empty() : currentIndex;
+    }
+
+    /**
+     * Returns the index for searching the codes and names of the mods in the
+     * catalogue despite typos. Loading is started if it has not been already,
+     * and this method waits only if the first copy of the catalogue has not
+     * been indexed yet.
+     *
+     * @return the index, which is empty if the catalogue could not be loaded
+     */
+    public FuzzyIndex getFuzzyIndex() {
+        getMods();
+        firstIndexing.join();
+        FuzzyIndex currentIndex = fuzzyIndex;
+        return currentIndex == null ? FuzzyIndex.empty() : currentIndex;
+    }
+
+    private static String normaliseIdentifier(String identifier) {
+        return identifier.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Returns whether a copy of the catalogue is available without waiting.
+     *
+     * @return true if a copy has been loaded, false otherwise
+     */
+    public boolean isAvailable() {
+        return condensedMods != null;
+    }
+
+    public int getStartYear() {
+        return startYear;
+    }
+
+}
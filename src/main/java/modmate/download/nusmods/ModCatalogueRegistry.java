@@ -0,0 +1,57 @@
+package modmate.download.nusmods;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import modmate.download.WeakInterner;
+import modmate.mod.CondensedMod;
+
+/**
+ * A registry of the catalogues of condensed mods, keyed by academic year.
+ * The catalogue of each year is created and loaded lazily the first time it
+ * is needed, and is then kept in memory so that switching back to that year
+ * is instant.
+ * Most mods are offered under the same code and title year after year, so
+ * the catalogues share a single instance of each identical condensed mod
+ * instead of holding a copy per year. Mods are only held in the pool of
+ * shared instances while some catalogue still holds them, so mods dropped by
+ * a refresh do not stay behind.
+ */
+public class ModCatalogueRegistry {
+
+    private final Map<Integer, ModCatalogue> cataloguesByYear = new ConcurrentHashMap<>();
+    private final WeakInterner<CondensedMod> internedMods = new WeakInterner<>();
+
+    /**
+     * Returns the catalogue for the given academic year, creating it if it
+     * does not exist yet. The catalogue is not loaded until it is first used.
+     *
+     * @param startYear the start year of the academic year (e.g., 2024)
+     * @return the catalogue for the academic year
+     */
+    public ModCatalogue get(int startYear) {
+        return cataloguesByYear.computeIfAbsent(startYear, year -> new ModCatalogue(year, this::intern));
+    }
+
+    /**
+     * Returns the shared instance of a condensed mod that is equal to the
+     * given one, registering the given one as the shared instance if there is
+     * none yet.
+     *
+     * @param condensedMod the condensed mod to intern
+     * @return the shared instance of the condensed mod
+     */
+    public CondensedMod intern(CondensedMod condensedMod) {
+        return internedMods.intern(condensedMod);
+    }
+
+    /**
+     * Returns the number of academic years that have a catalogue.
+     *
+     * @return the number of catalogues in the registry
+     */
+    public int size() {
+        return cataloguesByYear.size();
+    }
+
+}
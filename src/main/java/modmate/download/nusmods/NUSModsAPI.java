@@ -1,28 +1,50 @@
 package modmate.download.nusmods;
 
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.nio.file.Files;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
-
-import org.json.JSONArray;
-import org.json.JSONObject;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 
+import modmate.download.BlockingExecutor;
+import modmate.download.DownloadConfig;
+import modmate.download.HttpStatusException;
 import modmate.download.HttpUtil;
+import modmate.download.RequestPriority;
+import modmate.download.SingleFlight;
+import modmate.download.StorageUtil;
+import modmate.download.cache.CachedResponse;
+import modmate.download.cache.ModCache;
+import modmate.download.cache.ModDetailStore;
+import modmate.download.cache.NegativeCache;
+import modmate.download.json.JSONStreamUtil;
 import modmate.download.json.mod.CondensedModJSONParser;
-import modmate.download.json.mod.ModJSONParser;
+import modmate.download.json.mod.ModJSONDecoder;
 import modmate.exception.ApiException;
 import modmate.log.LogUtil;
 import modmate.mod.CondensedMod;
 import modmate.mod.Mod;
+import modmate.mod.index.AttributeIndex;
+import modmate.mod.index.FuzzyIndex;
+import modmate.mod.index.TrigramIndex;
 
 /**
  * A utility class that provides functionality for retrieving and managing
@@ -33,10 +55,113 @@ import modmate.mod.Mod;
 public class NUSModsAPI {
     // its public because or else gradle will scream
     public static final LogUtil LOG_UTIL = new LogUtil(NUSModsAPI.class);
-    public static final Map<String, CondensedMod> CONDENSED_MODS = NUSModsAPI.fetchAllModCodes();
+
+    private static final int HTTP_NOT_FOUND = 404;
+
+    private static final ModCatalogueRegistry CATALOGUES = new ModCatalogueRegistry();
+
+    private static volatile int currentYear = NUSModsUtil.getAdjustedYear();
+
+    private static final SingleFlight<String, Mod> IN_FLIGHT_MODS = new SingleFlight<>();
+    private static final SingleFlight<String, Mod> IN_FLIGHT_REVALIDATIONS = new SingleFlight<>();
+    private static final NegativeCache MISSING_MODS = new NegativeCache();
+
+    private static final Map<Integer, CompletableFuture<ModAttributesStore>> ATTRIBUTE_STORES =
+            new ConcurrentHashMap<>();
+    private static final Map<Integer, CompletableFuture<AttributeIndex>> ATTRIBUTE_INDEXES =
+            new ConcurrentHashMap<>();
+    private static final Map<Integer, ModDetailStore> MOD_DETAIL_STORES = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the start year of the academic year that mods are looked up in
+     * by default.
+     *
+     * @return the start year of the current academic year (e.g., 2024)
+     */
+    public static int getCurrentYear() {
+        return currentYear;
+    }
+
+    /**
+     * Switches the academic year that mods are looked up in by default, and
+     * starts loading its catalogue in the background if it has not been
+     * loaded already.
+     *
+     * @param startYear the start year of the academic year (e.g., 2024)
+     */
+    public static void setCurrentYear(int startYear) {
+        currentYear = startYear;
+        CATALOGUES.get(startYear).loadInBackground();
+    }
+
+    /**
+     * Starts loading the catalogue of condensed mods for the current academic
+     * year in the background, so that it is ready by the time a command needs it.
+     */
+    public static void loadCatalogueInBackground() {
+        CATALOGUES.get(currentYear).loadInBackground();
+    }
+
+    /**
+     * Returns the condensed mods for the current academic year, keyed by mod
+     * code. This waits only if no copy of the catalogue has been loaded yet.
+     *
+     * @return a map of mod codes and condensed mods
+     */
+    public static Map<String, CondensedMod> getCondensedMods() {
+        return getCondensedMods(currentYear);
+    }
+
+    /**
+     * Returns the condensed mods for a given academic year, keyed by mod code.
+     * The catalogue of each year is loaded once and then kept in memory, and
+     * this waits only if no copy of it has been loaded yet.
+     *
+     * @param startYear the start year of the academic year (e.g., 2024)
+     * @return a map of mod codes and condensed mods
+     */
+    public static Map<String, CondensedMod> getCondensedMods(int startYear) {
+        return CATALOGUES.get(startYear).getMods();
+    }
+
+    /**
+     * Returns the index of the codes and names of the mods for the current
+     * academic year. This waits only if no copy of the catalogue has been
+     * loaded yet.
+     *
+     * @return the index of mod codes and names
+     */
+    public static TrigramIndex getIdentifierIndex() {
+        return getIdentifierIndex(currentYear);
+    }
+
+    /**
+     * Returns the index of the codes and names of the mods for a given
+     * academic year. The index is rebuilt each time the catalogue of the year
+     * is loaded or refreshed.
+     *
+     * @param startYear the start year of the academic year (e.g., 2024)
+     * @return the index of mod codes and names
+     */
+    public static TrigramIndex getIdentifierIndex(int startYear) {
+        return CATALOGUES.get(startYear).getIdentifierIndex();
+    }
+
+    /**
+     * Returns the index for searching the codes and names of the mods for the
+     * current academic year despite typos. This waits only if no copy of the
+     * catalogue has been loaded yet.
+     *
+     * @return the index of mod codes and title words
+     */
+    public static FuzzyIndex getFuzzyIndex() {
+        return CATALOGUES.get(currentYear).getFuzzyIndex();
+    }
 
     /**
      * Helper method that searches for an exact matching mod by its code or name.
+     * Identifiers that match no code or name in the catalogue are rejected
+     * without searching it.
      *
      * @param identifier The code or name of the mod to search for.
      * @return The mod that matches the given code or name, or null if no match is
@@ -45,19 +170,26 @@ public class NUSModsAPI {
     public static Mod modFromIdentifier(String identifier) throws ApiException {
         // First, check for a match with the module code (key)
         String key = identifier.toUpperCase();
-        Optional<CondensedMod> condensedModOpt = Optional.ofNullable(CONDENSED_MODS.get(key))
-            .or(() -> CONDENSED_MODS.values()
+        Map<String, CondensedMod> condensedMods = getCondensedMods();
+        if (!CATALOGUES.get(currentYear).mightContain(identifier)) {
+            throw modNotFound(identifier);
+        }
+
+        Optional<CondensedMod> condensedModOpt = Optional.ofNullable(condensedMods.get(key))
+            .or(() -> condensedMods.values()
                 .stream()
                 .filter(condensedMod -> condensedMod.getName().equalsIgnoreCase(identifier))
                 .findFirst());
 
         // If a match is found, retrieve mod details using the module code
         return condensedModOpt.flatMap(module -> NUSModsAPI.fetchModuleByCode(module.getCode()))
-            .orElseThrow(() -> {
-                String message = "Mod '" + identifier + "' not found";
-                LOG_UTIL.severe(message);
-                return new ApiException(message);
-            });
+            .orElseThrow(() -> modNotFound(identifier));
+    }
+
+    private static ApiException modNotFound(String identifier) {
+        String message = "Mod '" + identifier + "' not found";
+        LOG_UTIL.severe(message);
+        return new ApiException(message);
     }
 
     /**
@@ -70,13 +202,21 @@ public class NUSModsAPI {
      *         successfully fetched, or empty if not
      */
     public static Optional<Mod> fetchModuleByCode(String moduleCode) {
-        return fetchModuleByCode(moduleCode, NUSModsUtil.getAdjustedYear());
+        return fetchModuleByCode(moduleCode, currentYear);
     }
 
     /**
      * Retrieves module information from the NUSMods API using a module code.
      * This fetches data for the module, such as the title, description, faculty,
      * semester availability, and workload information.
+     * Responses are cached on disk. A cached response is used without
+     * contacting the API while it is fresh, and a stale one is still used
+     * within a grace period while it is revalidated in the background, as set
+     * in {@link DownloadConfig}. Past that, the cached response is revalidated
+     * with a conditional request before it is used, and is used as it is if
+     * the API cannot be reached. Parsed mods are kept in a
+     * {@link ModDetailStore}, so that an unchanged response is decoded from the
+     * store instead of being parsed again.
      *
      * @param moduleCode the module code (e.g., "CS1010")
      * @param startYear  the start year of the academic year (e.g., 2024)
@@ -85,22 +225,235 @@ public class NUSModsAPI {
      */
     public static Optional<Mod> fetchModuleByCode(String moduleCode, int startYear) {
         try {
-            URI uri = NUSModsUtil.getUriForModule(moduleCode, startYear);
-            String jsonResponse = HttpUtil.retrieveDataFromURL(uri).join();
+            return Optional.of(fetchModuleAsync(moduleCode, startYear).join());
+        } catch (CompletionException e) {
+            LOG_UTIL.severe("Error fetching module " + moduleCode + ": " + e.getMessage());
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Asynchronously retrieves module information from the NUSMods API using a
+     * module code.
+     * Concurrent calls for the same module and academic year are coalesced, so
+     * that they share one request and one parsed {@link Mod}. The response is
+     * parsed on the {@link BlockingExecutor}.
+     * Codes that are not in the loaded catalogue, or that the API recently
+     * could not find, fail straight away without a request.
+     *
+     * @param moduleCode the module code (e.g., "CS1010")
+     * @param startYear  the start year of the academic year (e.g., 2024)
+     * @return a CompletableFuture containing the {@link Mod} object, which
+     *         completes exceptionally if the data could not be fetched
+     */
+    public static CompletableFuture<Mod> fetchModuleAsync(String moduleCode, int startYear) {
+        return fetchModuleAsync(moduleCode, startYear, RequestPriority.INTERACTIVE);
+    }
+
+    /**
+     * Asynchronously retrieves module information from the NUSMods API using a
+     * module code, with the given request priority.
+     *
+     * @param moduleCode the module code (e.g., "CS1010")
+     * @param startYear  the start year of the academic year (e.g., 2024)
+     * @param priority   the priority of the request
+     * @return a CompletableFuture containing the {@link Mod} object, which
+     *         completes exceptionally if the data could not be fetched
+     * @see #fetchModuleAsync(String, int)
+     */
+    public static CompletableFuture<Mod> fetchModuleAsync(String moduleCode, int startYear,
+            RequestPriority priority) {
+        String key = startYear + "/" + moduleCode.toUpperCase();
+        if (MISSING_MODS.contains(key) || !CATALOGUES.get(startYear).mightContain(moduleCode)) {
+            return CompletableFuture.failedFuture(new NoSuchElementException("Mod " + moduleCode + " does not exist"));
+        }
+
+        return IN_FLIGHT_MODS.execute(key, () -> retrieveModule(moduleCode, startYear, priority)
+                .whenComplete((mod, ex) -> {
+                    if (ex != null && HttpStatusException.isCausedBy(ex, HTTP_NOT_FOUND)) {
+                        MISSING_MODS.add(key);
+                    }
+                }));
+    }
+
+    /**
+     * Retrieves module information for several modules at once, with all the
+     * requests in flight together. The number of requests and parses running
+     * at once is capped by the download layer, and the requests are sent as
+     * background requests, so that interactive lookups go ahead of them.
+     *
+     * @param moduleCodes the module codes (e.g., "CS1010")
+     * @param startYear   the start year of the academic year (e.g., 2024)
+     * @return a CompletableFuture containing the successfully fetched mods,
+     *         keyed by module code
+     */
+    public static CompletableFuture<Map<String, Mod>> fetchModulesAsync(Collection<String> moduleCodes,
+            int startYear) {
+        Map<String, Mod> fetchedMods = new ConcurrentHashMap<>();
+
+        CompletableFuture<?>[] futures = moduleCodes.stream()
+                .map(moduleCode -> fetchModuleAsync(moduleCode, startYear, RequestPriority.BACKGROUND)
+                        .thenAccept(mod -> fetchedMods.put(mod.getCode(), mod))
+                        .exceptionally(ex -> {
+                            LOG_UTIL.warning("Error fetching module " + moduleCode + ": " + ex.getMessage());
+                            return null;
+                        }))
+                .toArray(CompletableFuture[]::new);
+
+        return CompletableFuture.allOf(futures).thenApply(ignored -> fetchedMods);
+    }
+
+    /**
+     * Starts fetching the given modules for the current academic year in the
+     * background, so that their details are already cached by the time a
+     * command needs them.
+     *
+     * @param moduleCodes the module codes (e.g., "CS1010")
+     */
+    public static void prefetchModulesInBackground(Collection<String> moduleCodes) {
+        if (moduleCodes.isEmpty()) {
+            return;
+        }
+
+        fetchModulesAsync(moduleCodes, currentYear)
+                .thenAccept(fetchedMods -> LOG_UTIL.info("Prefetched " + fetchedMods.size() + " of "
+                        + moduleCodes.size() + " modules"));
+    }
+
+    private static CompletableFuture<Mod> retrieveModule(String moduleCode, int startYear,
+            RequestPriority priority) {
+        Optional<CachedResponse> cachedOpt = ModCache.load(moduleCode, startYear);
+        if (cachedOpt.isEmpty()) {
+            return revalidateModule(moduleCode, startYear, cachedOpt, priority);
+        }
 
-            JSONObject jsonObject = new JSONObject(jsonResponse);
-            ModJSONParser jsonParser = new ModJSONParser(jsonObject);
+        CachedResponse cached = cachedOpt.get();
+        Duration age = Duration.between(cached.getFetchedAt(), Instant.now());
+        Duration ttl = DownloadConfig.getModCacheTtl();
+        if (age.compareTo(ttl) < 0) {
+            return CompletableFuture.supplyAsync(() -> toMod(moduleCode, startYear, cached), BlockingExecutor.get());
+        }
+
+        if (age.compareTo(ttl.plus(DownloadConfig.getModCacheGracePeriod())) < 0) {
+            // Serve the stale copy now, and have it revalidated for next time
+            revalidateInBackground(moduleCode, startYear, cached);
+            return CompletableFuture.supplyAsync(() -> toMod(moduleCode, startYear, cached), BlockingExecutor.get());
+        }
 
-            return Optional.of(jsonParser.getModule());
+        return revalidateModule(moduleCode, startYear, cachedOpt, priority);
+    }
+
+    private static void revalidateInBackground(String moduleCode, int startYear, CachedResponse cached) {
+        String key = startYear + "/" + moduleCode.toUpperCase();
+        IN_FLIGHT_REVALIDATIONS.execute(key, () ->
+                revalidateModule(moduleCode, startYear, Optional.of(cached), RequestPriority.BACKGROUND))
+                .exceptionally(ex -> {
+                    LOG_UTIL.warning("Error revalidating module " + moduleCode + ": " + ex.getMessage());
+                    return null;
+                });
+    }
+
+    /**
+     * Fetches a module from the NUSMods API, revalidating the cached response
+     * if there is one, and falling back to it if the API cannot be reached.
+     */
+    private static CompletableFuture<Mod> revalidateModule(String moduleCode, int startYear,
+            Optional<CachedResponse> cachedOpt, RequestPriority priority) {
+        URI uri;
+        try {
+            uri = NUSModsUtil.getUriForModule(moduleCode, startYear);
         } catch (URISyntaxException e) {
             LOG_UTIL.severe("Error fetching module data: " + e.getMessage());
-            LOG_UTIL.severe("Stack Trace:");
-            for (StackTraceElement element : e.getStackTrace()) {
-                LOG_UTIL.severe("\t" + element.toString());
-            }
+            return CompletableFuture.failedFuture(e);
         }
 
-        return Optional.empty();
+        return HttpUtil.retrieveDataFromURL(uri, cachedOpt, priority)
+                .handle((response, ex) -> {
+                    if (ex == null) {
+                        return Optional.of(response);
+                    }
+                    if (cachedOpt.isEmpty()) {
+                        throw new CompletionException(ex);
+                    }
+
+                    LOG_UTIL.warning("Using cached copy of " + uri + " as the API is unavailable: "
+                            + ex.getMessage());
+                    return Optional.<CachedResponse>empty();
+                })
+                .thenApplyAsync(responseOpt -> {
+                    if (responseOpt.isEmpty()) {
+                        return toMod(moduleCode, startYear, cachedOpt.get());
+                    }
+
+                    CachedResponse response = responseOpt.get();
+                    boolean isRevalidated = cachedOpt.map(cached -> cached == response).orElse(false);
+                    if (isRevalidated) {
+                        // A response that was only revalidated is as good as a freshly fetched one,
+                        // and its body is already cached, so only its fetch time is updated
+                        CachedResponse revalidated = response.revalidatedAt(Instant.now());
+                        ModCache.touch(moduleCode, startYear, revalidated);
+                        return toMod(moduleCode, startYear, revalidated);
+                    }
+
+                    ModCache.save(moduleCode, startYear, response);
+                    return toMod(moduleCode, startYear, response);
+                }, BlockingExecutor.get());
+    }
+
+    /**
+     * Decodes the mod in a response from the {@link ModDetailStore}, or parses
+     * it and adds it to the store if the store has no copy of that response.
+     */
+    private static Mod toMod(String moduleCode, int startYear, CachedResponse response) {
+        Optional<ModDetailStore> storeOpt = getModDetailStore(startYear);
+        Optional<Mod> storedModOpt = storeOpt.flatMap(store ->
+                store.get(moduleCode, response.getContentHash()));
+        if (storedModOpt.isPresent()) {
+            return storedModOpt.get();
+        }
+
+        Mod mod = ModJSONDecoder.decode(new StringReader(response.getBody()));
+
+        // Storing the mod decodes all of its timetables, which the caller may not need, so it is done separately
+        storeOpt.ifPresent(store -> CompletableFuture
+                .runAsync(() -> store.put(mod, response.getContentHash()), BlockingExecutor.get())
+                .exceptionally(ex -> {
+                    LOG_UTIL.warning("Error storing details of module " + moduleCode + ": " + ex.getMessage());
+                    return null;
+                }));
+        return mod;
+    }
+
+    /**
+     * Returns the store of encoded mod details for a given academic year,
+     * opening it the first time it is needed.
+     *
+     * @param startYear the start year of the academic year (e.g., 2024)
+     * @return an {@link Optional} containing the store, or empty if it could
+     *         not be opened
+     */
+    static Optional<ModDetailStore> getModDetailStore(int startYear) {
+        ModDetailStore store = MOD_DETAIL_STORES.get(startYear);
+        if (store != null) {
+            return Optional.of(store);
+        }
+
+        synchronized (MOD_DETAIL_STORES) {
+            store = MOD_DETAIL_STORES.get(startYear);
+            if (store == null) {
+                Path storePath = NUSModsUtil.buildModDetailStorePath(startYear);
+                try {
+                    store = ModDetailStore.open(storePath);
+                    MOD_DETAIL_STORES.put(startYear, store);
+                } catch (IOException e) {
+                    LOG_UTIL.warning("Error opening mod detail store: " + storePath);
+                    LOG_UTIL.warning("Error Message: " + e.getMessage());
+                }
+            }
+
+            return Optional.ofNullable(store);
+        }
     }
 
     /**
@@ -114,77 +467,99 @@ public class NUSModsAPI {
      */
     public static Map<String, CondensedMod> fetchAllModCodes(int startYear) {
         downloadModListJSON(startYear);
-        return loadCondensedModData(startYear);
+        return loadCondensedModData(startYear, UnaryOperator.identity());
     }
 
     /**
      * Retrieves a list of all module codes for the current academic year from the
      * NUSMods API.
-     * The current year is determined by the adjusted year logic.
+     * The current year is determined by the adjusted year logic, unless it has
+     * been switched with {@link #setCurrentYear(int)}.
      * The data is saved to a local file, and then all the module codes are
      * extracted from that file.
      *
      * @return a map of module codes and titles
      */
     public static Map<String, CondensedMod> fetchAllModCodes() {
-        return fetchAllModCodes(NUSModsUtil.getAdjustedYear());
+        return fetchAllModCodes(currentYear);
+    }
+
+    /**
+     * Fetches the module list JSON data from the NUSMods API and streams it
+     * straight into a local file, replacing any previous copy atomically.
+     *
+     * @param startYear the start year of the academic year
+     */
+    static void downloadModListJSON(int startYear) {
+        downloadModListJSON(startYear, Paths.get(NUSModsUtil.buildModListFilePath(startYear)),
+                RequestPriority.INTERACTIVE);
     }
 
     /**
-     * Fetches the module list JSON data from the NUSMods API and saves it to a
-     * local file.
+     * Fetches the module list JSON data from the NUSMods API and streams it
+     * straight into the given file, replacing any previous copy atomically.
      *
      * @param startYear the start year of the academic year
+     * @param filePath  the file to save the module list to
+     * @param priority  the priority of the request
+     * @return true if the module list was saved, false otherwise
      */
-    private static void downloadModListJSON(int startYear) {
+    static boolean downloadModListJSON(int startYear, Path filePath, RequestPriority priority) {
         try {
             URI uri = NUSModsUtil.getUriForModuleList(startYear);
-            String jsonResponse = HttpUtil.retrieveDataFromURL(uri).join();
 
-            // Write the content of the API response to a file
-            String filePath = NUSModsUtil.buildModListFilePath(startYear);
-
-            Path dataDirectory = Paths.get(filePath);
-            Files.createDirectories(dataDirectory.getParent());
-
-            FileOutputStream fileOutputStream = new FileOutputStream(filePath);
-            fileOutputStream.write(jsonResponse.getBytes());
-            fileOutputStream.close();
+            HttpUtil.downloadToFile(uri, filePath, priority).join();
 
             LOG_UTIL.info("Data saved successfully to: " + filePath);
-        } catch (IOException | URISyntaxException e) {
+            return true;
+        } catch (URISyntaxException | RuntimeException e) {
             LOG_UTIL.severe("Error retrieving data from API: " + e.getMessage());
             LOG_UTIL.severe("Stack Trace:");
             for (StackTraceElement element : e.getStackTrace()) {
                 LOG_UTIL.severe("\t" + element.toString());
             }
         }
+
+        return false;
     }
 
     /**
      * Loads the module codes from the previously saved file.
+     * The file is read as a stream and parsed one module at a time, so
+     * its content is never held in memory as a whole.
      *
      * @param startYear the start year of the academic year
+     * @param interner  the function returning the shared instance of each mod
      * @return a map of module codes and titles extracted from the file
      */
-    private static Map<String, CondensedMod> loadCondensedModData(int startYear) {
-        String filePath = NUSModsUtil.buildModListFilePath(startYear);
+    static Map<String, CondensedMod> loadCondensedModData(int startYear, UnaryOperator<CondensedMod> interner) {
+        return loadCondensedModData(Paths.get(NUSModsUtil.buildModListFilePath(startYear)), interner);
+    }
 
-        try {
-            // Read file content as a string
-            String content = new String(Files.readAllBytes(Paths.get(filePath)));
-
-            // Parse JSON
-            JSONArray moduleJSONArray = new JSONArray(content);
-
-            // Extract mod codes and titles
-            return IntStream.range(0, moduleJSONArray.length())
-                .mapToObj(i -> moduleJSONArray.getJSONObject(i))
-                .map(jsonObject -> {
-                    CondensedModJSONParser jsonParser = new CondensedModJSONParser(jsonObject);
-                    return jsonParser.getModule();
-                })
-                .collect(Collectors.toMap(mod -> mod.getCode(), mod -> mod));
+    /**
+     * Loads the module codes from the given module list file, after verifying
+     * it against its checksum header.
+     *
+     * @param filePath the module list file to load
+     * @param interner the function returning the shared instance of each mod
+     * @return a map of module codes and titles extracted from the file, which
+     *         is empty if the file is missing or damaged
+     */
+    static Map<String, CondensedMod> loadCondensedModData(Path filePath, UnaryOperator<CondensedMod> interner) {
+        if (StorageUtil.verifyChecksum(filePath).isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        try (Reader reader = new InputStreamReader(StorageUtil.openPayload(filePath), StandardCharsets.UTF_8)) {
+            Map<String, CondensedMod> condensedMods = new HashMap<>();
+
+            JSONStreamUtil.forEachObject(reader, jsonObject -> {
+                CondensedModJSONParser jsonParser = new CondensedModJSONParser(jsonObject);
+                CondensedMod condensedMod = interner.apply(jsonParser.getModule());
+                condensedMods.put(condensedMod.getCode(), condensedMod);
+            });
+
+            return condensedMods;
         } catch (IOException e) {
             LOG_UTIL.warning("Error reading file: " + filePath);
             LOG_UTIL.warning("Error Message: " + e.getMessage());
@@ -204,4 +579,71 @@ public class NUSModsAPI {
         return Collections.emptyMap();
     }
 
+    /**
+     * Retrieves the attribute index of every module for the current academic
+     * year.
+     *
+     * @return the attribute index, which is empty if the data is unavailable
+     * @see #fetchAttributeIndex(int)
+     */
+    public static AttributeIndex fetchAttributeIndex() {
+        return fetchAttributeIndex(currentYear);
+    }
+
+    /**
+     * Retrieves the attribute index of every module for a given academic year.
+     * The index is built once from the {@link ModAttributesStore} of that year.
+     *
+     * @param startYear the start year of the academic year (e.g., 2024)
+     * @return the attribute index, which is empty if the data is unavailable
+     */
+    public static AttributeIndex fetchAttributeIndex(int startYear) {
+        return getOrLoadForYear(ATTRIBUTE_INDEXES, startYear,
+                () -> new AttributeIndex(fetchModAttributesStore(startYear).getAll()), AttributeIndex::isEmpty);
+    }
+
+    /**
+     * Retrieves the local catalogue store holding the attributes of every
+     * module for a given academic year.
+     * The store is loaded from its local file, or ingested from the bulk
+     * moduleInfo.json data in a single request if there is no local file yet.
+     * Concurrent callers for the same year wait for one load, but callers for
+     * other years are not held up by it.
+     *
+     * @param startYear the start year of the academic year (e.g., 2024)
+     * @return the store, which is empty if the data is unavailable
+     */
+    public static ModAttributesStore fetchModAttributesStore(int startYear) {
+        return getOrLoadForYear(ATTRIBUTE_STORES, startYear,
+                () -> ModAttributesStore.loadOrIngest(startYear), ModAttributesStore::isEmpty);
+    }
+
+    /**
+     * Returns the value kept for an academic year, loading it first if there
+     * is none. Concurrent callers for the same year share one load, while a
+     * load for one year never holds up callers for another. A value that is
+     * empty is returned but not kept, so that it is loaded again next time.
+     */
+    private static <T> T getOrLoadForYear(Map<Integer, CompletableFuture<T>> valuesByYear, int startYear,
+            Supplier<T> loader, Predicate<T> isEmpty) {
+        CompletableFuture<T> value = new CompletableFuture<>();
+        CompletableFuture<T> existingValue = valuesByYear.putIfAbsent(startYear, value);
+        if (existingValue != null) {
+            return existingValue.join();
+        }
+
+        try {
+            T loadedValue = loader.get();
+            if (isEmpty.test(loadedValue)) {
+                valuesByYear.remove(startYear, value);
+            }
+            value.complete(loadedValue);
+            return loadedValue;
+        } catch (RuntimeException e) {
+            valuesByYear.remove(startYear, value);
+            value.completeExceptionally(e);
+            throw e;
+        }
+    }
+
 }
@@ -2,36 +2,81 @@ package modmate.download.nusmods;
 
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.Month;
 
+import modmate.download.DownloadConfig;
+
 public class NUSModsUtil {
 
     /**
-     * The file path template for the condensed NUSMods JSON files.
-     * The placeholders %d-%d in the file path will be replaced with the academic
+     * The file name template for the condensed NUSMods JSON files, which are
+     * kept in the data directory set in {@link DownloadConfig#getDataDirectory()}.
+     * The placeholders %d-%d in the file name will be replaced with the academic
      * year range.
      * For example, if the academic year is 2023-2024, the file path will be:
-     * "src/main/java/modmate/download/nusmods/nusmods_condensed_2023-2024.json".
+     * "data/nusmods_condensed_2023-2024.json".
+     */
+    private static final String MOD_LIST_FILE_NAME = "nusmods_condensed_%d-%d.json";
+
+    /**
+     * The file name template for the binary snapshots of the condensed mod
+     * lists, which are written alongside the JSON files for faster loading.
+     * The placeholders %d-%d in the file name will be replaced with the academic
+     * year range.
+     */
+    private static final String MOD_SNAPSHOT_FILE_NAME = "nusmods_condensed_%d-%d.bin";
+
+    /**
+     * The file name template for the locally stored module attributes, which
+     * are extracted from the bulk moduleInfo.json data.
+     * The placeholders %d-%d in the file name will be replaced with the academic
+     * year range.
+     */
+    private static final String MOD_ATTRIBUTES_FILE_NAME = "nusmods_attributes_%d-%d.json";
+
+    /**
+     * The directory template, relative to the data directory, for the cached
+     * per-module NUSMods JSON responses.
+     * The placeholders %d-%d in the path will be replaced with the academic
+     * year range.
+     * For example, if the academic year is 2023-2024, the directory will be:
+     * "data/cache/2023-2024".
+     */
+    private static final String MOD_CACHE_DIRECTORY = "cache/%d-%d";
+
+    /**
+     * The name of the file, inside the per-module cache directory, of the store
+     * of encoded mod details. The version in the name is bumped whenever the
+     * encoding of mods changes, so that stores in an older encoding are not read.
      */
-    private static final String MOD_LIST_FILE_PATH = "src/main/java/modmate/download/nusmods/"
-            + "nusmods_condensed_%d-%d.json";
+    private static final String MOD_DETAIL_STORE_FILE_NAME = "mod_details_v2.dat";
 
     /**
-     * The base URI for retrieving the list of modules from NUSMods API.
-     * The URI is formatted with two integer values representing the academic year.
+     * The path for retrieving the list of modules from NUSMods API, relative to
+     * the base URI set in {@link DownloadConfig#getNUSModsBaseUri()}.
+     * The path is formatted with two integer values representing the academic year.
      * For example, to get the module list for the academic year 2021/2022, the URI
      * would be:
      * https://api.nusmods.com/v2/2021-2022/moduleList.json
      */
-    private static final String MOD_LIST_URI = "https://api.nusmods.com/v2/%d-%d/moduleList.json";
+    private static final String MOD_LIST_PATH = "/%d-%d/moduleList.json";
 
     /**
-     * The base URI for accessing module information from the NUSMods API.
-     * The URI is formatted with the academic year and module code.
-     * Example usage: String.format(MODULE_URI, 2021, 2022, "CS2113");
+     * The path for accessing module information from the NUSMods API, relative
+     * to the base URI.
+     * The path is formatted with the academic year and module code.
+     * Example usage: String.format(MOD_PATH, 2021, 2022, "CS2113");
      */
-    private static final String MOD_URI = "https://api.nusmods.com/v2/%d-%d/modules/%s.json";
+    private static final String MOD_PATH = "/%d-%d/modules/%s.json";
+
+    /**
+     * The path for retrieving detailed information on every module at once
+     * from the NUSMods API, excluding lesson timetables, relative to the base URI.
+     * The path is formatted with two integer values representing the academic year.
+     */
+    private static final String MOD_INFO_PATH = "/%d-%d/moduleInfo.json";
 
     /**
      * Generates a URI for the module list for a given academic year.
@@ -45,7 +90,25 @@ public class NUSModsUtil {
         assert startYear > 2020;
 
         int endYear = startYear + 1;
-        String uriString = String.format(MOD_LIST_URI, startYear, endYear);
+        String uriString = DownloadConfig.getNUSModsBaseUri() + String.format(MOD_LIST_PATH, startYear, endYear);
+
+        return new URI(uriString);
+    }
+
+    /**
+     * Generates a URI for the detailed information on every module for a given
+     * academic year.
+     *
+     * @param startYear The starting year of the academic year (must be greater than
+     *                  2020).
+     * @return A URI pointing to the module information for the specified academic year.
+     * @throws URISyntaxException If the generated URI string is not a valid URI.
+     */
+    public static URI getUriForModuleInfo(int startYear) throws URISyntaxException {
+        assert startYear > 2020;
+
+        int endYear = startYear + 1;
+        String uriString = DownloadConfig.getNUSModsBaseUri() + String.format(MOD_INFO_PATH, startYear, endYear);
 
         return new URI(uriString);
     }
@@ -63,7 +126,8 @@ public class NUSModsUtil {
         assert startYear > 2020;
 
         int endYear = startYear + 1;
-        String uriString = String.format(MOD_URI, startYear, endYear, moduleCode.toString());
+        String uriString = DownloadConfig.getNUSModsBaseUri()
+                + String.format(MOD_PATH, startYear, endYear, moduleCode.toString());
 
         return new URI(uriString);
     }
@@ -90,8 +154,59 @@ public class NUSModsUtil {
      */
     public static String buildModListFilePath(int startYear) {
         int endYear = startYear + 1;
-        return String.format(MOD_LIST_FILE_PATH,
-                startYear, endYear);
+        return DownloadConfig.getDataDirectory()
+                .resolve(String.format(MOD_LIST_FILE_NAME, startYear, endYear))
+                .toString();
+    }
+
+    /**
+     * Creates the file path for storing the binary snapshot of the condensed
+     * mod list.
+     *
+     * @param startYear the start year of the academic year
+     * @return the file path as a string
+     */
+    public static String buildModSnapshotFilePath(int startYear) {
+        int endYear = startYear + 1;
+        return DownloadConfig.getDataDirectory()
+                .resolve(String.format(MOD_SNAPSHOT_FILE_NAME, startYear, endYear))
+                .toString();
+    }
+
+    /**
+     * Creates the file path for storing the module attributes JSON data.
+     *
+     * @param startYear the start year of the academic year
+     * @return the file path as a string
+     */
+    public static String buildModAttributesFilePath(int startYear) {
+        int endYear = startYear + 1;
+        return DownloadConfig.getDataDirectory()
+                .resolve(String.format(MOD_ATTRIBUTES_FILE_NAME, startYear, endYear))
+                .toString();
+    }
+
+    /**
+     * Creates the path of the file holding the {@code ModDetailStore} of an
+     * academic year, which lives in the per-module cache directory.
+     *
+     * @param startYear the start year of the academic year
+     * @return the path of the mod detail store
+     */
+    public static Path buildModDetailStorePath(int startYear) {
+        return buildModCacheDirectory(startYear).resolve(MOD_DETAIL_STORE_FILE_NAME);
+    }
+
+    /**
+     * Creates the path of the directory for caching per-module JSON responses.
+     *
+     * @param startYear the start year of the academic year
+     * @return the path of the cache directory
+     */
+    public static Path buildModCacheDirectory(int startYear) {
+        int endYear = startYear + 1;
+        return DownloadConfig.getDataDirectory()
+                .resolve(String.format(MOD_CACHE_DIRECTORY, startYear, endYear));
     }
 
 }
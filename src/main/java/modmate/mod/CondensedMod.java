@@ -43,6 +43,37 @@ public class CondensedMod {
         return code + ": " + name;
     }
 
+    /**
+     * Returns equality of the mod with another object. Condensed mods are
+     * equal if they have the same name and code.
+     *
+     * @param o object to test
+     * @return true if the object is a condensed mod with the same name and code
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || o.getClass() != getClass()) {
+            return false;
+        }
+
+        CondensedMod other = (CondensedMod) o;
+        return name.equals(other.name) && code.equals(other.code);
+    }
+
+    /**
+     * Returns the hash code of the mod, which depends only on its code so that
+     * it stays consistent with the equality of subclasses.
+     *
+     * @return the hash code of the mod
+     */
+    @Override
+    public int hashCode() {
+        return code.hashCode();
+    }
+
     /**
      * Returns the name of the mod.
      *
@@ -0,0 +1,87 @@
+package modmate.mod;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntFunction;
+
+import modmate.mod.attribute.ModAttributes;
+import modmate.timetable.Semester;
+import modmate.timetable.Timetable;
+
+/**
+ * A mod whose timetables are kept in their encoded form and only decoded when
+ * they are first needed, so that looking up the name, description or
+ * attributes of a mod does not pay for decoding every lesson in it.
+ * Each timetable is decoded at most once, and may be decoded from any thread.
+ */
+public class LazyMod extends Mod {
+
+    private final List<Semester> semesters;
+    private final IntFunction<Timetable> timetableDecoder;
+    private final AtomicReferenceArray<Timetable> decodedTimetables;
+
+    /**
+     * Constructs a new LazyMod object.
+     *
+     * @param name             The name of the mod.
+     * @param code             The code of the mod.
+     * @param description      A brief description of the mod.
+     * @param attributes       The attributes associated with the mod.
+     * @param semesters        The semesters of the timetables of the mod, in
+     *                         order.
+     * @param timetableDecoder The function that decodes the timetable at a
+     *                         given index in the order of the semesters.
+     */
+    public LazyMod(String name, String code, String description, ModAttributes attributes,
+            List<Semester> semesters, IntFunction<Timetable> timetableDecoder) {
+        super(name, code, description, attributes);
+        this.semesters = semesters;
+        this.timetableDecoder = timetableDecoder;
+        this.decodedTimetables = new AtomicReferenceArray<>(semesters.size());
+    }
+
+    /**
+     * Returns the list of timetables associated with the mod, decoding any
+     * that have not been decoded yet.
+     *
+     * @return The list of timetables associated with the mod.
+     */
+    @Override
+    public List<Timetable> getTimetables() {
+        List<Timetable> timetables = new ArrayList<>(semesters.size());
+        for (int i = 0; i < semesters.size(); i++) {
+            timetables.add(getTimetableAt(i));
+        }
+
+        return Collections.unmodifiableList(timetables);
+    }
+
+    /**
+     * Returns the timetable of the mod in a given semester, decoding only
+     * that timetable if it has not been decoded yet.
+     *
+     * @param semester The semester of the timetable.
+     * @return An {@link Optional} containing the timetable, or empty if the
+     *         mod is not offered in the semester.
+     */
+    @Override
+    public Optional<Timetable> getTimetable(Semester semester) {
+        int index = semesters.indexOf(semester);
+        return index < 0 ? Optional.empty() : Optional.of(getTimetableAt(index));
+    }
+
+    private Timetable getTimetableAt(int index) {
+        Timetable timetable = decodedTimetables.get(index);
+        if (timetable != null) {
+            return timetable;
+        }
+
+        // Two threads may decode the same timetable at once, but both get the copy that was stored first
+        decodedTimetables.compareAndSet(index, null, timetableDecoder.apply(index));
+        return decodedTimetables.get(index);
+    }
+
+}
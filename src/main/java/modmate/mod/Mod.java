@@ -1,8 +1,10 @@
 package modmate.mod;
 
 import java.util.List;
+import java.util.Optional;
 
 import modmate.mod.attribute.ModAttributes;
+import modmate.timetable.Semester;
 import modmate.timetable.Timetable;
 
 /**
@@ -46,6 +48,20 @@ public class Mod extends CondensedMod {
         this.attributes = attributes;
     }
 
+    /**
+     * Constructs a new Mod object whose timetables are provided by a
+     * subclass, which must override {@link #getTimetables()} and
+     * {@link #getTimetable(Semester)}.
+     *
+     * @param name        The name of the mod.
+     * @param code        The code of the mod.
+     * @param description A brief description of the mod.
+     * @param attributes  The attributes associated with the mod.
+     */
+    protected Mod(String name, String code, String description, ModAttributes attributes) {
+        this(name, code, description, attributes, null);
+    }
+
     /**
      * Returns a detailed string representation of the mod.
      *
@@ -76,6 +92,23 @@ public class Mod extends CondensedMod {
         return timetables;
     }
 
+    /**
+     * Returns the timetable of the mod in a given semester.
+     *
+     * @param semester The semester of the timetable.
+     * @return An {@link Optional} containing the timetable, or empty if the
+     *         mod is not offered in the semester.
+     */
+    public Optional<Timetable> getTimetable(Semester semester) {
+        if (timetables == null) {
+            return Optional.empty();
+        }
+
+        return timetables.stream()
+                .filter(timetable -> timetable.getSemester() == semester)
+                .findFirst();
+    }
+
     /**
      * Returns the attributes associated with the mod.
      *
@@ -131,6 +131,33 @@ public class ModAttributes {
         return unitsOpt;
     }
 
+    /**
+     * Gets the semesters in which the mod is available.
+     *
+     * @return The list of available semesters.
+     */
+    public List<Semester> getAvailableSemesters() {
+        return availableSemesters;
+    }
+
+    /**
+     * Gets whether the mod is graded or pass/fail.
+     *
+     * @return Whether the mod is graded.
+     */
+    public Optional<Boolean> getIsGradedOpt() {
+        return isGradedOpt;
+    }
+
+    /**
+     * Gets the expected weekly workload for the mod.
+     *
+     * @return The weekly workload.
+     */
+    public Optional<String> getWorkloadOpt() {
+        return workloadOpt;
+    }
+
     private static <T> Optional<Boolean> doOptionalsMatch(Optional<T> firstOpt, Optional<T> secondOpt) {
         return firstOpt.flatMap(firstValue -> secondOpt.map(secondValue -> firstValue.equals(secondValue)));
     }
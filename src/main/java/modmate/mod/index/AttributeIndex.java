@@ -0,0 +1,116 @@
+package modmate.mod.index;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import modmate.mod.attribute.ModAttributes;
+
+/**
+ * An in-memory index of the attributes of every mod in the catalogue, used to
+ * answer attribute filters without fetching each mod from the NUSMods API.
+ * Mods are narrowed down with posting sets for faculty, units and grading
+ * basis, and the remaining candidates are then checked against the full
+ * attributes, so results match {@link ModAttributes#equals(Object)}.
+ */
+public class AttributeIndex {
+
+    private final Map<String, ModAttributes> attributesByCode;
+    private final Map<String, Set<String>> codesByFaculty = new HashMap<>();
+    private final Map<Double, Set<String>> codesByUnits = new HashMap<>();
+    private final Map<Boolean, Set<String>> codesByGraded = new HashMap<>();
+
+    /**
+     * Constructs an AttributeIndex over the given attributes.
+     *
+     * @param attributesByCode the attributes of each mod, keyed by mod code
+     */
+    public AttributeIndex(Map<String, ModAttributes> attributesByCode) {
+        this.attributesByCode = Map.copyOf(attributesByCode);
+
+        this.attributesByCode.forEach((code, attributes) -> {
+            attributes.getFacultyOpt().ifPresent(faculty ->
+                    addPosting(codesByFaculty, normaliseFaculty(faculty.getName()), code));
+            attributes.getUnitsOpt().ifPresent(units -> addPosting(codesByUnits, units, code));
+            attributes.getIsGradedOpt().ifPresent(isGraded -> addPosting(codesByGraded, isGraded, code));
+        });
+    }
+
+    /**
+     * Returns an empty index, for when no attribute data is available.
+     *
+     * @return an index containing no mods
+     */
+    public static AttributeIndex empty() {
+        return new AttributeIndex(Collections.emptyMap());
+    }
+
+    /**
+     * Finds the codes of all mods whose attributes match the given search
+     * attributes. Attributes that are absent from the search are not filtered
+     * on.
+     *
+     * @param searchAttrs the attributes to search for
+     * @return the codes of the matching mods
+     */
+    public Set<String> search(ModAttributes searchAttrs) {
+        List<Set<String>> postings = new ArrayList<>();
+
+        searchAttrs.getFacultyOpt().ifPresent(faculty ->
+                postings.add(getPosting(codesByFaculty, normaliseFaculty(faculty.getName()))));
+        searchAttrs.getUnitsOpt().ifPresent(units -> postings.add(getPosting(codesByUnits, units)));
+        searchAttrs.getIsGradedOpt().ifPresent(isGraded -> postings.add(getPosting(codesByGraded, isGraded)));
+
+        Set<String> candidates = postings.stream()
+                .min((first, second) -> Integer.compare(first.size(), second.size()))
+                .orElse(attributesByCode.keySet());
+
+        return candidates.stream()
+                .filter(code -> postings.stream().allMatch(posting -> posting.contains(code)))
+                .filter(code -> attributesByCode.get(code).equals(searchAttrs))
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Returns the attributes of a mod in the index.
+     *
+     * @param code the code of the mod
+     * @return an {@link Optional} containing the attributes, or empty if the mod
+     *         is not in the index
+     */
+    public Optional<ModAttributes> getAttributes(String code) {
+        return Optional.ofNullable(attributesByCode.get(code.toUpperCase()));
+    }
+
+    /**
+     * Returns the number of mods in the index.
+     *
+     * @return the number of mods
+     */
+    public int size() {
+        return attributesByCode.size();
+    }
+
+    public boolean isEmpty() {
+        return attributesByCode.isEmpty();
+    }
+
+    private static <K> void addPosting(Map<K, Set<String>> postings, K key, String code) {
+        postings.computeIfAbsent(key, k -> new HashSet<>()).add(code);
+    }
+
+    private static <K> Set<String> getPosting(Map<K, Set<String>> postings, K key) {
+        return postings.getOrDefault(key, Collections.emptySet());
+    }
+
+    private static String normaliseFaculty(String facultyName) {
+        return facultyName.toLowerCase();
+    }
+
+}
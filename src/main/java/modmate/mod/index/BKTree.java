@@ -0,0 +1,136 @@
+package modmate.mod.index;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A Burkhard-Keller tree of strings, which finds every string within a given
+ * edit distance of a query without comparing the query to every string.
+ * Each child of a node holds the strings at one particular distance from the
+ * node, so by the triangle inequality a search only needs to descend into
+ * the children whose distance is within the tolerance of the query's own
+ * distance from the node.
+ * Distances are Levenshtein distances: the number of characters that must be
+ * inserted, deleted or substituted to turn one string into the other.
+ */
+public class BKTree {
+
+    private Node root = null;
+    private int size = 0;
+
+    /**
+     * Adds a string to the tree, unless it is already in it.
+     *
+     * @param term the string to add
+     */
+    public void add(String term) {
+        if (root == null) {
+            root = new Node(term);
+            size++;
+            return;
+        }
+
+        Node node = root;
+        while (true) {
+            int distance = getEditDistance(term, node.term);
+            if (distance == 0) {
+                return;
+            }
+
+            Node child = node.children.get(distance);
+            if (child == null) {
+                node.children.put(distance, new Node(term));
+                size++;
+                return;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * Finds all strings in the tree within the given edit distance of a query.
+     *
+     * @param query       the string to search for
+     * @param maxDistance the greatest number of edits a match may be from the
+     *                    query
+     * @return the matching strings, in no particular order
+     */
+    public List<String> search(String query, int maxDistance) {
+        List<String> matches = new ArrayList<>();
+        if (root == null) {
+            return matches;
+        }
+
+        Deque<Node> pendingNodes = new ArrayDeque<>();
+        pendingNodes.push(root);
+        while (!pendingNodes.isEmpty()) {
+            Node node = pendingNodes.pop();
+            int distance = getEditDistance(query, node.term);
+            if (distance <= maxDistance) {
+                matches.add(node.term);
+            }
+
+            node.children.forEach((childDistance, child) -> {
+                if (Math.abs(childDistance - distance) <= maxDistance) {
+                    pendingNodes.push(child);
+                }
+            });
+        }
+
+        return matches;
+    }
+
+    /**
+     * Returns the number of strings in the tree.
+     *
+     * @return the number of strings
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Computes the Levenshtein distance between two strings.
+     *
+     * @param first  the first string
+     * @param second the second string
+     * @return the number of insertions, deletions and substitutions needed to
+     *         turn the first string into the second
+     */
+    public static int getEditDistance(String first, String second) {
+        int[] previousRow = new int[second.length() + 1];
+        int[] currentRow = new int[second.length() + 1];
+        for (int j = 0; j <= second.length(); j++) {
+            previousRow[j] = j;
+        }
+
+        for (int i = 1; i <= first.length(); i++) {
+            currentRow[0] = i;
+            for (int j = 1; j <= second.length(); j++) {
+                int substitutionCost = first.charAt(i - 1) == second.charAt(j - 1) ? 0 : 1;
+                currentRow[j] = Math.min(previousRow[j - 1] + substitutionCost,
+                        Math.min(previousRow[j], currentRow[j - 1]) + 1);
+            }
+
+            int[] swappedRow = previousRow;
+            previousRow = currentRow;
+            currentRow = swappedRow;
+        }
+
+        return previousRow[second.length()];
+    }
+
+    private static class Node {
+        private final String term;
+        private final Map<Integer, Node> children = new HashMap<>();
+
+        Node(String term) {
+            this.term = term;
+        }
+    }
+
+}
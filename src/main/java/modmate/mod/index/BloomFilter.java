@@ -0,0 +1,92 @@
+package modmate.mod.index;
+
+/**
+ * A compact, probabilistic set of strings.
+ * A string that was added is always reported as possibly present, while a
+ * string that was not added is reported as absent with a probability close
+ * to one minus the target false positive rate. This lets lookups of unknown
+ * strings be rejected without consulting the full data they were taken from.
+ */
+public class BloomFilter {
+
+    private static final double LN_2 = Math.log(2);
+
+    private final long[] bits;
+    private final int bitCount;
+    private final int hashCount;
+
+    /**
+     * Constructs an empty BloomFilter sized for the given number of strings.
+     *
+     * @param expectedInsertions the number of strings that will be added
+     * @param falsePositiveRate  the target rate at which strings that were not
+     *                           added are reported as present, between 0 and 1
+     */
+    public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1");
+        }
+
+        int insertions = Math.max(1, expectedInsertions);
+        long optimalBitCount = (long) Math.ceil(-insertions * Math.log(falsePositiveRate) / (LN_2 * LN_2));
+
+        this.bitCount = (int) Math.min(Integer.MAX_VALUE - Long.SIZE, Math.max(Long.SIZE, optimalBitCount));
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / insertions * LN_2));
+        this.bits = new long[(bitCount + Long.SIZE - 1) / Long.SIZE];
+    }
+
+    /**
+     * Adds a string to the filter.
+     *
+     * @param value the string to add
+     */
+    public void add(String value) {
+        long hash = hash(value);
+        int firstHash = (int) hash;
+        int secondHash = (int) (hash >>> Integer.SIZE);
+
+        for (int i = 0; i < hashCount; i++) {
+            int bitIndex = Math.floorMod(firstHash + i * secondHash, bitCount);
+            bits[bitIndex / Long.SIZE] |= 1L << (bitIndex % Long.SIZE);
+        }
+    }
+
+    /**
+     * Returns whether a string might have been added to the filter.
+     *
+     * @param value the string to look up
+     * @return false if the string was definitely not added, true if it
+     *         might have been
+     */
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        int firstHash = (int) hash;
+        int secondHash = (int) (hash >>> Integer.SIZE);
+
+        for (int i = 0; i < hashCount; i++) {
+            int bitIndex = Math.floorMod(firstHash + i * secondHash, bitCount);
+            if ((bits[bitIndex / Long.SIZE] & (1L << (bitIndex % Long.SIZE))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Hashes a string into 64 bits, from which each probe is derived by double
+     * hashing. This is FNV-1a over the characters, followed by the SplitMix64
+     * finaliser to spread the bits.
+     */
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+
+        hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+        return hash ^ (hash >>> 31);
+    }
+
+}
@@ -0,0 +1,164 @@
+package modmate.mod.index;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import modmate.mod.CondensedMod;
+
+/**
+ * An in-memory index of the codes and title words of a set of mods, used to
+ * find mods whose code or name a query matches despite typos.
+ * Every code and every word of every title is a term in a {@link BKTree}, so
+ * the terms close to each word of a query can be found without comparing the
+ * word to every term. A mod matches when each word of the query is close to
+ * its code or to some word of its name.
+ * Short words have fewer characters to spare, so each word of a query is
+ * allowed at most one edit for every three of its characters, up to the
+ * requested edit distance.
+ * Codes, names and queries are compared without regard to case. Codes are
+ * indexed without any punctuation or spaces, and a query of several words is
+ * also matched as one word with them joined up, so that a code typed as
+ * CS-2113 or CS 2113 still matches CS2113.
+ */
+public class FuzzyIndex {
+
+    /**
+     * The greatest edit distance a search may ask for. Larger distances match
+     * so much that the results are no longer useful, and make a search visit
+     * most of the tree.
+     */
+    public static final int MAX_EDIT_DISTANCE = 3;
+
+    private static final int CHARACTERS_PER_EDIT = 3;
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final CondensedMod[] mods;
+    private final Map<String, List<Integer>> modIndexesByTerm = new HashMap<>();
+    private final BKTree terms = new BKTree();
+
+    /**
+     * Constructs a FuzzyIndex over the given mods.
+     *
+     * @param condensedMods the mods to index
+     */
+    public FuzzyIndex(Collection<CondensedMod> condensedMods) {
+        this.mods = condensedMods.toArray(new CondensedMod[0]);
+
+        for (int modIndex = 0; modIndex < mods.length; modIndex++) {
+            String code = joinWords(mods[modIndex].getCode());
+            if (!code.isEmpty()) {
+                addTerm(code, modIndex);
+            }
+            for (String word : splitWords(mods[modIndex].getName())) {
+                addTerm(word, modIndex);
+            }
+        }
+    }
+
+    /**
+     * Returns an empty index, for when no mods are available.
+     *
+     * @return an index containing no mods
+     */
+    public static FuzzyIndex empty() {
+        return new FuzzyIndex(Collections.emptyList());
+    }
+
+    /**
+     * Finds all mods whose code or name matches every word of the given query
+     * within the given edit distance.
+     *
+     * @param query       the code or words of the name to search for
+     * @param maxDistance the greatest number of edits allowed per word, from 0
+     *                    to {@link #MAX_EDIT_DISTANCE}
+     * @return the matching mods, in no particular order
+     * @throws IllegalArgumentException if the edit distance is out of range
+     */
+    public List<CondensedMod> search(String query, int maxDistance) {
+        if (maxDistance < 0 || maxDistance > MAX_EDIT_DISTANCE) {
+            throw new IllegalArgumentException("Edit distance must be between 0 and " + MAX_EDIT_DISTANCE);
+        }
+
+        List<String> queryWords = splitWords(query);
+        if (queryWords.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        BitSet matchingModIndexes = findModIndexesMatchingAll(queryWords, maxDistance);
+        if (queryWords.size() > 1) {
+            matchingModIndexes.or(findModIndexes(joinWords(query), maxDistance));
+        }
+
+        List<CondensedMod> matchingMods = new ArrayList<>();
+        matchingModIndexes.stream().forEach(modIndex -> matchingMods.add(mods[modIndex]));
+        return matchingMods;
+    }
+
+    /**
+     * Returns the number of mods in the index.
+     *
+     * @return the number of indexed mods
+     */
+    public int size() {
+        return mods.length;
+    }
+
+    private BitSet findModIndexesMatchingAll(List<String> queryWords, int maxDistance) {
+        BitSet matchingModIndexes = findModIndexes(queryWords.get(0), maxDistance);
+        for (int i = 1; i < queryWords.size() && !matchingModIndexes.isEmpty(); i++) {
+            matchingModIndexes.and(findModIndexes(queryWords.get(i), maxDistance));
+        }
+
+        return matchingModIndexes;
+    }
+
+    private BitSet findModIndexes(String queryWord, int maxDistance) {
+        int wordDistance = Math.min(maxDistance, queryWord.length() / CHARACTERS_PER_EDIT);
+
+        BitSet wordModIndexes = new BitSet(mods.length);
+        for (String term : terms.search(queryWord, wordDistance)) {
+            modIndexesByTerm.get(term).forEach(wordModIndexes::set);
+        }
+
+        return wordModIndexes;
+    }
+
+    private void addTerm(String term, int modIndex) {
+        List<Integer> modIndexes = modIndexesByTerm.computeIfAbsent(term, key -> {
+            terms.add(key);
+            return new ArrayList<>(1);
+        });
+
+        // Mods are indexed in ascending order, so a word repeated in a name is only recorded once
+        if (modIndexes.isEmpty() || modIndexes.get(modIndexes.size() - 1) != modIndex) {
+            modIndexes.add(modIndex);
+        }
+    }
+
+    private static List<String> splitWords(String text) {
+        List<String> words = new ArrayList<>();
+        for (String word : WORD_SEPARATOR.split(normalise(text))) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+
+        return words;
+    }
+
+    private static String joinWords(String text) {
+        return String.join("", splitWords(text));
+    }
+
+    private static String normalise(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+
+}
@@ -0,0 +1,204 @@
+package modmate.mod.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import modmate.mod.CondensedMod;
+
+/**
+ * An in-memory inverted index of the trigrams, or runs of three characters,
+ * in the codes and names of a set of mods, used to find the mods whose code
+ * or name contains a query without scanning every mod.
+ * A query is answered by intersecting the posting lists of its trigrams, and
+ * then checking only the remaining candidates for the query itself, so the
+ * cost of a search depends on the number of matching mods rather than on the
+ * size of the catalogue. Queries shorter than a trigram have no trigrams to
+ * look up, and are answered by scanning the normalised codes and names.
+ * Codes, names and queries are compared without regard to case.
+ */
+public class TrigramIndex {
+
+    private static final int GRAM_LENGTH = 3;
+
+    private final CondensedMod[] mods;
+    private final String[] normalisedCodes;
+    private final String[] normalisedNames;
+    private final Map<Long, int[]> postingsByTrigram;
+
+    /**
+     * Constructs a TrigramIndex over the given mods.
+     *
+     * @param condensedMods the mods to index
+     */
+    public TrigramIndex(Collection<CondensedMod> condensedMods) {
+        this.mods = condensedMods.toArray(new CondensedMod[0]);
+        this.normalisedCodes = new String[mods.length];
+        this.normalisedNames = new String[mods.length];
+
+        Map<Long, PostingBuilder> postingBuilders = new HashMap<>();
+        for (int modIndex = 0; modIndex < mods.length; modIndex++) {
+            normalisedCodes[modIndex] = normalise(mods[modIndex].getCode());
+            normalisedNames[modIndex] = normalise(mods[modIndex].getName());
+
+            addPostings(postingBuilders, normalisedCodes[modIndex], modIndex);
+            addPostings(postingBuilders, normalisedNames[modIndex], modIndex);
+        }
+
+        this.postingsByTrigram = new HashMap<>();
+        postingBuilders.forEach((trigram, builder) -> postingsByTrigram.put(trigram, builder.toArray()));
+    }
+
+    /**
+     * Returns an empty index, for when no mods are available.
+     *
+     * @return an index containing no mods
+     */
+    public static TrigramIndex empty() {
+        return new TrigramIndex(Collections.emptyList());
+    }
+
+    /**
+     * Finds all mods whose code or name contains the given query.
+     *
+     * @param query the text to search for
+     * @return the matching mods, in no particular order
+     */
+    public List<CondensedMod> search(String query) {
+        String normalisedQuery = normalise(query);
+        if (normalisedQuery.length() < GRAM_LENGTH) {
+            return scan(normalisedQuery);
+        }
+
+        List<int[]> postings = new ArrayList<>();
+        for (long trigram : getTrigrams(normalisedQuery)) {
+            int[] posting = postingsByTrigram.get(trigram);
+            if (posting == null) {
+                return Collections.emptyList();
+            }
+            postings.add(posting);
+        }
+
+        // Intersecting from the shortest posting list keeps every intermediate result small
+        postings.sort(Comparator.comparingInt(posting -> posting.length));
+        int[] candidates = postings.get(0);
+        for (int i = 1; i < postings.size() && candidates.length > 0; i++) {
+            candidates = intersect(candidates, postings.get(i));
+        }
+
+        List<CondensedMod> matchingMods = new ArrayList<>();
+        for (int modIndex : candidates) {
+            if (isMatch(modIndex, normalisedQuery)) {
+                matchingMods.add(mods[modIndex]);
+            }
+        }
+
+        return matchingMods;
+    }
+
+    /**
+     * Returns the number of mods in the index.
+     *
+     * @return the number of indexed mods
+     */
+    public int size() {
+        return mods.length;
+    }
+
+    private List<CondensedMod> scan(String normalisedQuery) {
+        List<CondensedMod> matchingMods = new ArrayList<>();
+        for (int modIndex = 0; modIndex < mods.length; modIndex++) {
+            if (isMatch(modIndex, normalisedQuery)) {
+                matchingMods.add(mods[modIndex]);
+            }
+        }
+
+        return matchingMods;
+    }
+
+    private boolean isMatch(int modIndex, String normalisedQuery) {
+        return normalisedCodes[modIndex].contains(normalisedQuery)
+                || normalisedNames[modIndex].contains(normalisedQuery);
+    }
+
+    private static void addPostings(Map<Long, PostingBuilder> postingBuilders, String text, int modIndex) {
+        // Repeated trigrams need no deduplicating here, as a posting list skips a mod that is added again
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            long trigram = packTrigram(text.charAt(i), text.charAt(i + 1), text.charAt(i + 2));
+            postingBuilders.computeIfAbsent(trigram, key -> new PostingBuilder()).add(modIndex);
+        }
+    }
+
+    private static Set<Long> getTrigrams(String text) {
+        Set<Long> trigrams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            trigrams.add(packTrigram(text.charAt(i), text.charAt(i + 1), text.charAt(i + 2)));
+        }
+
+        return trigrams;
+    }
+
+    private static long packTrigram(char first, char second, char third) {
+        return ((long) first << (2 * Character.SIZE)) | ((long) second << Character.SIZE) | third;
+    }
+
+    /**
+     * Intersects two posting lists, both sorted in ascending order.
+     */
+    private static int[] intersect(int[] first, int[] second) {
+        int[] intersection = new int[Math.min(first.length, second.length)];
+        int size = 0;
+
+        int i = 0;
+        int j = 0;
+        while (i < first.length && j < second.length) {
+            if (first[i] < second[j]) {
+                i++;
+            } else if (first[i] > second[j]) {
+                j++;
+            } else {
+                intersection[size++] = first[i];
+                i++;
+                j++;
+            }
+        }
+
+        return Arrays.copyOf(intersection, size);
+    }
+
+    private static String normalise(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * A growable posting list. Mods are indexed in ascending order, so the
+     * list stays sorted, and a mod that is added again is skipped.
+     */
+    private static class PostingBuilder {
+        private int[] modIndexes = new int[4];
+        private int size = 0;
+
+        void add(int modIndex) {
+            if (size > 0 && modIndexes[size - 1] == modIndex) {
+                return;
+            }
+            if (size == modIndexes.length) {
+                modIndexes = Arrays.copyOf(modIndexes, size * 2);
+            }
+            modIndexes[size++] = modIndex;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(modIndexes, size);
+        }
+    }
+
+}
@@ -3,6 +3,7 @@ package modmate.timetable;
 import java.time.DayOfWeek;
 import java.time.LocalTime;
 import java.time.temporal.ChronoUnit;
+import java.util.Objects;
 
 /**
  * Represents a period of time within a week, including the day, start and end times, and
@@ -13,23 +14,23 @@ public class Period {
     /**
      * The day of the week this period occurs on.
      */
-    private DayOfWeek day;
+    private final DayOfWeek day;
 
     /**
      * The start time of the period.
      */
-    private LocalTime startTime;
+    private final LocalTime startTime;
 
     /**
      * The end time of the period.
      */
-    private LocalTime endTime;
+    private final LocalTime endTime;
 
     /**
      * A map representing whether this period occurs in a particular week.
      * The key is the week number, and the value indicates whether the period occurs in that week.
      */
-    private WeekRange weekRange;
+    private final WeekRange weekRange;
 
     /**
      * Constructs a period with a specified day, start time, end time,
@@ -97,6 +98,27 @@ public class Period {
         return weekRange;
     }
 
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (obj instanceof Period other) {
+            return day == other.day
+                    && startTime.equals(other.startTime)
+                    && endTime.equals(other.endTime)
+                    && weekRange.equals(other.weekRange);
+        }
+
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(day, startTime, endTime, weekRange);
+    }
+
     @Override
     public String toString() {
         return "Weeks " + weekRange.toString() + ", " + day + ", " + startTime + "-" + endTime;
@@ -3,6 +3,7 @@ package modmate.timetable;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.IntStream;
 
@@ -10,6 +11,14 @@ public class WeekRange {
 
     private static final int WEEKS_IN_A_SEMESTER = 13;
 
+    /**
+     * The weeks of a week range that covers every week of a semester, shared
+     * by all such week ranges as it never changes.
+     */
+    private static final List<Integer> DEFAULT_WEEKS = IntStream.rangeClosed(1, WEEKS_IN_A_SEMESTER)
+            .boxed()
+            .toList();
+
     private final Optional<LocalDate> startDate;
     private final Optional<LocalDate> endDate;
     private final List<Integer> weeks;
@@ -21,17 +30,11 @@ public class WeekRange {
     }
 
     public WeekRange() {
-        this(Optional.empty(), Optional.empty(),
-                IntStream.rangeClosed(1, WEEKS_IN_A_SEMESTER)
-                        .boxed()
-                        .toList());
+        this(Optional.empty(), Optional.empty(), DEFAULT_WEEKS);
     }
 
     public WeekRange(LocalDate startDate, LocalDate endDate) {
-        this(Optional.of(startDate), Optional.of(endDate),
-                IntStream.rangeClosed(1, WEEKS_IN_A_SEMESTER)
-                        .boxed()
-                        .toList());
+        this(Optional.of(startDate), Optional.of(endDate), DEFAULT_WEEKS);
     }
 
     public WeekRange(LocalDate startDate, LocalDate endDate, List<Integer> weeks) {
@@ -58,6 +61,26 @@ public class WeekRange {
         return weeks;
     }
 
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (obj instanceof WeekRange other) {
+            return startDate.equals(other.startDate)
+                    && endDate.equals(other.endDate)
+                    && Objects.equals(weeks, other.weeks);
+        }
+
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(startDate, endDate, weeks);
+    }
+
     /**
      * get string representation of course schedule naturally
      * @return string of weeks, using ranges wherever possible
@@ -5,6 +5,7 @@ import java.util.Scanner;
 import modmate.command.Command;
 import modmate.command.ExitCommand;
 import modmate.command.HelpCommand;
+import modmate.download.nusmods.NUSModsAPI;
 import modmate.exception.ApiException;
 import modmate.exception.CommandException;
 import modmate.exception.UserException;
@@ -15,7 +16,16 @@ public class UI {
 
     private static final LogUtil logUtil = new LogUtil(UI.class);
 
+    /**
+     * Runs a session for the given user until the user exits. The mods the
+     * user has bookmarked or added to a timetable are fetched in the
+     * background as the session starts, so that commands on them need not
+     * wait for the network.
+     *
+     * @param user the user whose commands are run
+     */
     public static void run(User user) {
+        NUSModsAPI.prefetchModulesInBackground(user.getModCodes());
         Scanner scanner = new Scanner(System.in);
 
         displayWelcomeMessage();
@@ -8,6 +8,7 @@ import modmate.timetable.Timetable;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 public class ScheduleMod {
     private final Mod mod;
@@ -24,14 +25,11 @@ public class ScheduleMod {
         // TODO: make semester not hardcoded
 
 
-        if (mod.getTimetables() != null) {
+        // Only the timetable of the semester is looked up, so the timetables of other semesters are never decoded
+        Optional<Timetable> timetableOpt = mod.getTimetable(Semester.SEMESTER_2);
+        if (timetableOpt.isPresent()) {
 
-            Timetable timetable = mod
-                    .getTimetables()
-                    .stream()
-                    .filter(
-                            t -> t.getSemester().equals(Semester.SEMESTER_2))
-                    .findAny().orElse(null);
+            Timetable timetable = timetableOpt.get();
 
             // timetable for course exists. start by figuring how many
             // lesson types this course has (eg. lab, tut, tut2, lec)
@@ -4,7 +4,9 @@ import modmate.mod.Mod;
 import modmate.timetable.BreakPeriod;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 public class User {
     private List<Mod> bookmarks;
@@ -109,5 +111,24 @@ public class User {
         bookmarks.remove(toRemove);
     }
 
+    /**
+     * Returns the codes of every mod the user has bookmarked or added to a
+     * timetable, without duplicates.
+     *
+     * @return The codes of the user's mods.
+     */
+    public Set<String> getModCodes() {
+        Set<String> modCodes = new LinkedHashSet<>();
+        for (Mod bookmark : bookmarks) {
+            modCodes.add(bookmark.getCode());
+        }
+        for (Schedule timetable : timetables) {
+            for (Mod mod : timetable.getMods()) {
+                modCodes.add(mod.getCode());
+            }
+        }
+        return modCodes;
+    }
+
 
 }
@@ -0,0 +1,64 @@
+package modmate.download;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+public class BlockingExecutorTest {
+
+    private static void assertConcurrencyIsCapped(BlockingExecutor executor, int maxConcurrency)
+            throws InterruptedException {
+        AtomicInteger runningCount = new AtomicInteger();
+        AtomicInteger maxRunningCount = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<?>[] futures = IntStream.range(0, maxConcurrency * 4)
+                .mapToObj(i -> CompletableFuture.runAsync(() -> {
+                    maxRunningCount.accumulateAndGet(runningCount.incrementAndGet(), Math::max);
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    runningCount.decrementAndGet();
+                }, executor))
+                .toArray(CompletableFuture[]::new);
+
+        Thread.sleep(200);
+        release.countDown();
+        CompletableFuture.allOf(futures).join();
+
+        assertEquals(maxConcurrency, maxRunningCount.get());
+    }
+
+    @Test
+    void testPlatformThreadsAreCapped() throws InterruptedException {
+        BlockingExecutor executor = new BlockingExecutor(3, false);
+
+        assertFalse(executor.isVirtual());
+        assertConcurrencyIsCapped(executor, 3);
+    }
+
+    @Test
+    void testVirtualThreadsAreCappedWhereSupported() throws InterruptedException {
+        BlockingExecutor executor = new BlockingExecutor(3, true);
+
+        assertEquals(Runtime.version().feature() >= 21, executor.isVirtual());
+        assertConcurrencyIsCapped(executor, 3);
+    }
+
+    @Test
+    void testTasksDoNotRunOnCommonPool() {
+        String threadName = CompletableFuture.supplyAsync(() -> Thread.currentThread().getName(),
+                BlockingExecutor.get()).join();
+
+        assertFalse(threadName.contains("ForkJoinPool"));
+    }
+}
@@ -0,0 +1,71 @@
+package modmate.download;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class CircuitBreakerTest {
+    private long[] now;
+    private CircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        now = new long[] { 0 };
+        breaker = new CircuitBreaker(3, Duration.ofSeconds(10), () -> now[0]);
+    }
+
+    @Test
+    void testOpensAfterConsecutiveFailures() {
+        breaker.recordFailure();
+        breaker.recordFailure();
+        assertTrue(breaker.allowRequest());
+
+        breaker.recordFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.allowRequest());
+    }
+
+    @Test
+    void testSuccessResetsFailureCount() {
+        breaker.recordFailure();
+        breaker.recordFailure();
+        breaker.recordSuccess();
+        breaker.recordFailure();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void testHalfOpenAllowsSingleTrialRequest() {
+        for (int i = 0; i < 3; i++) {
+            breaker.recordFailure();
+        }
+
+        now[0] = 10_000;
+        assertTrue(breaker.allowRequest());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertFalse(breaker.allowRequest());
+
+        breaker.recordSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void testFailedTrialRequestReopens() {
+        for (int i = 0; i < 3; i++) {
+            breaker.recordFailure();
+        }
+
+        now[0] = 10_000;
+        assertTrue(breaker.allowRequest());
+        breaker.recordFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        now[0] = 15_000;
+        assertFalse(breaker.allowRequest());
+    }
+}
@@ -0,0 +1,116 @@
+package modmate.download;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import modmate.download.cache.CachedResponse;
+import modmate.download.json.mod.ModJSONParser;
+import modmate.download.nusmods.NUSModsStandInServer;
+import modmate.mod.Mod;
+
+public class HttpUtilTest {
+    private NUSModsStandInServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new NUSModsStandInServer(0, 10).start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    private URI uriFor(String path) {
+        return URI.create(server.getBaseUri() + path);
+    }
+
+    @Test
+    void testRetrieveModuleFromStandInServer() {
+        String code = NUSModsStandInServer.getSyntheticCode(3);
+        String body = HttpUtil.retrieveDataFromURL(uriFor("/2024-2025/modules/" + code + ".json")).join();
+
+        Mod mod = new ModJSONParser(new JSONObject(body)).getModule();
+        assertEquals(code, mod.getCode());
+    }
+
+    @Test
+    void testRevalidationReturnsCachedResponse() {
+        URI uri = uriFor("/2024-2025/modules/" + NUSModsStandInServer.getSyntheticCode(0) + ".json");
+
+        CachedResponse first = HttpUtil.retrieveDataFromURL(uri, Optional.empty()).join();
+        assertTrue(first.getETag().isPresent());
+
+        CachedResponse second = HttpUtil.retrieveDataFromURL(uri, Optional.of(first)).join();
+        assertSame(first, second);
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    void testRetrieveUncompressedModule() {
+        server.setCompressionEnabled(false);
+        String code = NUSModsStandInServer.getSyntheticCode(3);
+        String body = HttpUtil.retrieveDataFromURL(uriFor("/2024-2025/modules/" + code + ".json")).join();
+
+        assertEquals(code, new JSONObject(body).getString("moduleCode"));
+        assertEquals(0, server.getCompressedResponseCount());
+    }
+
+    @Test
+    void testRetrieveCompressedStream() throws IOException {
+        try (InputStream inputStream = HttpUtil.retrieveStreamFromURL(uriFor("/2024-2025/moduleInfo.json")).join()) {
+            String body = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+            assertEquals(10, new JSONArray(body).length());
+        }
+        assertEquals(1, server.getCompressedResponseCount());
+    }
+
+    @Test
+    void testClosedStreamsReturnTheirPermits() throws IOException {
+        // More unread streams are closed than there are permits, which would leave later requests waiting forever
+        for (int i = 0; i < DownloadConfig.getMaxConcurrentRequests() + 2; i++) {
+            HttpUtil.retrieveStreamFromURL(uriFor("/2024-2025/moduleInfo.json")).join().close();
+        }
+
+        String body = HttpUtil.retrieveDataFromURL(uriFor("/2024-2025/moduleList.json"))
+                .orTimeout(10, TimeUnit.SECONDS)
+                .join();
+        assertEquals(10, new JSONArray(body).length());
+    }
+
+    @Test
+    void testDownloadToFile(@TempDir Path tempDir) throws IOException {
+        Path destination = tempDir.resolve("moduleList.json");
+
+        HttpUtil.downloadToFile(uriFor("/2024-2025/moduleList.json"), destination).join();
+
+        assertTrue(StorageUtil.verifyChecksum(destination).isPresent());
+        try (InputStream inputStream = StorageUtil.openPayload(destination)) {
+            String body = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+            assertEquals(10, new JSONArray(body).length());
+        }
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(List.of(destination), files.toList());
+        }
+        assertEquals(1, server.getCompressedResponseCount());
+    }
+}
@@ -0,0 +1,87 @@
+package modmate.download;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class RateLimiterTest {
+
+    private static final long ONE_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final long[] now = {0};
+
+    private RateLimiter createRateLimiter(int burst) {
+        return new RateLimiter(1, burst, () -> now[0], Runnable::run);
+    }
+
+    @Test
+    void testBurstIsLetThroughImmediately() {
+        RateLimiter rateLimiter = createRateLimiter(3);
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(rateLimiter.acquire(RequestPriority.BACKGROUND).isDone());
+        }
+
+        assertFalse(rateLimiter.acquire(RequestPriority.BACKGROUND).isDone());
+        assertEquals(1, rateLimiter.getWaiterCount());
+    }
+
+    @Test
+    void testWaiterIsLetThroughOnceRefilled() {
+        RateLimiter rateLimiter = createRateLimiter(1);
+        rateLimiter.acquire(RequestPriority.INTERACTIVE);
+        CompletableFuture<Void> waiter = rateLimiter.acquire(RequestPriority.INTERACTIVE);
+
+        now[0] += ONE_SECOND / 2;
+        rateLimiter.drain();
+        assertFalse(waiter.isDone());
+
+        now[0] += ONE_SECOND / 2;
+        rateLimiter.drain();
+        assertTrue(waiter.isDone());
+        assertEquals(0, rateLimiter.getWaiterCount());
+    }
+
+    @Test
+    void testInteractiveRequestsGoBeforeBackgroundRequests() {
+        RateLimiter rateLimiter = createRateLimiter(1);
+        rateLimiter.acquire(RequestPriority.BACKGROUND);
+        CompletableFuture<Void> backgroundWaiter = rateLimiter.acquire(RequestPriority.BACKGROUND);
+        CompletableFuture<Void> interactiveWaiter = rateLimiter.acquire(RequestPriority.INTERACTIVE);
+
+        now[0] += ONE_SECOND;
+        rateLimiter.drain();
+        assertTrue(interactiveWaiter.isDone());
+        assertFalse(backgroundWaiter.isDone());
+
+        now[0] += ONE_SECOND;
+        rateLimiter.drain();
+        assertTrue(backgroundWaiter.isDone());
+    }
+
+    @Test
+    void testCancelledWaiterDoesNotTakeToken() {
+        RateLimiter rateLimiter = createRateLimiter(1);
+        rateLimiter.acquire(RequestPriority.BACKGROUND);
+        CompletableFuture<Void> cancelledWaiter = rateLimiter.acquire(RequestPriority.BACKGROUND);
+        CompletableFuture<Void> waiter = rateLimiter.acquire(RequestPriority.BACKGROUND);
+        cancelledWaiter.cancel(false);
+
+        now[0] += ONE_SECOND;
+        rateLimiter.drain();
+        assertTrue(waiter.isDone());
+        assertFalse(waiter.isCompletedExceptionally());
+    }
+
+    @Test
+    void testInvalidRateIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter(0, 1, () -> 0, Runnable::run));
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter(1, 0, () -> 0, Runnable::run));
+    }
+}
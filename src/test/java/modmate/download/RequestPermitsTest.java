@@ -0,0 +1,77 @@
+package modmate.download;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+
+public class RequestPermitsTest {
+
+    private static RequestPermits createRequestPermits(int permits) {
+        return new RequestPermits(permits, Runnable::run);
+    }
+
+    @Test
+    void testWaitersAreQueuedWithoutBlocking() {
+        RequestPermits requestPermits = createRequestPermits(2);
+
+        assertTrue(requestPermits.acquire().isDone());
+        assertTrue(requestPermits.acquire().isDone());
+        CompletableFuture<RequestPermits.Permit> waiter = requestPermits.acquire();
+
+        assertFalse(waiter.isDone());
+        assertEquals(0, requestPermits.getAvailablePermits());
+        assertEquals(1, requestPermits.getWaiterCount());
+    }
+
+    @Test
+    void testWaitersAreLetThroughInOrder() {
+        RequestPermits requestPermits = createRequestPermits(1);
+        RequestPermits.Permit permit = requestPermits.acquire().join();
+        CompletableFuture<RequestPermits.Permit> firstWaiter = requestPermits.acquire();
+        CompletableFuture<RequestPermits.Permit> secondWaiter = requestPermits.acquire();
+
+        permit.release();
+        assertTrue(firstWaiter.isDone());
+        assertFalse(secondWaiter.isDone());
+
+        firstWaiter.join().release();
+        assertTrue(secondWaiter.isDone());
+
+        secondWaiter.join().release();
+        assertEquals(1, requestPermits.getAvailablePermits());
+    }
+
+    @Test
+    void testPermitIsOnlyReturnedOnce() {
+        RequestPermits requestPermits = createRequestPermits(1);
+        RequestPermits.Permit permit = requestPermits.acquire().join();
+
+        permit.release();
+        permit.release();
+        assertEquals(1, requestPermits.getAvailablePermits());
+    }
+
+    @Test
+    void testCancelledWaiterDoesNotTakePermit() {
+        RequestPermits requestPermits = createRequestPermits(1);
+        RequestPermits.Permit permit = requestPermits.acquire().join();
+        CompletableFuture<RequestPermits.Permit> cancelledWaiter = requestPermits.acquire();
+        CompletableFuture<RequestPermits.Permit> waiter = requestPermits.acquire();
+        cancelledWaiter.cancel(false);
+
+        permit.release();
+        assertTrue(waiter.isDone());
+        assertFalse(waiter.isCompletedExceptionally());
+        assertEquals(0, requestPermits.getWaiterCount());
+    }
+
+    @Test
+    void testInvalidPermitCountIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> createRequestPermits(0));
+    }
+}
@@ -0,0 +1,53 @@
+package modmate.download;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class RetryPolicyTest {
+    private final RetryPolicy policy = new RetryPolicy(3, Duration.ofMillis(100), Duration.ofSeconds(2),
+            new Random(42));
+
+    @Test
+    void testRetryableStatuses() {
+        assertTrue(RetryPolicy.isRetryableStatus(429));
+        assertTrue(RetryPolicy.isRetryableStatus(503));
+        assertFalse(RetryPolicy.isRetryableStatus(404));
+        assertFalse(RetryPolicy.isRetryableStatus(200));
+    }
+
+    @Test
+    void testBackoffGrowsWithinBounds() {
+        for (int retryCount = 0; retryCount < 3; retryCount++) {
+            long cap = Math.min(2000, 100L << retryCount);
+            long backoff = policy.getBackoff(retryCount, 500, Optional.empty()).get().toMillis();
+            assertTrue(backoff >= cap / 2 && backoff <= cap, "backoff " + backoff + " not within cap " + cap);
+        }
+    }
+
+    @Test
+    void testNoBackoffWhenRetriesExhausted() {
+        assertTrue(policy.getBackoff(3, 500, Optional.empty()).isEmpty());
+    }
+
+    @Test
+    void testRetryAfterIsHonoured() {
+        assertEquals(Optional.of(Duration.ofSeconds(1)), policy.getBackoff(0, 429, Optional.of("1")));
+        assertTrue(policy.getBackoff(0, 503, Optional.of("120")).isEmpty());
+    }
+
+    @Test
+    void testParseRetryAfterDate() {
+        Instant now = Instant.parse("2025-01-01T00:00:00Z");
+        assertEquals(Optional.of(Duration.ofSeconds(30)),
+                RetryPolicy.parseRetryAfter("Wed, 01 Jan 2025 00:00:30 GMT", now));
+        assertTrue(RetryPolicy.parseRetryAfter("soon", now).isEmpty());
+    }
+}
@@ -0,0 +1,60 @@
+package modmate.download;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class SingleFlightTest {
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+    @Test
+    void testConcurrentCallsAreCoalesced() {
+        AtomicInteger callCount = new AtomicInteger();
+        CompletableFuture<String> pending = new CompletableFuture<>();
+
+        CompletableFuture<String> first = singleFlight.execute("CS2113", () -> {
+            callCount.incrementAndGet();
+            return pending;
+        });
+        CompletableFuture<String> second = singleFlight.execute("CS2113", () -> {
+            callCount.incrementAndGet();
+            return CompletableFuture.completedFuture("other");
+        });
+
+        assertSame(first, second);
+        assertEquals(1, singleFlight.getInFlightCount());
+
+        pending.complete("mod");
+        assertEquals("mod", second.join());
+        assertEquals(1, callCount.get());
+        assertEquals(0, singleFlight.getInFlightCount());
+    }
+
+    @Test
+    void testCompletedCallIsNotReused() {
+        CompletableFuture<String> first = singleFlight.execute("CS2113",
+                () -> CompletableFuture.completedFuture("first"));
+        CompletableFuture<String> second = singleFlight.execute("CS2113",
+                () -> CompletableFuture.completedFuture("second"));
+
+        assertNotSame(first, second);
+        assertEquals("second", second.join());
+    }
+
+    @Test
+    void testFailureIsSharedAndForgotten() {
+        CompletableFuture<String> failed = singleFlight.execute("CS2113", () -> {
+            throw new IllegalStateException("boom");
+        });
+
+        assertThrows(CompletionException.class, failed::join);
+        assertEquals(0, singleFlight.getInFlightCount());
+    }
+}
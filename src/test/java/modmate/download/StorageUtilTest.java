@@ -0,0 +1,130 @@
+package modmate.download;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class StorageUtilTest {
+
+    private static final byte[] PAYLOAD = "[{\"moduleCode\":\"CS2113\"}]".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testChecksummedRoundTrip() throws IOException {
+        Path filePath = tempDir.resolve("data").resolve("mods.json");
+        StorageUtil.writeChecksummed(filePath, outputStream -> outputStream.write(PAYLOAD));
+
+        assertEquals(HashUtil.hashString(new String(PAYLOAD, StandardCharsets.UTF_8)),
+                StorageUtil.verifyChecksum(filePath).orElseThrow());
+        assertEquals(StorageUtil.verifyChecksum(filePath), StorageUtil.readChecksum(filePath));
+        try (InputStream inputStream = StorageUtil.openPayload(filePath)) {
+            assertArrayEquals(PAYLOAD, inputStream.readAllBytes());
+        }
+
+        ByteBuffer payload = StorageUtil.readVerified(filePath).orElseThrow();
+        byte[] payloadBytes = new byte[payload.remaining()];
+        payload.get(payloadBytes);
+        assertArrayEquals(PAYLOAD, payloadBytes);
+    }
+
+    @Test
+    void testDamagedFileIsRejected() throws IOException {
+        Path filePath = tempDir.resolve("mods.json");
+        StorageUtil.writeChecksummed(filePath, outputStream -> outputStream.write(PAYLOAD));
+
+        byte[] bytes = Files.readAllBytes(filePath);
+        bytes[bytes.length - 3] ^= 1;
+        Files.write(filePath, bytes);
+
+        assertTrue(StorageUtil.verifyChecksum(filePath).isEmpty());
+        assertTrue(StorageUtil.readVerified(filePath).isEmpty());
+    }
+
+    @Test
+    void testTruncatedFileIsRejected() throws IOException {
+        Path filePath = tempDir.resolve("mods.json");
+        StorageUtil.writeChecksummed(filePath, outputStream -> outputStream.write(PAYLOAD));
+
+        byte[] bytes = Files.readAllBytes(filePath);
+        Files.write(filePath, Arrays.copyOf(bytes, bytes.length - 1));
+
+        assertTrue(StorageUtil.readChecksum(filePath).isEmpty());
+        assertTrue(StorageUtil.verifyChecksum(filePath).isEmpty());
+    }
+
+    @Test
+    void testFileWithoutHeaderIsRejected() throws IOException {
+        Path filePath = tempDir.resolve("mods.json");
+        Files.write(filePath, PAYLOAD);
+
+        assertTrue(StorageUtil.verifyChecksum(filePath).isEmpty());
+    }
+
+    @Test
+    void testFailedWriteKeepsPreviousCopy() throws IOException {
+        Path filePath = tempDir.resolve("mods.json");
+        StorageUtil.writeAtomically(filePath, outputStream -> outputStream.write(PAYLOAD));
+
+        assertThrows(IOException.class, () -> StorageUtil.writeAtomically(filePath, outputStream -> {
+            outputStream.write(new byte[] { 1, 2, 3 });
+            throw new IOException("Interrupted");
+        }));
+
+        assertArrayEquals(PAYLOAD, Files.readAllBytes(filePath));
+        assertEquals(List.of(filePath), listFiles(tempDir));
+    }
+
+    @Test
+    void testConcurrentWritesDoNotClobberEachOther() throws IOException {
+        Path filePath = tempDir.resolve("mods.json");
+        List<byte[]> payloads = IntStream.range(0, 8)
+                .mapToObj(i -> ("[{\"moduleCode\":\"CS" + (2000 + i) + "\"}]").getBytes(StandardCharsets.UTF_8))
+                .toList();
+
+        List<CompletableFuture<Void>> writes = payloads.stream()
+                .map(payload -> CompletableFuture.runAsync(() -> {
+                    try {
+                        StorageUtil.writeChecksummed(filePath, outputStream -> outputStream.write(payload));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }))
+                .toList();
+        writes.forEach(CompletableFuture::join);
+
+        // Whichever write finished last left a complete copy of its own payload
+        assertTrue(StorageUtil.verifyChecksum(filePath).isPresent());
+        byte[] payload = StorageUtil.readVerified(filePath).map(buffer -> {
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            return bytes;
+        }).orElseThrow();
+        assertTrue(payloads.stream().anyMatch(candidate -> Arrays.equals(candidate, payload)));
+        assertEquals(List.of(filePath), listFiles(tempDir));
+    }
+
+    private static List<Path> listFiles(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.toList();
+        }
+    }
+}
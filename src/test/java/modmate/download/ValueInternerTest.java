@@ -0,0 +1,46 @@
+package modmate.download;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import modmate.timetable.Period;
+import modmate.timetable.WeekRange;
+
+public class ValueInternerTest {
+
+    @Test
+    void testInternString() {
+        String venue = ValueInterner.internString(new String("COM1-B103"));
+
+        assertSame(venue, ValueInterner.internString(new String("COM1-B103")));
+    }
+
+    @Test
+    void testInternFaculty() {
+        assertSame(ValueInterner.internFaculty("Computing"), ValueInterner.internFaculty("Computing"));
+    }
+
+    @Test
+    void testInternPeriodSharesWeekRange() {
+        LocalDate start = LocalDate.of(2025, 1, 13);
+        LocalDate end = LocalDate.of(2025, 4, 14);
+        Period period = ValueInterner.internPeriod(new Period(DayOfWeek.MONDAY, LocalTime.of(9, 0),
+                LocalTime.of(10, 0), new WeekRange(start, end, List.of(2, 4, 6))));
+        Period equalPeriod = new Period(DayOfWeek.MONDAY, LocalTime.of(9, 0),
+                LocalTime.of(10, 0), new WeekRange(start, end, List.of(2, 4, 6)));
+        Period otherPeriod = ValueInterner.internPeriod(new Period(DayOfWeek.TUESDAY, LocalTime.of(9, 0),
+                LocalTime.of(10, 0), new WeekRange(start, end, List.of(2, 4, 6))));
+
+        assertSame(period, ValueInterner.internPeriod(equalPeriod));
+        assertSame(period.getWeekRange(), otherPeriod.getWeekRange());
+        assertEquals(DayOfWeek.TUESDAY, otherPeriod.getDay());
+    }
+
+}
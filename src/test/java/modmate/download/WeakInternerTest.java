@@ -0,0 +1,37 @@
+package modmate.download;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class WeakInternerTest {
+
+    @Test
+    void testEqualValuesAreShared() {
+        WeakInterner<String> interner = new WeakInterner<>();
+        String venue = new String("COM1-B103");
+
+        assertSame(venue, interner.intern(venue));
+        assertSame(venue, interner.intern(new String("COM1-B103")));
+        assertSame(venue, interner.find(new String("COM1-B103")).orElseThrow());
+        assertTrue(interner.find("COM1-0217").isEmpty());
+        assertEquals(1, interner.size());
+    }
+
+    @Test
+    void testUnreferencedValuesAreDropped() throws InterruptedException {
+        WeakInterner<String> interner = new WeakInterner<>();
+        for (int i = 0; i < 1000; i++) {
+            interner.intern(new String("venue-" + i));
+        }
+
+        for (int attempt = 0; attempt < 50 && interner.size() > 0; attempt++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertEquals(0, interner.size());
+    }
+
+}
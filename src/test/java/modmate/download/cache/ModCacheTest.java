@@ -0,0 +1,116 @@
+package modmate.download.cache;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import modmate.download.nusmods.NUSModsUtil;
+
+public class ModCacheTest {
+
+    private static final String DATA_DIRECTORY_PROPERTY = "modmate.dataDir";
+    private static final int START_YEAR = 2024;
+    private static final String BODY = "{\"moduleCode\":\"CS2113\",\"title\":\"Software Engineering – OOP\"}";
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        System.setProperty(DATA_DIRECTORY_PROPERTY, tempDir.toString());
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty(DATA_DIRECTORY_PROPERTY);
+    }
+
+    @Test
+    void testSaveAndLoad() {
+        Instant fetchedAt = Instant.ofEpochMilli(1_700_000_000_000L);
+        ModCache.save("cs2113", START_YEAR, new CachedResponse(BODY,
+                Optional.of("\"abc123\""), Optional.of("Wed, 21 Oct 2015 07:28:00 GMT"), fetchedAt));
+
+        CachedResponse cached = ModCache.load("CS2113", START_YEAR).orElseThrow();
+        assertEquals(BODY, cached.getBody());
+        assertEquals(Optional.of("\"abc123\""), cached.getETag());
+        assertEquals(Optional.of("Wed, 21 Oct 2015 07:28:00 GMT"), cached.getLastModified());
+        assertEquals(fetchedAt, cached.getFetchedAt());
+        assertTrue(ModCache.load("CS2113", START_YEAR + 1).isEmpty());
+    }
+
+    @Test
+    void testSaveWithoutValidators() {
+        ModCache.save("CS2113", START_YEAR, new CachedResponse(BODY, Optional.empty(), Optional.empty()));
+
+        CachedResponse cached = ModCache.load("CS2113", START_YEAR).orElseThrow();
+        assertTrue(cached.getETag().isEmpty());
+        assertTrue(cached.getLastModified().isEmpty());
+    }
+
+    @Test
+    void testSaveReplacesEntry() {
+        ModCache.save("CS2113", START_YEAR, new CachedResponse(BODY, Optional.of("\"v1\""), Optional.empty()));
+        ModCache.save("CS2113", START_YEAR, new CachedResponse("{}", Optional.empty(), Optional.of("today")));
+
+        CachedResponse cached = ModCache.load("CS2113", START_YEAR).orElseThrow();
+        assertEquals("{}", cached.getBody());
+        assertTrue(cached.getETag().isEmpty());
+        assertEquals(Optional.of("today"), cached.getLastModified());
+    }
+
+    @Test
+    void testTouchUpdatesOnlyMetadata() throws IOException {
+        ModCache.save("CS2113", START_YEAR, new CachedResponse(BODY, Optional.of("\"v1\""), Optional.empty(),
+                Instant.ofEpochMilli(1_700_000_000_000L)));
+        Path bodyPath = NUSModsUtil.buildModCacheDirectory(START_YEAR).resolve("CS2113.json");
+        byte[] body = Files.readAllBytes(bodyPath);
+
+        Instant revalidatedAt = Instant.ofEpochMilli(1_800_000_000_000L);
+        ModCache.touch("CS2113", START_YEAR, new CachedResponse("ignored", Optional.of("\"v1\""),
+                Optional.of("today"), revalidatedAt));
+
+        CachedResponse cached = ModCache.load("CS2113", START_YEAR).orElseThrow();
+        assertEquals(BODY, cached.getBody());
+        assertEquals(Optional.of("today"), cached.getLastModified());
+        assertEquals(revalidatedAt, cached.getFetchedAt());
+        assertArrayEquals(body, Files.readAllBytes(bodyPath));
+    }
+
+    @Test
+    void testMissingMetadataIsTreatedAsFetchedLongAgo() throws IOException {
+        ModCache.save("CS2113", START_YEAR, new CachedResponse(BODY, Optional.of("\"v1\""), Optional.empty()));
+        Files.delete(NUSModsUtil.buildModCacheDirectory(START_YEAR).resolve("CS2113.properties"));
+
+        CachedResponse cached = ModCache.load("CS2113", START_YEAR).orElseThrow();
+        assertEquals(BODY, cached.getBody());
+        assertTrue(cached.getETag().isEmpty());
+        assertEquals(Instant.EPOCH, cached.getFetchedAt());
+    }
+
+    @Test
+    void testCorruptEntryIsIgnored() throws IOException {
+        ModCache.save("CS2113", START_YEAR, new CachedResponse(BODY, Optional.of("\"v1\""), Optional.empty()));
+        Path bodyPath = NUSModsUtil.buildModCacheDirectory(START_YEAR).resolve("CS2113.json");
+
+        byte[] bytes = Files.readAllBytes(bodyPath);
+        bytes[bytes.length - 2] ^= 1;
+        Files.write(bodyPath, bytes);
+        assertTrue(ModCache.load("CS2113", START_YEAR).isEmpty());
+
+        Files.writeString(bodyPath, BODY);
+        assertTrue(ModCache.load("CS2113", START_YEAR).isEmpty());
+    }
+
+}
@@ -0,0 +1,90 @@
+package modmate.download.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import modmate.mod.Mod;
+import modmate.mod.attribute.Faculty;
+import modmate.mod.attribute.ModAttributes;
+import modmate.timetable.Lesson;
+import modmate.timetable.Period;
+import modmate.timetable.Semester;
+import modmate.timetable.Timetable;
+import modmate.timetable.WeekRange;
+
+public class ModCodecTest {
+
+    static Mod createMod(String code) {
+        ModAttributes attributes = new ModAttributes(new Faculty("Computing"),
+                List.of(Semester.SEMESTER_1, Semester.SEMESTER_2), 4.0, true, Optional.of("2-1-0-3-4"));
+
+        Lesson lecture = new Lesson("Lecture", "1", new Period(DayOfWeek.FRIDAY,
+                LocalTime.of(16, 0), LocalTime.of(18, 0)), "COM1-0217");
+        Lesson tutorial = new Lesson("Tutorial", "T02", new Period(DayOfWeek.MONDAY,
+                LocalTime.of(9, 0), LocalTime.of(10, 0),
+                new WeekRange(LocalDate.of(2025, 1, 13), LocalDate.of(2025, 4, 14), List.of(2, 4, 6))),
+                "COM1-B103");
+
+        Timetable examTimetable = new Timetable(Semester.SEMESTER_2, Instant.parse("2025-04-29T01:00:00Z"),
+                Duration.ofMinutes(120), List.of(lecture, tutorial), Collections.emptyList());
+        Timetable plainTimetable = new Timetable(Semester.SEMESTER_1, List.of(lecture), Collections.emptyList());
+
+        return new Mod("Software Engineering & Object-Oriented Programming", code,
+                "Covers the ‘basics’ of software engineering.", attributes, List.of(plainTimetable, examTimetable));
+    }
+
+    @Test
+    void testRoundTrip() {
+        Mod mod = createMod("CS2113");
+
+        Mod decoded = ModCodec.decode(ByteBuffer.wrap(ModCodec.encode(mod)));
+
+        assertEquals(mod.getCode(), decoded.getCode());
+        assertEquals(mod.getName(), decoded.getName());
+        assertEquals(mod.getDescription(), decoded.getDescription());
+        assertEquals(mod.getAttributes().toString(), decoded.getAttributes().toString());
+        assertEquals(2, decoded.getTimetables().size());
+
+        Timetable timetable = decoded.getTimetables().get(1);
+        assertEquals(Semester.SEMESTER_2, timetable.getSemester());
+        assertEquals(Optional.of(Instant.parse("2025-04-29T01:00:00Z")), timetable.getExamInstant());
+        assertEquals(Optional.of(Duration.ofMinutes(120)), timetable.getExamDuration());
+        assertFalse(decoded.getTimetables().get(0).getExamInstant().isPresent());
+
+        List<Lesson> lessons = timetable.getLessons();
+        assertEquals(2, lessons.size());
+        assertEquals(mod.getTimetables().get(1).getLessons().get(0).toString(), lessons.get(0).toString());
+        assertEquals(List.of(2, 4, 6), lessons.get(1).getPeriod().getWeekRange().getWeeks());
+        assertEquals(Optional.of(LocalDate.of(2025, 1, 13)), lessons.get(1).getPeriod().getWeekRange().getStartDate());
+        assertEquals("T02", lessons.get(1).getId());
+        assertEquals("Tutorial", lessons.get(1).getType());
+    }
+
+    @Test
+    void testMissingAttributes() {
+        ModAttributes attributes = new ModAttributes(Optional.empty(), List.of(Semester.SPECIAL_TERM_1),
+                Optional.empty(), Optional.empty(), Optional.empty());
+        Mod mod = new Mod("Independent Study", "CS3750", null, attributes, List.of());
+
+        Mod decoded = ModCodec.decode(ByteBuffer.wrap(ModCodec.encode(mod)));
+
+        assertNull(decoded.getDescription());
+        assertTrue(decoded.getAttributes().getFacultyOpt().isEmpty());
+        assertTrue(decoded.getAttributes().getUnitsOpt().isEmpty());
+        assertEquals(List.of(Semester.SPECIAL_TERM_1), decoded.getAttributes().getAvailableSemesters());
+    }
+}
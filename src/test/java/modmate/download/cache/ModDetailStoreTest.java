@@ -0,0 +1,155 @@
+package modmate.download.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ModDetailStoreTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testPutAndGet() throws IOException {
+        try (ModDetailStore store = ModDetailStore.open(tempDir.resolve("mod_details.dat"))) {
+            store.put(ModCodecTest.createMod("CS2113"), "v1");
+
+            assertTrue(store.contains("cs2113"));
+            assertEquals("CS2113", store.get("CS2113").orElseThrow().getCode());
+            assertTrue(store.get("CS2113", "v1").isPresent());
+            assertFalse(store.get("CS2113", "v2").isPresent());
+            assertFalse(store.get("CS1010").isPresent());
+        }
+    }
+
+    @Test
+    void testReopenKeepsLatestRecords() throws IOException {
+        Path storePath = tempDir.resolve("mod_details.dat");
+        try (ModDetailStore store = ModDetailStore.open(storePath)) {
+            store.put(ModCodecTest.createMod("CS2113"), "v1");
+            store.put(ModCodecTest.createMod("CS1010"), "v1");
+            store.put(ModCodecTest.createMod("CS2113"), "v2");
+        }
+
+        try (ModDetailStore store = ModDetailStore.open(storePath)) {
+            assertEquals(2, store.size());
+            assertTrue(store.get("CS2113", "v2").isPresent());
+            assertFalse(store.get("CS2113", "v1").isPresent());
+            assertTrue(store.get("CS1010", "v1").isPresent());
+        }
+    }
+
+    @Test
+    void testIncompleteRecordIsDiscarded() throws IOException {
+        Path storePath = tempDir.resolve("mod_details.dat");
+        try (ModDetailStore store = ModDetailStore.open(storePath)) {
+            store.put(ModCodecTest.createMod("CS2113"), "v1");
+        }
+        long completeSize = Files.size(storePath);
+        Files.write(storePath, new byte[] { 0, 0, 1, 0, 42 }, StandardOpenOption.APPEND);
+
+        try (ModDetailStore store = ModDetailStore.open(storePath)) {
+            assertEquals(1, store.size());
+            assertTrue(store.get("CS2113", "v1").isPresent());
+            store.put(ModCodecTest.createMod("CS1010"), "v1");
+            assertTrue(store.get("CS1010").isPresent());
+        }
+        assertTrue(Files.size(storePath) > completeSize);
+    }
+
+    @Test
+    void testDamagedRecordIsDiscarded() throws IOException {
+        Path storePath = tempDir.resolve("mod_details.dat");
+        try (ModDetailStore store = ModDetailStore.open(storePath)) {
+            store.put(ModCodecTest.createMod("CS2113"), "v1");
+        }
+        long firstRecordSize = Files.size(storePath);
+        try (ModDetailStore store = ModDetailStore.open(storePath)) {
+            store.put(ModCodecTest.createMod("CS1010"), "v1");
+        }
+
+        byte[] bytes = Files.readAllBytes(storePath);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(storePath, bytes);
+
+        try (ModDetailStore store = ModDetailStore.open(storePath)) {
+            assertEquals(1, store.size());
+            assertTrue(store.get("CS2113", "v1").isPresent());
+            assertFalse(store.contains("CS1010"));
+        }
+        assertEquals(firstRecordSize, Files.size(storePath));
+    }
+
+    @Test
+    void testRecordsAcrossChunksAreRead() throws IOException {
+        Path storePath = tempDir.resolve("mod_details.dat");
+        try (ModDetailStore store = ModDetailStore.open(storePath)) {
+            store.put(ModCodecTest.createMod("CS1010"), "v1");
+        }
+        int recordSize = Math.toIntExact(Files.size(storePath));
+        Files.delete(storePath);
+
+        // Some records fit in a chunk, and others run over its end
+        int chunkSize = recordSize * 5 / 2;
+        List<String> codes = List.of("CS1010", "CS1231", "CS2030", "CS2040", "CS2100", "CS2113");
+        try (ModDetailStore store = ModDetailStore.open(storePath, chunkSize)) {
+            for (String code : codes) {
+                store.put(ModCodecTest.createMod(code), "v1");
+                assertEquals(code, store.get(code).orElseThrow().getCode());
+            }
+            for (String code : codes) {
+                assertEquals(code, store.get(code, "v1").orElseThrow().getCode());
+            }
+        }
+
+        try (ModDetailStore store = ModDetailStore.open(storePath, chunkSize)) {
+            assertEquals(codes.size(), store.size());
+            for (String code : codes) {
+                assertEquals(code, store.get(code).orElseThrow().getCode());
+            }
+        }
+    }
+
+    @Test
+    void testSupersededRecordsAreCompacted() throws IOException {
+        Path storePath = tempDir.resolve("mod_details.dat");
+        try (ModDetailStore store = ModDetailStore.open(storePath)) {
+            store.put(ModCodecTest.createMod("CS1010"), "v1");
+            for (int i = 1; i <= 3; i++) {
+                store.put(ModCodecTest.createMod("CS2113"), "v" + i);
+            }
+        }
+        long uncompactedSize = Files.size(storePath);
+
+        // Two superseded records against two current ones leave the file as it is
+        try (ModDetailStore store = ModDetailStore.open(storePath)) {
+            assertEquals(2, store.size());
+        }
+        assertEquals(uncompactedSize, Files.size(storePath));
+
+        try (ModDetailStore store = ModDetailStore.open(storePath)) {
+            store.put(ModCodecTest.createMod("CS2113"), "v4");
+        }
+        try (ModDetailStore store = ModDetailStore.open(storePath)) {
+            assertEquals(2, store.size());
+            assertTrue(store.get("CS1010", "v1").isPresent());
+            assertTrue(store.get("CS2113", "v4").isPresent());
+            store.put(ModCodecTest.createMod("MA1511"), "v1");
+            assertTrue(store.get("MA1511").isPresent());
+        }
+        assertTrue(Files.size(storePath) < uncompactedSize);
+
+        try (ModDetailStore store = ModDetailStore.open(storePath)) {
+            assertEquals(3, store.size());
+            assertTrue(store.get("CS2113", "v4").isPresent());
+        }
+    }
+}
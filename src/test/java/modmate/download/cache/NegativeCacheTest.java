@@ -0,0 +1,53 @@
+package modmate.download.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+public class NegativeCacheTest {
+
+    private final long[] now = {0};
+
+    @Test
+    void testKeyIsRememberedUntilItExpires() {
+        NegativeCache cache = new NegativeCache(Duration.ofMinutes(10), () -> now[0]);
+        cache.add("2024/CS21133");
+
+        now[0] += Duration.ofMinutes(9).toNanos();
+        assertTrue(cache.contains("2024/CS21133"));
+        assertFalse(cache.contains("2024/CS2113"));
+
+        now[0] += Duration.ofMinutes(1).toNanos();
+        assertFalse(cache.contains("2024/CS21133"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testAddingAgainExtendsExpiry() {
+        NegativeCache cache = new NegativeCache(Duration.ofMinutes(10), () -> now[0]);
+        cache.add("2024/CS21133");
+
+        now[0] += Duration.ofMinutes(9).toNanos();
+        cache.add("2024/CS21133");
+
+        now[0] += Duration.ofMinutes(9).toNanos();
+        assertTrue(cache.contains("2024/CS21133"));
+    }
+
+    @Test
+    void testExpiredKeysArePrunedAsKeysAreAdded() {
+        NegativeCache cache = new NegativeCache(Duration.ofMinutes(10), () -> now[0]);
+        for (int i = 0; i < 1000; i++) {
+            cache.add("2024/CS" + i);
+            now[0] += Duration.ofMinutes(1).toNanos();
+        }
+
+        assertTrue(cache.size() <= 64);
+        assertTrue(cache.contains("2024/CS999"));
+        assertFalse(cache.contains("2024/CS0"));
+    }
+}
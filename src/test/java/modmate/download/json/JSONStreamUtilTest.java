@@ -0,0 +1,57 @@
+package modmate.download.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+public class JSONStreamUtilTest {
+
+    private static List<JSONObject> readObjects(String json) {
+        List<JSONObject> objects = new ArrayList<>();
+        JSONStreamUtil.forEachObject(new StringReader(json), objects::add);
+        return objects;
+    }
+
+    @Test
+    void testObjectsAreReadInOrder() {
+        List<JSONObject> objects = readObjects(" [ {\"moduleCode\": \"CS2113\", \"semesters\": [1, 2]},\n"
+                + "{\"moduleCode\": \"CS1010\", \"title\": \"Programming [Methodology], {1}\"} ] ");
+
+        assertEquals(2, objects.size());
+        assertEquals("CS2113", objects.get(0).getString("moduleCode"));
+        assertEquals(2, objects.get(0).getJSONArray("semesters").length());
+        assertEquals("Programming [Methodology], {1}", objects.get(1).getString("title"));
+    }
+
+    @Test
+    void testEmptyArray() {
+        assertTrue(readObjects("[]").isEmpty());
+        assertTrue(readObjects("  [ \n ]").isEmpty());
+    }
+
+    @Test
+    void testObjectsBeforeAnErrorAreStillConsumed() {
+        List<JSONObject> objects = new ArrayList<>();
+
+        assertThrows(JSONException.class, () -> JSONStreamUtil.forEachObject(
+                new StringReader("[{\"moduleCode\": \"CS2113\"}, {\"moduleCode\": "), objects::add));
+        assertEquals(1, objects.size());
+    }
+
+    @Test
+    void testMalformedArraysAreRejected() {
+        assertThrows(JSONException.class, () -> readObjects("{\"moduleCode\": \"CS2113\"}"));
+        assertThrows(JSONException.class, () -> readObjects("[{\"moduleCode\": \"CS2113\"}, 42]"));
+        assertThrows(JSONException.class, () -> readObjects("[{\"moduleCode\": \"CS2113\"} {}]"));
+        assertThrows(JSONException.class, () -> readObjects("[{\"moduleCode\": \"CS2113\"},"));
+    }
+
+}
@@ -0,0 +1,129 @@
+package modmate.download.json.mod;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.StringReader;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import modmate.download.cache.ModCodec;
+import modmate.mod.Mod;
+import modmate.timetable.Semester;
+
+public class ModJSONDecoderTest {
+
+    private static final String MODULE_JSON = """
+            {
+              "acadYear": "2024/2025",
+              "preclusion": "CS2103, CS2103T",
+              "description": "Covers the \\u2018basics\\u2019 of \\"software\\" engineering.\\nWith a second line.",
+              "title": "Software Engineering & Object-Oriented Programming",
+              "department": "Computer Science",
+              "faculty": "Computing",
+              "workload": [2, 1, 0, 3, 4],
+              "prerequisite": "CS2040C or (CS2030 or its equivalent) and CS2040/S",
+              "moduleCredit": "4",
+              "moduleCode": "CS2113",
+              "attributes": {"mpes1": true, "mpes2": true},
+              "gradingBasisDescription": "Graded",
+              "semesterData": [
+                {
+                  "semester": 1,
+                  "timetable": [
+                    {
+                      "classNo": "1",
+                      "startTime": "1600",
+                      "endTime": "1800",
+                      "weeks": [1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13],
+                      "venue": "COM1-0217",
+                      "day": "Friday",
+                      "lessonType": "Lecture",
+                      "size": 300,
+                      "covidZone": "Unknown"
+                    }
+                  ],
+                  "covidZones": ["Unknown"]
+                },
+                {
+                  "semester": 2,
+                  "examDate": "2025-04-29T01:00:00.000Z",
+                  "examDuration": 120,
+                  "timetable": [
+                    {
+                      "classNo": "T02",
+                      "startTime": "0900",
+                      "endTime": "1000",
+                      "weeks": {"start": "2025-01-13", "end": "2025-04-14", "weeks": [2, 4, 6]},
+                      "venue": "COM1-B103",
+                      "day": "Monday",
+                      "lessonType": "Tutorial"
+                    },
+                    {
+                      "classNo": "T03",
+                      "startTime": "1000",
+                      "endTime": "1100",
+                      "weeks": {"start": "2025-01-13", "end": "2025-04-14", "weekInterval": 2},
+                      "venue": "COM1-B103",
+                      "day": "Tuesday",
+                      "lessonType": "Tutorial"
+                    }
+                  ]
+                }
+              ],
+              "prereqTree": {"and": [{"or": ["CS2040C:D", "CS2030:D"]}, "CS2040:D"]},
+              "fulfillRequirements": []
+            }
+            """;
+
+    @Test
+    void testDecodeMatchesParser() {
+        Mod parsed = new ModJSONParser(new JSONObject(MODULE_JSON)).getModule();
+        Mod decoded = ModJSONDecoder.decode(new StringReader(MODULE_JSON));
+
+        assertArrayEquals(ModCodec.encode(parsed), ModCodec.encode(decoded));
+        assertEquals("CS2113", decoded.getCode());
+        assertEquals(Semester.SEMESTER_2, decoded.getTimetables().get(1).getSemester());
+    }
+
+    @Test
+    void testDecodeWorkloadDescription() {
+        String json = MODULE_JSON.replace("\"workload\": [2, 1, 0, 3, 4]", "\"workload\": \"Varies\"");
+
+        Mod parsed = new ModJSONParser(new JSONObject(json)).getModule();
+        Mod decoded = ModJSONDecoder.decode(new StringReader(json));
+
+        assertArrayEquals(ModCodec.encode(parsed), ModCodec.encode(decoded));
+        assertEquals("Varies", decoded.getAttributes().getWorkloadOpt().orElseThrow());
+    }
+
+    @Test
+    void testDecodeLongTimetable() {
+        // Pads the first timetable well past the buffer of the reader, so that it is read in several parts
+        String padding = "x".repeat(50_000);
+        String json = MODULE_JSON.replace("\"covidZones\": [\"Unknown\"]", "\"covidZones\": [\"" + padding + "\"]");
+
+        Mod parsed = new ModJSONParser(new JSONObject(json)).getModule();
+        Mod decoded = ModJSONDecoder.decode(new StringReader(json));
+
+        assertArrayEquals(ModCodec.encode(parsed), ModCodec.encode(decoded));
+    }
+
+    @Test
+    void testDecodeMissingRequiredKey() {
+        String json = MODULE_JSON.replace("\"faculty\": \"Computing\",", "");
+
+        assertThrows(JSONException.class, () -> ModJSONDecoder.decode(new StringReader(json)));
+    }
+
+    @Test
+    void testDecodeMalformedJSON() {
+        String json = MODULE_JSON.substring(0, MODULE_JSON.indexOf("\"prereqTree\""));
+
+        assertThrows(JSONException.class, () -> ModJSONDecoder.decode(new StringReader(json)));
+    }
+
+}
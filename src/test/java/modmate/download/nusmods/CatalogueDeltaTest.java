@@ -0,0 +1,53 @@
+package modmate.download.nusmods;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import modmate.mod.CondensedMod;
+
+public class CatalogueDeltaTest {
+    private final CondensedMod cs1010 = new CondensedMod("Programming Methodology", "CS1010");
+    private final CondensedMod cs2113 = new CondensedMod("Software Engineering & OOP", "CS2113");
+    private final CondensedMod cs2113Renamed = new CondensedMod("Software Engineering", "CS2113");
+    private final CondensedMod cs2040 = new CondensedMod("Data Structures and Algorithms", "CS2040");
+
+    @Test
+    void testIdenticalCataloguesHaveNoChanges() {
+        Map<String, CondensedMod> mods = Map.of("CS1010", cs1010, "CS2113", cs2113);
+
+        assertTrue(CatalogueDelta.between(mods, Map.copyOf(mods)).isEmpty());
+        assertTrue(CatalogueDelta.empty().isEmpty());
+    }
+
+    @Test
+    void testAdditionsRemovalsAndRenames() {
+        Map<String, CondensedMod> oldMods = Map.of("CS1010", cs1010, "CS2113", cs2113);
+        Map<String, CondensedMod> newMods = Map.of("CS2113", cs2113Renamed, "CS2040", cs2040);
+
+        CatalogueDelta delta = CatalogueDelta.between(oldMods, newMods);
+
+        assertFalse(delta.isEmpty());
+        assertEquals(Map.of("CS2040", cs2040), delta.getAddedMods());
+        assertEquals(Map.of("CS1010", cs1010), delta.getRemovedMods());
+        assertEquals(Map.of("CS2113", cs2113Renamed), delta.getRenamedMods());
+    }
+
+    @Test
+    void testApplyToKeepsUnchangedMods() {
+        CondensedMod cs2100 = new CondensedMod("Computer Organisation", "CS2100");
+        Map<String, CondensedMod> oldMods = Map.of("CS1010", cs1010, "CS2113", cs2113, "CS2100", cs2100);
+        Map<String, CondensedMod> newMods = Map.of("CS2113", cs2113Renamed, "CS2040", cs2040,
+                "CS2100", new CondensedMod("Computer Organisation", "CS2100"));
+
+        Map<String, CondensedMod> updatedMods = CatalogueDelta.between(oldMods, newMods).applyTo(oldMods);
+
+        assertEquals(newMods, updatedMods);
+        assertSame(cs2100, updatedMods.get("CS2100"));
+    }
+}
@@ -0,0 +1,65 @@
+package modmate.download.nusmods;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import modmate.mod.CondensedMod;
+
+public class CatalogueSnapshotTest {
+    @TempDir
+    Path tempDir;
+
+    private final Map<String, CondensedMod> mods = Map.of(
+            "CS2113", new CondensedMod("Software Engineering & Object-Oriented Programming", "CS2113"),
+            "CS1010", new CondensedMod("Programming Methodology", "CS1010"),
+            "FIN3719", new CondensedMod("Économie Internationale", "FIN3719"));
+
+    @Test
+    void testRoundTrip() throws IOException {
+        Path snapshotPath = tempDir.resolve("snapshot.bin");
+        CatalogueSnapshot.write(snapshotPath, mods, "abc123");
+
+        CatalogueSnapshot snapshot = CatalogueSnapshot.read(snapshotPath, UnaryOperator.identity()).orElseThrow();
+
+        assertEquals(mods, snapshot.getMods());
+        assertEquals("abc123", snapshot.getSourceHash());
+    }
+
+    @Test
+    void testMissingSnapshotIsIgnored() {
+        assertTrue(CatalogueSnapshot.read(tempDir.resolve("missing.bin"), UnaryOperator.identity()).isEmpty());
+    }
+
+    @Test
+    void testOtherVersionIsIgnored() throws IOException {
+        Path snapshotPath = tempDir.resolve("snapshot.bin");
+        CatalogueSnapshot.write(snapshotPath, mods, "abc123");
+
+        byte[] bytes = Files.readAllBytes(snapshotPath);
+        bytes[7] = 99;
+        Files.write(snapshotPath, bytes);
+
+        assertTrue(CatalogueSnapshot.read(snapshotPath, UnaryOperator.identity()).isEmpty());
+    }
+
+    @Test
+    void testTruncatedSnapshotIsIgnored() throws IOException {
+        Path snapshotPath = tempDir.resolve("snapshot.bin");
+        CatalogueSnapshot.write(snapshotPath, mods, "abc123");
+
+        byte[] bytes = Files.readAllBytes(snapshotPath);
+        Files.write(snapshotPath, Arrays.copyOf(bytes, bytes.length - 5));
+
+        assertTrue(CatalogueSnapshot.read(snapshotPath, UnaryOperator.identity()).isEmpty());
+    }
+}
@@ -0,0 +1,88 @@
+package modmate.download.nusmods;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import modmate.mod.attribute.ModAttributes;
+import modmate.timetable.Semester;
+
+public class ModAttributesStoreTest {
+
+    private static final String DATA_DIRECTORY_PROPERTY = "modmate.dataDir";
+    private static final String BASE_URI_PROPERTY = "modmate.nusmods.baseUri";
+    private static final int START_YEAR = 2024;
+    private static final int MOD_COUNT = 10;
+
+    @TempDir
+    Path tempDir;
+
+    private NUSModsStandInServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new NUSModsStandInServer(0, MOD_COUNT).start();
+        System.setProperty(DATA_DIRECTORY_PROPERTY, tempDir.toString());
+        System.setProperty(BASE_URI_PROPERTY, server.getBaseUri());
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty(DATA_DIRECTORY_PROPERTY);
+        System.clearProperty(BASE_URI_PROPERTY);
+        server.close();
+    }
+
+    @Test
+    void testIngestMatchesLoad() {
+        ModAttributesStore ingested = ModAttributesStore.ingest(START_YEAR);
+
+        assertEquals(MOD_COUNT, ingested.size());
+        ModAttributes attributes = ingested.get(NUSModsStandInServer.getSyntheticCode(3).toLowerCase())
+                .orElseThrow();
+        assertEquals(2, attributes.getAvailableSemesters().size());
+        assertTrue(attributes.getAvailableSemesters().contains(Semester.SEMESTER_2));
+        assertTrue(ingested.get("CS2113").isEmpty());
+
+        assertEquals(ingested.getAll(), ModAttributesStore.load(START_YEAR).getAll());
+    }
+
+    @Test
+    void testLocalFileIsUsedWithoutRequest() {
+        ModAttributesStore.ingest(START_YEAR);
+        int requestCount = server.getRequestCount();
+
+        assertEquals(MOD_COUNT, ModAttributesStore.loadOrIngest(START_YEAR).size());
+        assertEquals(requestCount, server.getRequestCount());
+    }
+
+    @Test
+    void testDamagedFileIsIngestedAgain() throws IOException {
+        ModAttributesStore.ingest(START_YEAR);
+        Path filePath = Paths.get(NUSModsUtil.buildModAttributesFilePath(START_YEAR));
+        byte[] bytes = Files.readAllBytes(filePath);
+        bytes[bytes.length - 2] ^= 1;
+        Files.write(filePath, bytes);
+        int requestCount = server.getRequestCount();
+
+        assertTrue(ModAttributesStore.load(START_YEAR).isEmpty());
+        assertEquals(MOD_COUNT, ModAttributesStore.loadOrIngest(START_YEAR).size());
+        assertEquals(requestCount + 1, server.getRequestCount());
+    }
+
+    @Test
+    void testMissingFileLoadsEmptyStore() {
+        assertTrue(ModAttributesStore.load(START_YEAR).isEmpty());
+        assertEquals(0, server.getRequestCount());
+    }
+
+}
@@ -0,0 +1,41 @@
+package modmate.download.nusmods;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+import modmate.mod.CondensedMod;
+
+public class ModCatalogueRegistryTest {
+    private final ModCatalogueRegistry registry = new ModCatalogueRegistry();
+
+    @Test
+    void testCataloguesAreCachedPerYear() {
+        ModCatalogue catalogue = registry.get(2024);
+
+        assertSame(catalogue, registry.get(2024));
+        assertNotSame(catalogue, registry.get(2023));
+        assertEquals(2024, catalogue.getStartYear());
+        assertEquals(2, registry.size());
+    }
+
+    @Test
+    void testIdenticalModsAreShared() {
+        CondensedMod first = new CondensedMod("Software Engineering & OOP", "CS2113");
+        CondensedMod second = new CondensedMod("Software Engineering & OOP", "CS2113");
+
+        assertSame(first, registry.intern(first));
+        assertSame(first, registry.intern(second));
+    }
+
+    @Test
+    void testRenamedModsAreNotShared() {
+        CondensedMod first = new CondensedMod("Software Engineering & OOP", "CS2113");
+        CondensedMod renamed = new CondensedMod("Software Engineering", "CS2113");
+
+        registry.intern(first);
+        assertSame(renamed, registry.intern(renamed));
+    }
+}
@@ -0,0 +1,268 @@
+package modmate.download.nusmods;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+import java.util.function.UnaryOperator;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import modmate.download.HashUtil;
+import modmate.download.StorageUtil;
+import modmate.mod.CondensedMod;
+import modmate.mod.index.FuzzyIndex;
+import modmate.mod.index.TrigramIndex;
+
+public class ModCatalogueTest {
+
+    private static final String DATA_DIRECTORY_PROPERTY = "modmate.dataDir";
+    private static final String BASE_URI_PROPERTY = "modmate.nusmods.baseUri";
+    private static final int START_YEAR = 2024;
+    private static final Duration SLOW_REFRESH = Duration.ofSeconds(2);
+    private static final Duration WAIT_TIMEOUT = Duration.ofSeconds(10);
+
+    @TempDir
+    Path tempDir;
+
+    private Path modListPath;
+    private NUSModsStandInServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path recordedDirectory = tempDir.resolve("recorded");
+        modListPath = recordedDirectory.resolve("2024-2025").resolve("moduleList.json");
+        Files.createDirectories(modListPath.getParent());
+        writeModList(Map.of("CS2113", "Software Engineering & OOP", "CS1010", "Programming Methodology"), 1);
+
+        server = new NUSModsStandInServer(0, recordedDirectory).start();
+        System.setProperty(DATA_DIRECTORY_PROPERTY, tempDir.resolve("data").toString());
+        System.setProperty(BASE_URI_PROPERTY, server.getBaseUri());
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty(DATA_DIRECTORY_PROPERTY);
+        System.clearProperty(BASE_URI_PROPERTY);
+        server.close();
+    }
+
+    private static String buildModList(Map<String, String> titlesByCode, int semester) {
+        JSONArray modList = new JSONArray();
+        titlesByCode.forEach((code, title) -> modList.put(new JSONObject()
+                .put("moduleCode", code)
+                .put("title", title)
+                .put("semesters", new JSONArray().put(semester))));
+        return modList.toString();
+    }
+
+    private void writeModList(Map<String, String> titlesByCode, int semester) throws IOException {
+        Files.writeString(modListPath, buildModList(titlesByCode, semester));
+
+        if (server != null) {
+            server.reload();
+        }
+    }
+
+    private static Path getSnapshotPath() {
+        return Paths.get(NUSModsUtil.buildModSnapshotFilePath(START_YEAR));
+    }
+
+    private static Path getOnDiskModListPath() {
+        return Paths.get(NUSModsUtil.buildModListFilePath(START_YEAR));
+    }
+
+    private static Set<String> readSnapshotCodes() {
+        return CatalogueSnapshot.read(getSnapshotPath(), UnaryOperator.identity())
+                .map(snapshot -> snapshot.getMods().keySet())
+                .orElse(Set.of());
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + WAIT_TIMEOUT.toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Timed out waiting for the catalogue");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    void testSnapshotIsLoadedBeforeRefresh() throws IOException, InterruptedException {
+        CatalogueSnapshot.write(getSnapshotPath(), Map.of("OLD1000", new CondensedMod("Old Mod", "OLD1000")), "old");
+        server.setLatency(SLOW_REFRESH);
+        ModCatalogue catalogue = new ModCatalogue(START_YEAR);
+
+        long startTime = System.nanoTime();
+        assertEquals(Set.of("OLD1000"), catalogue.getMods().keySet());
+        assertTrue(System.nanoTime() - startTime < SLOW_REFRESH.toNanos());
+        assertEquals(1, catalogue.getIdentifierIndex().search("old mod").size());
+
+        waitUntil(() -> catalogue.getMods().containsKey("CS2113"));
+        waitUntil(() -> readSnapshotCodes().contains("CS2113"));
+        assertEquals(Set.of("CS2113", "CS1010"), catalogue.getMods().keySet());
+    }
+
+    @Test
+    void testChecksummedModListIsLoadedWithoutSnapshot() throws IOException, InterruptedException {
+        String modList = buildModList(Map.of("OLD1000", "Old Mod"), 1);
+        StorageUtil.writeChecksummed(getOnDiskModListPath(),
+                outputStream -> outputStream.write(modList.getBytes(StandardCharsets.UTF_8)));
+        Files.writeString(getSnapshotPath(), "not a snapshot");
+        server.setLatency(SLOW_REFRESH);
+        ModCatalogue catalogue = new ModCatalogue(START_YEAR);
+
+        long startTime = System.nanoTime();
+        assertEquals(Set.of("OLD1000"), catalogue.getMods().keySet());
+        assertTrue(System.nanoTime() - startTime < SLOW_REFRESH.toNanos());
+
+        // The on-disk copy is snapshotted, and the snapshot replaced again once the refresh arrives
+        waitUntil(() -> !readSnapshotCodes().isEmpty());
+        waitUntil(() -> readSnapshotCodes().contains("CS2113"));
+        assertEquals(Set.of("CS2113", "CS1010"), catalogue.getMods().keySet());
+    }
+
+    @Test
+    void testModListIsDownloadedWithoutOnDiskCopy() throws IOException, InterruptedException {
+        // A mod list without a checksum header may be incomplete, so it is not loaded
+        Files.createDirectories(getOnDiskModListPath().getParent());
+        Files.writeString(getOnDiskModListPath(), buildModList(Map.of("OLD1000", "Old Mod"), 1));
+        server.setLatency(Duration.ofMillis(200));
+        ModCatalogue catalogue = new ModCatalogue(START_YEAR);
+
+        assertFalse(catalogue.isAvailable());
+        assertEquals(Set.of("CS2113", "CS1010"), catalogue.getMods().keySet());
+        assertEquals(1, server.getRequestCount());
+        waitUntil(() -> readSnapshotCodes().equals(Set.of("CS2113", "CS1010")));
+    }
+
+    @Test
+    void testCatalogueIsEmptyWhenNothingLoads() throws IOException {
+        Files.delete(modListPath);
+        server.reload();
+        ModCatalogue catalogue = new ModCatalogue(START_YEAR);
+
+        assertTrue(catalogue.getMods().isEmpty());
+        assertFalse(catalogue.isAvailable());
+        assertTrue(catalogue.getIdentifierIndex().search("methodology").isEmpty());
+        assertTrue(catalogue.mightContain("CS2113"));
+    }
+
+    @Test
+    void testUnchangedModListIsDiscarded() throws IOException {
+        ModCatalogue catalogue = new ModCatalogue(START_YEAR);
+        assertEquals(2, catalogue.refresh().getAddedMods().size());
+        Map<String, CondensedMod> mods = catalogue.getMods();
+        TrigramIndex identifierIndex = catalogue.getIdentifierIndex();
+        byte[] snapshot = Files.readAllBytes(getSnapshotPath());
+
+        assertTrue(catalogue.refresh().isEmpty());
+        assertSame(mods, catalogue.getMods());
+        assertSame(identifierIndex, catalogue.getIdentifierIndex());
+        assertArrayEquals(snapshot, Files.readAllBytes(getSnapshotPath()));
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    void testModListWithUnchangedModsIsNotPublished() throws IOException {
+        ModCatalogue catalogue = new ModCatalogue(START_YEAR);
+        catalogue.refresh();
+        Map<String, CondensedMod> mods = catalogue.getMods();
+        TrigramIndex identifierIndex = catalogue.getIdentifierIndex();
+        FuzzyIndex fuzzyIndex = catalogue.getFuzzyIndex();
+        byte[] snapshot = Files.readAllBytes(getSnapshotPath());
+
+        // Only the semesters change, which the condensed mods do not hold
+        writeModList(Map.of("CS2113", "Software Engineering & OOP", "CS1010", "Programming Methodology"), 2);
+
+        assertTrue(catalogue.refresh().isEmpty());
+        assertSame(mods, catalogue.getMods());
+        assertSame(identifierIndex, catalogue.getIdentifierIndex());
+        assertSame(fuzzyIndex, catalogue.getFuzzyIndex());
+
+        // The download still replaces the on-disk copy of the mod list, and the snapshot records its hash
+        String modListHash = HashUtil.hashString(Files.readString(modListPath));
+        assertEquals(modListHash, StorageUtil.readChecksum(getOnDiskModListPath()).orElseThrow());
+        CatalogueSnapshot rewrittenSnapshot = CatalogueSnapshot.read(getSnapshotPath(), UnaryOperator.identity())
+                .orElseThrow();
+        assertEquals(modListHash, rewrittenSnapshot.getSourceHash());
+        assertEquals(mods, rewrittenSnapshot.getMods());
+        assertFalse(Arrays.equals(snapshot, Files.readAllBytes(getSnapshotPath())));
+    }
+
+    @Test
+    void testModListWithUnchangedModsIsNotParsedAgainOnNextLoad() throws IOException, InterruptedException {
+        ModCatalogue previousCatalogue = new ModCatalogue(START_YEAR);
+        previousCatalogue.refresh();
+        writeModList(Map.of("CS2113", "Software Engineering & OOP", "CS1010", "Programming Methodology"), 2);
+        assertTrue(previousCatalogue.refresh().isEmpty());
+        Path onDiskModListPath = getOnDiskModListPath();
+        BasicFileAttributes modListAttributes = Files.readAttributes(onDiskModListPath, BasicFileAttributes.class);
+        byte[] snapshot = Files.readAllBytes(getSnapshotPath());
+
+        // The next launch loads the snapshot and finds that the download matches it
+        ModCatalogue catalogue = new ModCatalogue(START_YEAR);
+        Map<String, CondensedMod> mods = catalogue.getMods();
+        waitUntil(() -> server.getRequestCount() == 3);
+        // A refresh waits for the one the load is running, and finds the mod list unchanged as well
+        assertTrue(catalogue.refresh().isEmpty());
+
+        assertSame(mods, catalogue.getMods());
+        BasicFileAttributes reloadedAttributes = Files.readAttributes(onDiskModListPath, BasicFileAttributes.class);
+        assertEquals(modListAttributes.fileKey(), reloadedAttributes.fileKey());
+        assertEquals(modListAttributes.lastModifiedTime(), reloadedAttributes.lastModifiedTime());
+        assertArrayEquals(snapshot, Files.readAllBytes(getSnapshotPath()));
+        assertFalse(Files.exists(onDiskModListPath.resolveSibling(onDiskModListPath.getFileName() + ".download")));
+    }
+
+    @Test
+    void testChangedModsArePublished() throws IOException {
+        ModCatalogue catalogue = new ModCatalogue(START_YEAR);
+        catalogue.refresh();
+        byte[] snapshot = Files.readAllBytes(getSnapshotPath());
+
+        writeModList(Map.of("CS2113", "Software Engineering", "MA1511", "Engineering Calculus"), 1);
+        CatalogueDelta delta = catalogue.refresh();
+
+        assertEquals(Set.of("MA1511"), delta.getAddedMods().keySet());
+        assertEquals(Set.of("CS1010"), delta.getRemovedMods().keySet());
+        assertEquals(Set.of("CS2113"), delta.getRenamedMods().keySet());
+        assertEquals(Set.of("CS2113", "MA1511"), catalogue.getMods().keySet());
+        assertEquals("Software Engineering", catalogue.getMods().get("CS2113").getName());
+        assertEquals(1, catalogue.getIdentifierIndex().search("calculus").size());
+        assertTrue(catalogue.getIdentifierIndex().search("methodology").isEmpty());
+        assertTrue(catalogue.mightContain("ma1511"));
+        assertFalse(Arrays.equals(snapshot, Files.readAllBytes(getSnapshotPath())));
+    }
+
+    @Test
+    void testSearchesWaitForFirstCopyToBeIndexed() {
+        ModCatalogue catalogue = new ModCatalogue(START_YEAR);
+        catalogue.loadInBackground();
+
+        assertEquals(2, catalogue.getMods().size());
+        assertEquals(1, catalogue.getIdentifierIndex().search("methodology").size());
+        assertEquals(1, catalogue.getFuzzyIndex().search("methodolgy", 1).size());
+    }
+
+}
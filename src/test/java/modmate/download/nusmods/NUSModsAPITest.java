@@ -0,0 +1,185 @@
+package modmate.download.nusmods;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import modmate.download.cache.CachedResponse;
+import modmate.download.cache.ModCache;
+
+public class NUSModsAPITest {
+
+    private static final String DATA_DIRECTORY_PROPERTY = "modmate.dataDir";
+    private static final String BASE_URI_PROPERTY = "modmate.nusmods.baseUri";
+    private static final String MOD_CACHE_TTL_PROPERTY = "modmate.cache.modTtlMillis";
+    private static final String MOD_CACHE_GRACE_PROPERTY = "modmate.cache.modGraceMillis";
+    private static final int MOD_COUNT = 10;
+    private static final Duration MOD_CACHE_TTL = Duration.ofMinutes(10);
+    private static final Duration MOD_CACHE_GRACE = Duration.ofMinutes(10);
+
+    @TempDir
+    Path tempDir;
+
+    private NUSModsStandInServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new NUSModsStandInServer(0, MOD_COUNT).start();
+        System.setProperty(DATA_DIRECTORY_PROPERTY, tempDir.toString());
+        System.setProperty(BASE_URI_PROPERTY, server.getBaseUri());
+        System.setProperty(MOD_CACHE_TTL_PROPERTY, String.valueOf(MOD_CACHE_TTL.toMillis()));
+        System.setProperty(MOD_CACHE_GRACE_PROPERTY, String.valueOf(MOD_CACHE_GRACE.toMillis()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty(DATA_DIRECTORY_PROPERTY);
+        System.clearProperty(BASE_URI_PROPERTY);
+        System.clearProperty(MOD_CACHE_TTL_PROPERTY);
+        System.clearProperty(MOD_CACHE_GRACE_PROPERTY);
+        server.close();
+    }
+
+    private static void waitForRequests(NUSModsStandInServer server, int requestCount) throws InterruptedException {
+        while (server.getRequestCount() < requestCount) {
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Fetches a mod so that its response is cached, and then backdates the
+     * cached response by the given age.
+     */
+    private static Instant cacheModFetchedAgo(String code, int startYear, Duration age) {
+        NUSModsAPI.fetchModuleAsync(code, startYear).join();
+        CachedResponse cached = ModCache.load(code, startYear).orElseThrow();
+        // The cache keeps times to the millisecond
+        Instant fetchedAt = Instant.now().minus(age).truncatedTo(ChronoUnit.MILLIS);
+        ModCache.touch(code, startYear, new CachedResponse(cached.getBody(), cached.getETag(),
+                cached.getLastModified(), fetchedAt));
+        return fetchedAt;
+    }
+
+    private static BasicFileAttributes readCachedBodyAttributes(String code, int startYear) throws IOException {
+        Path bodyPath = NUSModsUtil.buildModCacheDirectory(startYear).resolve(code + ".json");
+        return Files.readAttributes(bodyPath, BasicFileAttributes.class);
+    }
+
+    private static Instant getCachedFetchedAt(String code, int startYear) {
+        return ModCache.load(code, startYear).orElseThrow().getFetchedAt();
+    }
+
+    @Test
+    void testFreshCachedModIsServedWithoutRequest() {
+        // The years of these tests are not used elsewhere, as mod detail stores are kept for the whole run
+        int startYear = 2034;
+        String code = NUSModsStandInServer.getSyntheticCode(0);
+        Instant fetchedAt = cacheModFetchedAgo(code, startYear, MOD_CACHE_TTL.dividedBy(2));
+
+        assertEquals(code, NUSModsAPI.fetchModuleAsync(code, startYear).join().getCode());
+        assertEquals(1, server.getRequestCount());
+        assertEquals(fetchedAt, getCachedFetchedAt(code, startYear));
+    }
+
+    @Test
+    void testStaleCachedModIsServedWhileRevalidating() throws InterruptedException {
+        int startYear = 2035;
+        String code = NUSModsStandInServer.getSyntheticCode(0);
+        Instant fetchedAt = cacheModFetchedAgo(code, startYear, MOD_CACHE_TTL.plus(MOD_CACHE_GRACE.dividedBy(2)));
+        Duration latency = Duration.ofSeconds(2);
+        server.setLatency(latency);
+
+        long startTime = System.nanoTime();
+        assertEquals(code, NUSModsAPI.fetchModuleAsync(code, startYear).join().getCode());
+        assertTrue(System.nanoTime() - startTime < latency.toNanos());
+
+        waitForRequests(server, 2);
+        while (getCachedFetchedAt(code, startYear).equals(fetchedAt)) {
+            Thread.sleep(10);
+        }
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    void testExpiredCachedModIsRevalidatedFirst() throws IOException {
+        int startYear = 2036;
+        String code = NUSModsStandInServer.getSyntheticCode(0);
+        Instant fetchedAt = cacheModFetchedAgo(code, startYear, MOD_CACHE_TTL.plus(MOD_CACHE_GRACE).multipliedBy(2));
+        BasicFileAttributes bodyAttributes = readCachedBodyAttributes(code, startYear);
+        String bodyHash = ModCache.load(code, startYear).orElseThrow().getContentHash();
+
+        assertEquals(code, NUSModsAPI.fetchModuleAsync(code, startYear).join().getCode());
+        assertEquals(2, server.getRequestCount());
+        assertTrue(getCachedFetchedAt(code, startYear).isAfter(fetchedAt));
+
+        // The server answered 304 Not Modified, so only the metadata of the entry is rewritten
+        BasicFileAttributes revalidatedAttributes = readCachedBodyAttributes(code, startYear);
+        assertEquals(bodyAttributes.fileKey(), revalidatedAttributes.fileKey());
+        assertEquals(bodyAttributes.lastModifiedTime(), revalidatedAttributes.lastModifiedTime());
+        assertEquals(bodyHash, ModCache.load(code, startYear).orElseThrow().getContentHash());
+    }
+
+    @Test
+    void testExpiredCachedModIsUsedWhenRevalidationFails() {
+        int startYear = 2037;
+        String code = NUSModsStandInServer.getSyntheticCode(0);
+        Instant fetchedAt = cacheModFetchedAgo(code, startYear, MOD_CACHE_TTL.plus(MOD_CACHE_GRACE).multipliedBy(2));
+        server.setErrorRate(1);
+
+        assertEquals(code, NUSModsAPI.fetchModuleAsync(code, startYear).join().getCode());
+        assertTrue(server.getRequestCount() > 1);
+        assertEquals(fetchedAt, getCachedFetchedAt(code, startYear));
+
+        // A successful request closes the shared circuit breaker again for the tests after this one
+        server.setErrorRate(0);
+        NUSModsAPI.fetchModuleAsync(NUSModsStandInServer.getSyntheticCode(1), startYear).join();
+    }
+
+    @Test
+    void testConcurrentCallersShareOneIngest() {
+        // The years of these tests are not used elsewhere, as attribute stores are kept for the whole run
+        int startYear = 2031;
+        server.setLatency(Duration.ofMillis(200));
+
+        List<CompletableFuture<ModAttributesStore>> futures = IntStream.range(0, 4)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> NUSModsAPI.fetchModAttributesStore(startYear)))
+                .toList();
+
+        ModAttributesStore store = futures.get(0).join();
+        futures.forEach(future -> assertSame(store, future.join()));
+        assertEquals(MOD_COUNT, store.size());
+        assertEquals(1, server.getRequestCount());
+        assertSame(store, NUSModsAPI.fetchModAttributesStore(startYear));
+    }
+
+    @Test
+    void testIngestDoesNotHoldUpOtherYears() throws InterruptedException {
+        server.setLatency(Duration.ofSeconds(2));
+        CompletableFuture<ModAttributesStore> slowFuture =
+                CompletableFuture.supplyAsync(() -> NUSModsAPI.fetchModAttributesStore(2032));
+        waitForRequests(server, 1);
+        server.setLatency(Duration.ZERO);
+
+        assertEquals(MOD_COUNT, NUSModsAPI.fetchModAttributesStore(2033).size());
+        assertFalse(slowFuture.isDone());
+        assertEquals(MOD_COUNT, slowFuture.join().size());
+    }
+
+}
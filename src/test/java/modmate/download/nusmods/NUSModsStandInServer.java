@@ -0,0 +1,481 @@
+package modmate.download.nusmods;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * A stand-in for the NUSMods API, built on the JDK's built-in HTTP server, so
+ * that the download code can be tested and benchmarked without network access.
+ * The server serves moduleList.json, moduleInfo.json and modules/*.json for any
+ * academic year, either from a directory of recorded responses laid out like the
+ * API (e.g. {@code 2024-2025/modules/CS2113.json}) or from synthetic mods
+ * generated on the fly.
+ * Responses are gzip-compressed for clients that accept it, unless compression
+ * is turned off. Latency, error rate and throughput limits can be changed
+ * while the server is running. Point the application at the server by setting
+ * the {@code modmate.nusmods.baseUri} system property to {@link #getBaseUri()}.
+ */
+public class NUSModsStandInServer implements AutoCloseable {
+
+    private static final Pattern YEAR_PATH_PATTERN = Pattern.compile("^/(\\d{4}-\\d{4})/(.+)$");
+    private static final Pattern MOD_PATH_PATTERN = Pattern.compile("^modules/([A-Za-z0-9]+)\\.json$");
+
+    private static final int HTTP_OK = 200;
+    private static final int HTTP_NOT_MODIFIED = 304;
+    private static final int HTTP_NOT_FOUND = 404;
+    private static final int HTTP_METHOD_NOT_ALLOWED = 405;
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+    private static final int HTTP_SERVICE_UNAVAILABLE = 503;
+
+    private static final int CHUNK_SIZE = 8192;
+    private static final String[] FACULTIES = {
+        "Computing", "Engineering", "Science", "Business", "Arts and Social Science"
+    };
+    private static final String[] LESSON_TYPES = { "Lecture", "Tutorial", "Laboratory" };
+    private static final String[] DAYS = { "Monday", "Tuesday", "Wednesday", "Thursday", "Friday" };
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Optional<Path> recordedDirectoryOpt;
+    private final int syntheticModCount;
+    private final Map<String, Optional<byte[]>> payloads = new ConcurrentHashMap<>();
+    private final Map<String, byte[]> compressedPayloads = new ConcurrentHashMap<>();
+
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private final AtomicInteger compressedResponseCount = new AtomicInteger();
+    private final AtomicLong rateWindowStartMillis = new AtomicLong();
+    private final AtomicInteger rateWindowCount = new AtomicInteger();
+
+    private volatile Duration latency = Duration.ZERO;
+    private volatile double errorRate = 0;
+    private volatile int maxRequestsPerSecond = 0;
+    private volatile long maxBytesPerSecond = 0;
+    private volatile boolean isCompressionEnabled = true;
+
+    /**
+     * Constructs a stand-in server serving synthetic mods.
+     *
+     * @param port              the port to listen on, or 0 for any free port
+     * @param syntheticModCount the number of synthetic mods to serve per year
+     * @throws IOException if the server could not be bound to the port
+     */
+    public NUSModsStandInServer(int port, int syntheticModCount) throws IOException {
+        this(port, Optional.empty(), syntheticModCount);
+    }
+
+    /**
+     * Constructs a stand-in server serving recorded responses.
+     * Requests for files that are not in the directory receive 404 Not Found.
+     *
+     * @param port              the port to listen on, or 0 for any free port
+     * @param recordedDirectory the directory of recorded responses
+     * @throws IOException if the server could not be bound to the port
+     */
+    public NUSModsStandInServer(int port, Path recordedDirectory) throws IOException {
+        this(port, Optional.of(recordedDirectory), 0);
+    }
+
+    private NUSModsStandInServer(int port, Optional<Path> recordedDirectoryOpt, int syntheticModCount)
+            throws IOException {
+        this.recordedDirectoryOpt = recordedDirectoryOpt;
+        this.syntheticModCount = syntheticModCount;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "nusmods-stand-in");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+    }
+
+    /**
+     * Starts the server in the background.
+     *
+     * @return this server
+     */
+    public NUSModsStandInServer start() {
+        server.start();
+        return this;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    /**
+     * Returns the base URI of the server, to be used in place of the base URI
+     * of the NUSMods API.
+     *
+     * @return the base URI of the server, without a trailing slash
+     */
+    public String getBaseUri() {
+        return "http://localhost:" + getPort();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public int getRequestCount() {
+        return requestCount.get();
+    }
+
+    public int getCompressedResponseCount() {
+        return compressedResponseCount.get();
+    }
+
+    /**
+     * Sets the delay added before every response.
+     *
+     * @param latency the delay to add
+     */
+    public void setLatency(Duration latency) {
+        this.latency = latency;
+    }
+
+    /**
+     * Sets the fraction of requests that fail with 503 Service Unavailable.
+     *
+     * @param errorRate a value between 0 (no errors) and 1 (every request fails)
+     */
+    public void setErrorRate(double errorRate) {
+        if (errorRate < 0 || errorRate > 1) {
+            throw new IllegalArgumentException("Error rate must be between 0 and 1");
+        }
+        this.errorRate = errorRate;
+    }
+
+    /**
+     * Sets the number of requests served per second, beyond which requests
+     * fail with 429 Too Many Requests.
+     *
+     * @param maxRequestsPerSecond the limit, or 0 for no limit
+     */
+    public void setMaxRequestsPerSecond(int maxRequestsPerSecond) {
+        this.maxRequestsPerSecond = maxRequestsPerSecond;
+    }
+
+    /**
+     * Sets the rate at which each response body is written.
+     *
+     * @param maxBytesPerSecond the limit, or 0 for no limit
+     */
+    public void setMaxBytesPerSecond(long maxBytesPerSecond) {
+        this.maxBytesPerSecond = maxBytesPerSecond;
+    }
+
+    /**
+     * Sets whether responses are gzip-compressed for clients that accept it.
+     *
+     * @param isCompressionEnabled true to compress responses, false otherwise
+     */
+    public void setCompressionEnabled(boolean isCompressionEnabled) {
+        this.isCompressionEnabled = isCompressionEnabled;
+    }
+
+    /**
+     * Forgets the responses served so far, so that recorded files that have
+     * changed since are served as they are now.
+     */
+    public void reload() {
+        payloads.clear();
+        compressedPayloads.clear();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requestCount.incrementAndGet();
+
+        try (exchange) {
+            sleep(latency.toMillis());
+
+            if (!exchange.getRequestMethod().equals("GET")) {
+                exchange.sendResponseHeaders(HTTP_METHOD_NOT_ALLOWED, -1);
+                return;
+            }
+
+            if (isRateLimited()) {
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                exchange.sendResponseHeaders(HTTP_TOO_MANY_REQUESTS, -1);
+                return;
+            }
+
+            if (ThreadLocalRandom.current().nextDouble() < errorRate) {
+                exchange.sendResponseHeaders(HTTP_SERVICE_UNAVAILABLE, -1);
+                return;
+            }
+
+            String path = exchange.getRequestURI().getPath();
+            Optional<byte[]> payloadOpt = payloads.computeIfAbsent(path, this::loadPayload);
+            if (payloadOpt.isEmpty()) {
+                exchange.sendResponseHeaders(HTTP_NOT_FOUND, -1);
+                return;
+            }
+
+            byte[] payload = payloadOpt.get();
+            String eTag = "\"" + Integer.toHexString(Arrays.hashCode(payload)) + "\"";
+            exchange.getResponseHeaders().set("ETag", eTag);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+
+            if (eTag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(HTTP_NOT_MODIFIED, -1);
+                return;
+            }
+
+            String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+            if (isCompressionEnabled && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+                payload = compressedPayloads.computeIfAbsent(path, ignored -> compress(payloadOpt.get()));
+                exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+                compressedResponseCount.incrementAndGet();
+            }
+
+            exchange.sendResponseHeaders(HTTP_OK, payload.length);
+            writeThrottled(exchange.getResponseBody(), payload);
+        }
+    }
+
+    private boolean isRateLimited() {
+        int limit = maxRequestsPerSecond;
+        if (limit <= 0) {
+            return false;
+        }
+
+        long nowMillis = System.currentTimeMillis();
+        long windowStartMillis = rateWindowStartMillis.get();
+        if (nowMillis - windowStartMillis >= TimeUnit.SECONDS.toMillis(1)
+                && rateWindowStartMillis.compareAndSet(windowStartMillis, nowMillis)) {
+            rateWindowCount.set(0);
+        }
+
+        return rateWindowCount.incrementAndGet() > limit;
+    }
+
+    private void writeThrottled(OutputStream outputStream, byte[] payload) throws IOException {
+        long limit = maxBytesPerSecond;
+        if (limit <= 0) {
+            outputStream.write(payload);
+            return;
+        }
+
+        for (int offset = 0; offset < payload.length; offset += CHUNK_SIZE) {
+            int length = Math.min(CHUNK_SIZE, payload.length - offset);
+            outputStream.write(payload, offset, length);
+            outputStream.flush();
+            sleep(TimeUnit.SECONDS.toMillis(length) / limit);
+        }
+    }
+
+    private static byte[] compress(byte[] payload) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream)) {
+            gzipOutputStream.write(payload);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return outputStream.toByteArray();
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Optional<byte[]> loadPayload(String path) {
+        Matcher yearMatcher = YEAR_PATH_PATTERN.matcher(path);
+        if (!yearMatcher.matches()) {
+            return Optional.empty();
+        }
+
+        String year = yearMatcher.group(1);
+        String file = yearMatcher.group(2);
+
+        if (recordedDirectoryOpt.isPresent()) {
+            return loadRecordedPayload(recordedDirectoryOpt.get(), year, file);
+        }
+
+        Optional<String> payloadOpt = Optional.empty();
+        Matcher modMatcher = MOD_PATH_PATTERN.matcher(file);
+        if (file.equals("moduleList.json")) {
+            payloadOpt = Optional.of(buildModList().toString());
+        } else if (file.equals("moduleInfo.json")) {
+            payloadOpt = Optional.of(buildModInfo().toString());
+        } else if (modMatcher.matches()) {
+            payloadOpt = findSyntheticIndex(modMatcher.group(1))
+                    .map(index -> buildMod(index, year).toString());
+        }
+
+        return payloadOpt.map(payload -> payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Optional<byte[]> loadRecordedPayload(Path recordedDirectory, String year, String file) {
+        Path filePath = recordedDirectory.resolve(year).resolve(file).normalize();
+        if (!filePath.startsWith(recordedDirectory) || !Files.isRegularFile(filePath)) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(Files.readAllBytes(filePath));
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Returns the code of the synthetic mod at the given index.
+     *
+     * @param index the index of the synthetic mod
+     * @return the code of the synthetic mod (e.g., SYN1000 for index 0)
+     */
+    public static String getSyntheticCode(int index) {
+        return "SYN" + (1000 + index);
+    }
+
+    private Optional<Integer> findSyntheticIndex(String code) {
+        String upperCode = code.toUpperCase();
+        if (!upperCode.startsWith("SYN")) {
+            return Optional.empty();
+        }
+
+        try {
+            int index = Integer.parseInt(upperCode.substring(3)) - 1000;
+            return index >= 0 && index < syntheticModCount ? Optional.of(index) : Optional.empty();
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    private JSONArray buildModList() {
+        JSONArray modList = new JSONArray();
+        for (int i = 0; i < syntheticModCount; i++) {
+            modList.put(new JSONObject()
+                    .put("moduleCode", getSyntheticCode(i))
+                    .put("title", "Synthetic Module " + i)
+                    .put("semesters", new JSONArray().put(1).put(2)));
+        }
+        return modList;
+    }
+
+    private JSONArray buildModInfo() {
+        JSONArray modInfo = new JSONArray();
+        for (int i = 0; i < syntheticModCount; i++) {
+            JSONObject mod = buildModSummary(i);
+            mod.put("semesterData", new JSONArray()
+                    .put(new JSONObject().put("semester", 1))
+                    .put(new JSONObject().put("semester", 2)));
+            modInfo.put(mod);
+        }
+        return modInfo;
+    }
+
+    private static JSONObject buildModSummary(int index) {
+        Random random = new Random(index);
+
+        return new JSONObject()
+                .put("moduleCode", getSyntheticCode(index))
+                .put("title", "Synthetic Module " + index)
+                .put("description", "A synthetic module served by the NUSMods stand-in server.")
+                .put("moduleCredit", String.valueOf(2 + 2 * random.nextInt(3)))
+                .put("faculty", FACULTIES[random.nextInt(FACULTIES.length)])
+                .put("gradingBasisDescription", random.nextInt(4) == 0 ? "Completed Satisfactory" : "Graded")
+                .put("workload", new JSONArray().put(2).put(1).put(0).put(3).put(4));
+    }
+
+    private static JSONObject buildMod(int index, String year) {
+        Random random = new Random(index);
+        JSONObject mod = buildModSummary(index);
+        mod.put("acadYear", year.replace('-', '/'));
+
+        JSONArray semesterData = new JSONArray();
+        for (int semester = 1; semester <= 2; semester++) {
+            JSONArray timetable = new JSONArray();
+            for (String lessonType : LESSON_TYPES) {
+                int startHour = 8 + random.nextInt(10);
+                timetable.put(new JSONObject()
+                        .put("classNo", String.valueOf(1 + random.nextInt(9)))
+                        .put("startTime", String.format("%02d00", startHour))
+                        .put("endTime", String.format("%02d00", startHour + 1))
+                        .put("weeks", new JSONArray().put(1).put(2).put(3).put(4).put(5).put(6))
+                        .put("venue", "SYN-" + random.nextInt(100))
+                        .put("day", DAYS[random.nextInt(DAYS.length)])
+                        .put("lessonType", lessonType));
+            }
+            semesterData.put(new JSONObject()
+                    .put("semester", semester)
+                    .put("timetable", timetable));
+        }
+
+        return mod.put("semesterData", semesterData);
+    }
+
+    /**
+     * Runs the stand-in server until the process is stopped.
+     * Options: {@code --port <port>}, {@code --data <directory>},
+     * {@code --mods <count>}, {@code --latency <millis>},
+     * {@code --error-rate <fraction>}, {@code --max-rps <count>},
+     * {@code --max-bps <bytes>} and {@code --compress <true|false>}.
+     *
+     * @param args the command line options
+     * @throws IOException if the server could not be started
+     */
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i], args[i + 1]);
+        }
+
+        int port = Integer.parseInt(options.getOrDefault("--port", "8080"));
+        NUSModsStandInServer server = options.containsKey("--data")
+                ? new NUSModsStandInServer(port, Paths.get(options.get("--data")).toAbsolutePath())
+                : new NUSModsStandInServer(port, Integer.parseInt(options.getOrDefault("--mods", "1000")));
+
+        server.setLatency(Duration.ofMillis(Long.parseLong(options.getOrDefault("--latency", "0"))));
+        server.setErrorRate(Double.parseDouble(options.getOrDefault("--error-rate", "0")));
+        server.setMaxRequestsPerSecond(Integer.parseInt(options.getOrDefault("--max-rps", "0")));
+        server.setMaxBytesPerSecond(Long.parseLong(options.getOrDefault("--max-bps", "0")));
+        server.setCompressionEnabled(!options.getOrDefault("--compress", "true").equals("false"));
+        server.start();
+
+        System.out.println("NUSMods stand-in server listening on " + server.getBaseUri());
+        System.out.println("Run ModMate with -Dmodmate.nusmods.baseUri=" + server.getBaseUri());
+    }
+
+}
@@ -2,6 +2,7 @@ package modmate.mod;
 
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class CondensedModTest {
@@ -27,4 +28,14 @@ public class CondensedModTest {
                 () -> new CondensedMod("Programming Methodology", null));
         assertEquals("Code is null", exception.getMessage());
     }
+
+    @Test
+    void testEquality() {
+        CondensedMod mod = new CondensedMod("Programming Methodology", "CS1010");
+
+        assertEquals(mod, new CondensedMod("Programming Methodology", "CS1010"));
+        assertEquals(mod.hashCode(), new CondensedMod("Programming Methodology", "CS1010").hashCode());
+        assertNotEquals(mod, new CondensedMod("Programming Methodology I", "CS1010"));
+        assertNotEquals(mod, new CondensedMod("Programming Methodology", "CS1010E"));
+    }
 }
@@ -0,0 +1,68 @@
+package modmate.mod;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import modmate.mod.attribute.Faculty;
+import modmate.mod.attribute.ModAttributes;
+import modmate.timetable.Semester;
+import modmate.timetable.Timetable;
+
+public class LazyModTest {
+    private static final List<Semester> SEMESTERS = List.of(Semester.SEMESTER_1, Semester.SEMESTER_2);
+
+    private AtomicInteger decodeCount;
+    private LazyMod mod;
+
+    @BeforeEach
+    void setUp() {
+        decodeCount = new AtomicInteger();
+        ModAttributes attributes = new ModAttributes(new Faculty("Computing"), SEMESTERS, 4.0, true,
+                Optional.empty());
+
+        mod = new LazyMod("Software Engineering & Object-Oriented Programming", "CS2113", "A description",
+                attributes, SEMESTERS, index -> {
+                    decodeCount.incrementAndGet();
+                    return new Timetable(SEMESTERS.get(index), Collections.emptyList(), Collections.emptyList());
+                });
+    }
+
+    @Test
+    void testDetailsDoNotDecodeTimetables() {
+        assertEquals("CS2113", mod.getCode());
+        assertEquals(SEMESTERS, mod.getAttributes().getAvailableSemesters());
+        assertEquals(0, decodeCount.get());
+    }
+
+    @Test
+    void testGetTimetableDecodesOnlyThatSemester() {
+        Timetable timetable = mod.getTimetable(Semester.SEMESTER_2).orElseThrow();
+
+        assertEquals(Semester.SEMESTER_2, timetable.getSemester());
+        assertSame(timetable, mod.getTimetable(Semester.SEMESTER_2).orElseThrow());
+        assertFalse(mod.getTimetable(Semester.SPECIAL_TERM_1).isPresent());
+        assertEquals(1, decodeCount.get());
+    }
+
+    @Test
+    void testGetTimetablesDecodesEachTimetableOnce() {
+        Timetable timetable = mod.getTimetable(Semester.SEMESTER_1).orElseThrow();
+
+        List<Timetable> timetables = mod.getTimetables();
+        mod.getTimetables();
+
+        assertEquals(2, timetables.size());
+        assertSame(timetable, timetables.get(0));
+        assertEquals(2, decodeCount.get());
+    }
+
+}
@@ -0,0 +1,76 @@
+package modmate.mod.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import modmate.mod.attribute.Faculty;
+import modmate.mod.attribute.ModAttributes;
+import modmate.timetable.Semester;
+
+public class AttributeIndexTest {
+    private AttributeIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new AttributeIndex(Map.of(
+                "CS2113", new ModAttributes(new Faculty("Computing"),
+                        List.of(Semester.SEMESTER_1, Semester.SEMESTER_2), 4.0, true, Optional.empty()),
+                "CS2101", new ModAttributes(new Faculty("Computing"),
+                        List.of(Semester.SEMESTER_2), 4.0, true, Optional.empty()),
+                "CFG1002", new ModAttributes(new Faculty("NUS"),
+                        List.of(Semester.SEMESTER_1), 2.0, false, Optional.empty())));
+    }
+
+    private ModAttributes searchAttributes(Optional<Faculty> faculty, List<Semester> semesters,
+            Optional<Double> units, Optional<Boolean> isGraded) {
+        return new ModAttributes(faculty, semesters, units, isGraded, Optional.empty());
+    }
+
+    @Test
+    void testSearchByFacultyIgnoresCase() {
+        Set<String> result = index.search(searchAttributes(Optional.of(new Faculty("computing")),
+                Collections.emptyList(), Optional.empty(), Optional.empty()));
+        assertEquals(Set.of("CS2113", "CS2101"), result);
+    }
+
+    @Test
+    void testSearchByUnitsAndGraded() {
+        Set<String> result = index.search(searchAttributes(Optional.empty(),
+                Collections.emptyList(), Optional.of(2.0), Optional.of(false)));
+        assertEquals(Set.of("CFG1002"), result);
+    }
+
+    @Test
+    void testSearchBySemesters() {
+        Set<String> result = index.search(searchAttributes(Optional.empty(),
+                List.of(Semester.SEMESTER_1, Semester.SEMESTER_2), Optional.empty(), Optional.empty()));
+        assertEquals(Set.of("CS2113", "CS2101", "CFG1002"), result);
+
+        result = index.search(searchAttributes(Optional.of(new Faculty("Computing")),
+                List.of(Semester.SEMESTER_1), Optional.empty(), Optional.empty()));
+        assertEquals(Set.of("CS2113"), result);
+    }
+
+    @Test
+    void testSearchWithNoMatch() {
+        Set<String> result = index.search(searchAttributes(Optional.of(new Faculty("Law")),
+                Collections.emptyList(), Optional.empty(), Optional.empty()));
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void testGetAttributes() {
+        assertTrue(index.getAttributes("cs2113").isPresent());
+        assertTrue(index.getAttributes("CS9999").isEmpty());
+        assertTrue(AttributeIndex.empty().isEmpty());
+    }
+}
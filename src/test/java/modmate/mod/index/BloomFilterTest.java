@@ -0,0 +1,52 @@
+package modmate.mod.index;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class BloomFilterTest {
+
+    @Test
+    void testAddedValuesAreAlwaysFound() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filter.add("CS" + i);
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(filter.mightContain("CS" + i));
+        }
+    }
+
+    @Test
+    void testFalsePositiveRateIsNearTarget() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filter.add("CS" + i);
+        }
+
+        int falsePositiveCount = 0;
+        for (int i = 0; i < 10000; i++) {
+            if (filter.mightContain("MA" + i)) {
+                falsePositiveCount++;
+            }
+        }
+        assertTrue(falsePositiveCount < 300, "Too many false positives: " + falsePositiveCount);
+    }
+
+    @Test
+    void testEmptyFilterContainsNothing() {
+        BloomFilter filter = new BloomFilter(0, 0.01);
+
+        assertFalse(filter.mightContain("CS2113"));
+        assertFalse(filter.mightContain(""));
+    }
+
+    @Test
+    void testInvalidFalsePositiveRateIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(10, 0));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(10, 1));
+    }
+}
@@ -0,0 +1,103 @@
+package modmate.mod.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import modmate.mod.CondensedMod;
+
+public class FuzzyIndexTest {
+
+    private static final List<CondensedMod> MODS = List.of(
+            new CondensedMod("Software Engineering & Object-Oriented Programming", "CS2113"),
+            new CondensedMod("Software Engineering", "CS2103T"),
+            new CondensedMod("Data Structures and Algorithms", "CS2040C"),
+            new CondensedMod("Programming Methodology", "CS1010"),
+            new CondensedMod("Engineering Calculus", "MA1511"));
+
+    private static Set<String> searchCodes(FuzzyIndex index, String query, int maxDistance) {
+        return index.search(query, maxDistance).stream()
+                .map(CondensedMod::getCode)
+                .collect(Collectors.toSet());
+    }
+
+    @Test
+    void testEditDistance() {
+        assertEquals(0, BKTree.getEditDistance("cs2113", "cs2113"));
+        assertEquals(1, BKTree.getEditDistance("sofware", "software"));
+        assertEquals(2, BKTree.getEditDistance("cs2131", "cs2113"));
+        assertEquals(3, BKTree.getEditDistance("kitten", "sitting"));
+    }
+
+    @Test
+    void testBKTreeMatchesLinearScan() {
+        BKTree tree = new BKTree();
+        List<String> terms = List.of("software", "engineering", "programming", "methodology", "calculus",
+                "data", "structures", "algorithms", "object", "oriented", "and", "cs2113", "cs2103t");
+        terms.forEach(tree::add);
+        tree.add("software");
+
+        assertEquals(terms.size(), tree.size());
+        for (String query : List.of("sofware", "enginering", "progamming", "cs2131", "dta", "xyz")) {
+            for (int maxDistance = 0; maxDistance <= FuzzyIndex.MAX_EDIT_DISTANCE; maxDistance++) {
+                int distance = maxDistance;
+                Set<String> expected = terms.stream()
+                        .filter(term -> BKTree.getEditDistance(query, term) <= distance)
+                        .collect(Collectors.toSet());
+                assertEquals(expected, Set.copyOf(tree.search(query, maxDistance)), query);
+            }
+        }
+    }
+
+    @Test
+    void testSearchToleratesTypos() {
+        FuzzyIndex index = new FuzzyIndex(MODS);
+
+        assertTrue(index.search("CS2131", 1).isEmpty());
+        assertEquals(Set.of("CS2113", "CS2103T"), searchCodes(index, "CS2131", 2));
+        assertEquals(Set.of("CS2113", "CS2103T"), searchCodes(index, "Sofware Engineering", 1));
+        assertEquals(Set.of("CS1010"), searchCodes(index, "programing methodolgy", 2));
+    }
+
+    @Test
+    void testEveryWordMustMatch() {
+        FuzzyIndex index = new FuzzyIndex(MODS);
+
+        assertEquals(Set.of("MA1511"), searchCodes(index, "enginering calculus", 1));
+        assertTrue(index.search("sofware calculus", 2).isEmpty());
+    }
+
+    @Test
+    void testShortWordsAllowFewerEdits() {
+        FuzzyIndex index = new FuzzyIndex(MODS);
+
+        // "ant" is one edit from "and", but a three-letter word may not match with more than one edit
+        assertEquals(Set.of("CS2040C"), searchCodes(index, "ant", 3));
+        assertTrue(index.search("at", 3).isEmpty());
+    }
+
+    @Test
+    void testInvalidDistanceIsRejected() {
+        FuzzyIndex index = new FuzzyIndex(MODS);
+
+        assertThrows(IllegalArgumentException.class, () -> index.search("software", -1));
+        assertThrows(IllegalArgumentException.class, () -> index.search("software", FuzzyIndex.MAX_EDIT_DISTANCE + 1));
+    }
+
+    @Test
+    void testCodesMatchWhateverSeparatesTheirParts() {
+        FuzzyIndex index = new FuzzyIndex(MODS);
+
+        assertEquals(Set.of("CS2113"), searchCodes(index, "CS-2113", 0));
+        assertEquals(Set.of("CS2113"), searchCodes(index, "cs 2113", 0));
+        assertEquals(Set.of("CS2113"), searchCodes(index, "CS2113", 0));
+        assertEquals(Set.of("CS2103T"), searchCodes(index, "CS-2103-T", 0));
+        assertEquals(Set.of("CS2113", "CS2103T"), searchCodes(index, "CS-2103", 1));
+    }
+}
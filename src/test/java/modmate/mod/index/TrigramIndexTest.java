@@ -0,0 +1,77 @@
+package modmate.mod.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import modmate.mod.CondensedMod;
+
+public class TrigramIndexTest {
+
+    private static final List<CondensedMod> MODS = List.of(
+            new CondensedMod("Software Engineering & Object-Oriented Programming", "CS2113"),
+            new CondensedMod("Software Engineering", "CS2103T"),
+            new CondensedMod("Data Structures and Algorithms", "CS2040C"),
+            new CondensedMod("Programming Methodology", "CS1010"),
+            new CondensedMod("Engineering Calculus", "MA1511"));
+
+    private static Set<String> searchCodes(TrigramIndex index, String query) {
+        return index.search(query).stream()
+                .map(CondensedMod::getCode)
+                .collect(Collectors.toSet());
+    }
+
+    @Test
+    void testSearchByCodeAndName() {
+        TrigramIndex index = new TrigramIndex(MODS);
+
+        assertEquals(Set.of("CS2113", "CS2103T"), searchCodes(index, "cs21"));
+        assertEquals(Set.of("CS2113", "CS2103T", "MA1511"), searchCodes(index, "ENGINEERING"));
+        assertEquals(Set.of("CS2113", "CS1010"), searchCodes(index, "programming"));
+    }
+
+    @Test
+    void testCandidatesAreVerified() {
+        TrigramIndex index = new TrigramIndex(MODS);
+
+        // Every trigram of the query appears in "Software Engineering", but not the query itself
+        assertTrue(index.search("engineeringine").isEmpty());
+        assertTrue(index.search("quantum").isEmpty());
+    }
+
+    @Test
+    void testShortQueriesAreScanned() {
+        TrigramIndex index = new TrigramIndex(MODS);
+
+        assertEquals(Set.of("MA1511"), searchCodes(index, "ma"));
+        assertEquals(MODS.size(), index.search("").size());
+    }
+
+    @Test
+    void testSearchMatchesLinearScan() {
+        TrigramIndex index = new TrigramIndex(MODS);
+
+        for (CondensedMod mod : MODS) {
+            String name = mod.getName().toLowerCase();
+            for (int start = 0; start < name.length(); start += 3) {
+                String query = name.substring(start, Math.min(name.length(), start + 5));
+
+                Set<String> expectedCodes = new HashSet<>();
+                for (CondensedMod other : MODS) {
+                    if (other.getCode().toLowerCase().contains(query)
+                            || other.getName().toLowerCase().contains(query)) {
+                        expectedCodes.add(other.getCode());
+                    }
+                }
+                assertEquals(expectedCodes, searchCodes(index, query), query);
+            }
+        }
+    }
+
+}
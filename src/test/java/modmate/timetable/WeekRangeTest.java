@@ -6,6 +6,8 @@ import java.time.LocalDate;
 import java.util.Arrays;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class WeekRangeTest {
@@ -42,4 +44,16 @@ public class WeekRangeTest {
         WeekRange empty = new WeekRange(LocalDate.now(), LocalDate.now(), Arrays.asList());
         assertEquals("", empty.toString());
     }
+
+    @Test
+    void testEquality() {
+        LocalDate start = LocalDate.of(2024, 1, 8);
+        LocalDate end = LocalDate.of(2024, 4, 8);
+
+        assertEquals(new WeekRange(), new WeekRange());
+        assertSame(new WeekRange().getWeeks(), new WeekRange().getWeeks());
+        assertEquals(new WeekRange(start, end, Arrays.asList(2, 4)), new WeekRange(start, end, Arrays.asList(2, 4)));
+        assertEquals(new WeekRange(start, end).hashCode(), new WeekRange(start, end).hashCode());
+        assertNotEquals(new WeekRange(), new WeekRange(start, end));
+    }
 }
@@ -0,0 +1,94 @@
+package modmate.ui;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import modmate.command.ExitCommand;
+import modmate.download.cache.ModCache;
+import modmate.download.nusmods.NUSModsAPI;
+import modmate.download.nusmods.NUSModsStandInServer;
+import modmate.mod.Mod;
+import modmate.user.User;
+
+public class UITest {
+
+    private static final String DATA_DIRECTORY_PROPERTY = "modmate.dataDir";
+    private static final String BASE_URI_PROPERTY = "modmate.nusmods.baseUri";
+
+    @TempDir
+    Path tempDir;
+
+    private NUSModsStandInServer server;
+    private InputStream originalIn;
+    private PrintStream originalOut;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new NUSModsStandInServer(0, 10).start();
+        System.setProperty(DATA_DIRECTORY_PROPERTY, tempDir.toString());
+        System.setProperty(BASE_URI_PROPERTY, server.getBaseUri());
+        originalIn = System.in;
+        originalOut = System.out;
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.setIn(originalIn);
+        System.setOut(originalOut);
+        System.clearProperty(DATA_DIRECTORY_PROPERTY);
+        System.clearProperty(BASE_URI_PROPERTY);
+        server.close();
+    }
+
+    private static void runSession(User user) {
+        byte[] input = (ExitCommand.CLI_REPRESENTATION + "\n").getBytes(StandardCharsets.UTF_8);
+        System.setIn(new ByteArrayInputStream(input));
+        System.setOut(new PrintStream(new ByteArrayOutputStream()));
+        UI.run(user);
+    }
+
+    private static boolean isCached(String code, int startYear) {
+        return ModCache.load(code, startYear).isPresent();
+    }
+
+    @Test
+    void testSessionPrefetchesSavedMods() throws InterruptedException {
+        String bookmarkedCode = NUSModsStandInServer.getSyntheticCode(0);
+        String timetabledCode = NUSModsStandInServer.getSyntheticCode(1);
+        User user = new User();
+        user.addBookmark(new Mod("Bookmarked", bookmarkedCode, null, null, null));
+        System.setOut(new PrintStream(new ByteArrayOutputStream()));
+        user.addTimetable("Semester 1");
+        user.addModToTimetable("Semester 1", new Mod("Timetabled", timetabledCode, null, null, null));
+
+        int startYear = NUSModsAPI.getCurrentYear();
+        runSession(user);
+
+        while (!isCached(bookmarkedCode, startYear) || !isCached(timetabledCode, startYear)) {
+            Thread.sleep(10);
+        }
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    void testSessionWithoutSavedModsSendsNoRequests() {
+        runSession(new User());
+
+        assertEquals(0, server.getRequestCount());
+        assertFalse(isCached(NUSModsStandInServer.getSyntheticCode(0), NUSModsAPI.getCurrentYear()));
+    }
+
+}
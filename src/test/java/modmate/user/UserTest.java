@@ -4,6 +4,8 @@ import modmate.mod.Mod;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -93,6 +95,16 @@ public class UserTest {
         assertEquals(0, user.getBookmarks().size());
     }
 
+    @Test
+    void testGetModCodes() {
+        user.addBookmark(mod1);
+        getConsoleOutput(() -> user.addTimetable("Semester 1"));
+        getConsoleOutput(() -> user.addModToTimetable("Semester 1", mod1));
+        getConsoleOutput(() -> user.addModToTimetable("Semester 1", mod2));
+
+        assertEquals(List.of("CS1010", "CS2113"), List.copyOf(user.getModCodes()));
+    }
+
     @Test
     void testMultipleTimetables() {
         user.addTimetable("Semester 1");